@@ -35,6 +35,8 @@ public class DeploymentOptions {
 
   public static final boolean DEFAULT_WORKER = false;
   public static final boolean DEFAULT_MULTI_THREADED = false;
+  public static final boolean DEFAULT_ELASTIC_WORKER = false;
+  public static final String DEFAULT_WORKER_POOL_NAME = null;
   public static final String DEFAULT_ISOLATION_GROUP = null;
   public static final boolean DEFAULT_HA = false;
   public static final int DEFAULT_INSTANCES = 1;
@@ -45,6 +47,8 @@ public class DeploymentOptions {
   private JsonObject config;
   private boolean worker;
   private boolean multiThreaded;
+  private boolean elasticWorker;
+  private String workerPoolName;
   private String isolationGroup;
   private boolean ha;
   private List<String> extraClasspath;
@@ -60,6 +64,8 @@ public class DeploymentOptions {
     this.worker = DEFAULT_WORKER;
     this.config = null;
     this.multiThreaded = DEFAULT_MULTI_THREADED;
+    this.elasticWorker = DEFAULT_ELASTIC_WORKER;
+    this.workerPoolName = DEFAULT_WORKER_POOL_NAME;
     this.isolationGroup = DEFAULT_ISOLATION_GROUP;
     this.ha = DEFAULT_HA;
     this.instances = DEFAULT_INSTANCES;
@@ -77,6 +83,8 @@ public class DeploymentOptions {
     this.config = other.getConfig() == null ? null : other.getConfig().copy();
     this.worker = other.isWorker();
     this.multiThreaded = other.isMultiThreaded();
+    this.elasticWorker = other.isElasticWorker();
+    this.workerPoolName = other.getWorkerPoolName();
     this.isolationGroup = other.getIsolationGroup();
     this.ha = other.isHa();
     this.extraClasspath = other.getExtraClasspath() == null ? null : new ArrayList<>(other.getExtraClasspath());
@@ -104,6 +112,8 @@ public class DeploymentOptions {
     this.config = json.getJsonObject("config");
     this.worker = json.getBoolean("worker", DEFAULT_WORKER);
     this.multiThreaded = json.getBoolean("multiThreaded", DEFAULT_MULTI_THREADED);
+    this.elasticWorker = json.getBoolean("elasticWorker", DEFAULT_ELASTIC_WORKER);
+    this.workerPoolName = json.getString("workerPoolName", DEFAULT_WORKER_POOL_NAME);
     this.isolationGroup = json.getString("isolationGroup", DEFAULT_ISOLATION_GROUP);
     this.ha = json.getBoolean("ha", DEFAULT_HA);
     JsonArray arr = json.getJsonArray("extraClasspath", null);
@@ -178,6 +188,55 @@ public class DeploymentOptions {
     return this;
   }
 
+  /**
+   * Should the worker tasks of the verticle(s) run on the elastic worker pool?
+   * <p>
+   * The elastic worker pool starts a thread for each task until it reaches
+   * {@link VertxOptions#getElasticWorkerPoolSize()} threads, idle threads are stopped after a while. The tasks of a
+   * worker verticle and the blocking code it executes are still executed in order, unless it is multi-threaded.
+   *
+   * @return true if worker tasks run on the elastic worker pool, false otherwise
+   */
+  public boolean isElasticWorker() {
+    return elasticWorker;
+  }
+
+  /**
+   * Set whether the worker tasks of the verticle(s) should run on the elastic worker pool. This applies to the code
+   * of a worker verticle and to the blocking code executed by any verticle with {@link Vertx#executeBlocking}.
+   *
+   * @param elasticWorker true to use the elastic worker pool, false otherwise
+   * @return a reference to this, so the API can be used fluently
+   */
+  public DeploymentOptions setElasticWorker(boolean elasticWorker) {
+    this.elasticWorker = elasticWorker;
+    return this;
+  }
+
+  /**
+   * Get the name of the worker pool used by the verticle(s).
+   *
+   * @return the worker pool name, or null when the Vert.x worker pool is used
+   */
+  public String getWorkerPoolName() {
+    return workerPoolName;
+  }
+
+  /**
+   * Set the name of the worker pool used by the verticle(s), the pool must be one of the
+   * {@link VertxOptions#getWorkerPools() named worker pools} of the Vert.x instance. This applies to the code of a
+   * worker verticle and to the blocking code executed by any verticle with {@link Vertx#executeBlocking}.
+   * <p>
+   * It can't be used together with {@link #setElasticWorker(boolean)}.
+   *
+   * @param workerPoolName  the worker pool name
+   * @return a reference to this, so the API can be used fluently
+   */
+  public DeploymentOptions setWorkerPoolName(String workerPoolName) {
+    this.workerPoolName = workerPoolName;
+    return this;
+  }
+
   /**
    * Get the isolation group that will be used when deploying the verticle(s)
    *
@@ -207,6 +266,8 @@ public class DeploymentOptions {
     JsonObject json = new JsonObject();
     if (worker) json.put("worker", true);
     if (multiThreaded) json.put("multiThreaded", true);
+    if (elasticWorker) json.put("elasticWorker", true);
+    if (workerPoolName != null) json.put("workerPoolName", workerPoolName);
     if (isolationGroup != null) json.put("isolationGroup", isolationGroup);
     if (ha) json.put("ha", true);
     if (config != null) json.put("config", config);
@@ -331,6 +392,9 @@ public class DeploymentOptions {
 
     if (ha != that.ha) return false;
     if (multiThreaded != that.multiThreaded) return false;
+    if (elasticWorker != that.elasticWorker) return false;
+    if (workerPoolName != null ? !workerPoolName.equals(that.workerPoolName) : that.workerPoolName != null)
+      return false;
     if (worker != that.worker) return false;
     if (config != null ? !config.equals(that.config) : that.config != null) return false;
     if (extraClasspath != null ? !extraClasspath.equals(that.extraClasspath) : that.extraClasspath != null)
@@ -350,6 +414,8 @@ public class DeploymentOptions {
     int result = config != null ? config.hashCode() : 0;
     result = 31 * result + (worker ? 1 : 0);
     result = 31 * result + (multiThreaded ? 1 : 0);
+    result = 31 * result + (elasticWorker ? 1 : 0);
+    result = 31 * result + (workerPoolName != null ? workerPoolName.hashCode() : 0);
     result = 31 * result + (isolationGroup != null ? isolationGroup.hashCode() : 0);
     result = 31 * result + (ha ? 1 : 0);
     result = 31 * result + (extraClasspath != null ? extraClasspath.hashCode() : 0);
@@ -452,5 +452,25 @@ public interface Vertx extends Measured {
    */
   <T> void executeBlocking(Handler<Future<T>> blockingCodeHandler, Handler<AsyncResult<T>> resultHandler);
 
+  /**
+   * Like {@link #executeBlocking(Handler, Handler)} but the blocking code can run in parallel with the other
+   * blocking code executed from the same context when {@code ordered} is false.
+   * <p>
+   * By default the blocking code executed from a context is run in order, one after the other. This is meant for
+   * independent blocking calls which don't need to be serialized.
+   *
+   * @param blockingCodeHandler  handler representing the blocking code to run
+   * @param ordered  if true then the blocking code is run in order with the other ordered blocking code of the context
+   * @param resultHandler  handler that will be called when the blocking code is complete
+   * @param <T> the type of the result
+   */
+  <T> void executeBlocking(Handler<Future<T>> blockingCodeHandler, boolean ordered, Handler<AsyncResult<T>> resultHandler);
+
+  /**
+   * @return whether the event loops use the native transport of the platform, see
+   * {@link VertxOptions#setPreferNativeTransport(boolean)}
+   */
+  boolean isNativeTransportEnabled();
+
   static final VertxFactory factory = ServiceHelper.loadFactory(VertxFactory.class);
 }
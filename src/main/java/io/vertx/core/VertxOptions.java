@@ -17,10 +17,15 @@
 package io.vertx.core;
 
 import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.eventbus.OverflowPolicy;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.metrics.MetricsOptions;
 import io.vertx.core.spi.cluster.ClusterManager;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Instances of this class are used to configure {@link io.vertx.core.Vertx} instances.
  * 
@@ -99,6 +104,81 @@ public class VertxOptions {
    */
   public static final boolean DEFAULT_METRICS_ENABLED = false;
 
+  /**
+   * The default value of whether writes to cluster connections are batched = false
+   */
+  public static final boolean DEFAULT_CLUSTER_WRITE_BATCHING = false;
+
+  /**
+   * The default maximum number of messages in a cluster write batch = 128
+   */
+  public static final int DEFAULT_CLUSTER_WRITE_BATCH_MAX_MESSAGES = 128;
+
+  /**
+   * The default maximum size of a cluster write batch = 65536 bytes
+   */
+  public static final int DEFAULT_CLUSTER_WRITE_BATCH_MAX_BYTES = 64 * 1024;
+
+  /**
+   * The default value of whether message bodies sent to other nodes are compressed = false
+   */
+  public static final boolean DEFAULT_CLUSTER_COMPRESSION = false;
+
+  /**
+   * The default minimum size of a message body to be compressed = 1024 bytes
+   */
+  public static final int DEFAULT_CLUSTER_COMPRESSION_THRESHOLD = 1024;
+
+  /**
+   * The default maximum age of a cached cluster subscription lookup = 5000 ms
+   */
+  public static final long DEFAULT_CLUSTER_SUBSCRIPTION_CACHE_MAX_AGE = 5000;
+
+  /**
+   * The default timeout of a connection to another node of the cluster = 60000 ms
+   */
+  public static final int DEFAULT_CLUSTER_CONNECT_TIMEOUT = 60000;
+
+  /**
+   * The default maximum size of the messages queued for a node of the cluster while connecting to it = 64 MB
+   */
+  public static final int DEFAULT_CLUSTER_PENDING_MAX_BYTES = 64 * 1024 * 1024;
+
+  /**
+   * The default policy for a message which does not fit in the queue of a node of the cluster = FAIL
+   */
+  public static final OverflowPolicy DEFAULT_CLUSTER_PENDING_OVERFLOW_POLICY = OverflowPolicy.FAIL;
+
+  /**
+   * The default number of connections to each other node of the cluster = 1
+   */
+  public static final int DEFAULT_CLUSTER_CONNECTIONS_PER_NODE = 1;
+
+  /**
+   * The default value of whether event bus messages can be delivered inline = false
+   */
+  public static final boolean DEFAULT_EVENT_BUS_INLINE_DELIVERY = false;
+
+  /**
+   * The default size of the fragments of the large cluster messages = 0 (messages are not fragmented)
+   */
+  public static final int DEFAULT_CLUSTER_FRAGMENT_SIZE = 0;
+
+  /**
+   * The default maximum size of a message received from another node of the cluster = 64 MB
+   */
+  public static final int DEFAULT_CLUSTER_MAX_MESSAGE_SIZE = 64 * 1024 * 1024;
+
+  /**
+   * The default value of whether a native transport is preferred = false
+   */
+  public static final boolean DEFAULT_PREFER_NATIVE_TRANSPORT = false;
+
+  /**
+   * The default maximum number of threads of the elastic worker pool = 1000
+   */
+  public static final int DEFAULT_ELASTIC_WORKER_POOL_SIZE = 1000;
+
   private int eventLoopPoolSize = DEFAULT_EVENT_LOOP_POOL_SIZE;
   private int workerPoolSize = DEFAULT_WORKER_POOL_SIZE;
   private int internalBlockingPoolSize = DEFAULT_INTERNAL_BLOCKING_POOL_SIZE;
@@ -115,6 +195,22 @@ public class VertxOptions {
   private int quorumSize = DEFAULT_QUORUM_SIZE;
   private String haGroup;
   private MetricsOptions metrics;
+  private boolean clusterWriteBatching = DEFAULT_CLUSTER_WRITE_BATCHING;
+  private int clusterWriteBatchMaxMessages = DEFAULT_CLUSTER_WRITE_BATCH_MAX_MESSAGES;
+  private int clusterWriteBatchMaxBytes = DEFAULT_CLUSTER_WRITE_BATCH_MAX_BYTES;
+  private boolean clusterCompression = DEFAULT_CLUSTER_COMPRESSION;
+  private int clusterCompressionThreshold = DEFAULT_CLUSTER_COMPRESSION_THRESHOLD;
+  private long clusterSubscriptionCacheMaxAge = DEFAULT_CLUSTER_SUBSCRIPTION_CACHE_MAX_AGE;
+  private int clusterConnectTimeout = DEFAULT_CLUSTER_CONNECT_TIMEOUT;
+  private int clusterPendingMaxBytes = DEFAULT_CLUSTER_PENDING_MAX_BYTES;
+  private OverflowPolicy clusterPendingOverflowPolicy = DEFAULT_CLUSTER_PENDING_OVERFLOW_POLICY;
+  private int clusterConnectionsPerNode = DEFAULT_CLUSTER_CONNECTIONS_PER_NODE;
+  private boolean eventBusInlineDelivery = DEFAULT_EVENT_BUS_INLINE_DELIVERY;
+  private int clusterFragmentSize = DEFAULT_CLUSTER_FRAGMENT_SIZE;
+  private int clusterMaxMessageSize = DEFAULT_CLUSTER_MAX_MESSAGE_SIZE;
+  private boolean preferNativeTransport = DEFAULT_PREFER_NATIVE_TRANSPORT;
+  private int elasticWorkerPoolSize = DEFAULT_ELASTIC_WORKER_POOL_SIZE;
+  private List<WorkerPoolOptions> workerPools = new ArrayList<>();
 
   /**
    * Default constructor
@@ -144,6 +240,24 @@ public class VertxOptions {
     this.quorumSize = other.getQuorumSize();
     this.haGroup = other.getHAGroup();
     this.metrics = other.getMetricsOptions() != null ? new MetricsOptions(other.getMetricsOptions()) : null;
+    this.clusterWriteBatching = other.isClusterWriteBatching();
+    this.clusterWriteBatchMaxMessages = other.getClusterWriteBatchMaxMessages();
+    this.clusterWriteBatchMaxBytes = other.getClusterWriteBatchMaxBytes();
+    this.clusterCompression = other.isClusterCompression();
+    this.clusterCompressionThreshold = other.getClusterCompressionThreshold();
+    this.clusterSubscriptionCacheMaxAge = other.getClusterSubscriptionCacheMaxAge();
+    this.clusterConnectTimeout = other.getClusterConnectTimeout();
+    this.clusterPendingMaxBytes = other.getClusterPendingMaxBytes();
+    this.clusterPendingOverflowPolicy = other.getClusterPendingOverflowPolicy();
+    this.clusterConnectionsPerNode = other.getClusterConnectionsPerNode();
+    this.eventBusInlineDelivery = other.isEventBusInlineDelivery();
+    this.clusterFragmentSize = other.getClusterFragmentSize();
+    this.clusterMaxMessageSize = other.getClusterMaxMessageSize();
+    this.preferNativeTransport = other.isPreferNativeTransport();
+    this.elasticWorkerPoolSize = other.getElasticWorkerPoolSize();
+    for (WorkerPoolOptions workerPool : other.getWorkerPools()) {
+      this.workerPools.add(new WorkerPoolOptions(workerPool));
+    }
   }
 
   /**
@@ -168,6 +282,27 @@ public class VertxOptions {
     this.haGroup = json.getString("haGroup", null);
     JsonObject metricsJson = json.getJsonObject("metricsOptions");
     this.metrics = metricsJson != null ? new MetricsOptions(metricsJson) : null;
+    this.clusterWriteBatching = json.getBoolean("clusterWriteBatching", DEFAULT_CLUSTER_WRITE_BATCHING);
+    this.clusterWriteBatchMaxMessages = json.getInteger("clusterWriteBatchMaxMessages", DEFAULT_CLUSTER_WRITE_BATCH_MAX_MESSAGES);
+    this.clusterWriteBatchMaxBytes = json.getInteger("clusterWriteBatchMaxBytes", DEFAULT_CLUSTER_WRITE_BATCH_MAX_BYTES);
+    this.clusterCompression = json.getBoolean("clusterCompression", DEFAULT_CLUSTER_COMPRESSION);
+    this.clusterCompressionThreshold = json.getInteger("clusterCompressionThreshold", DEFAULT_CLUSTER_COMPRESSION_THRESHOLD);
+    this.clusterSubscriptionCacheMaxAge = json.getLong("clusterSubscriptionCacheMaxAge", DEFAULT_CLUSTER_SUBSCRIPTION_CACHE_MAX_AGE);
+    this.clusterConnectTimeout = json.getInteger("clusterConnectTimeout", DEFAULT_CLUSTER_CONNECT_TIMEOUT);
+    this.clusterPendingMaxBytes = json.getInteger("clusterPendingMaxBytes", DEFAULT_CLUSTER_PENDING_MAX_BYTES);
+    this.clusterPendingOverflowPolicy = OverflowPolicy.valueOf(json.getString("clusterPendingOverflowPolicy", DEFAULT_CLUSTER_PENDING_OVERFLOW_POLICY.name()));
+    this.clusterConnectionsPerNode = json.getInteger("clusterConnectionsPerNode", DEFAULT_CLUSTER_CONNECTIONS_PER_NODE);
+    this.eventBusInlineDelivery = json.getBoolean("eventBusInlineDelivery", DEFAULT_EVENT_BUS_INLINE_DELIVERY);
+    this.clusterFragmentSize = json.getInteger("clusterFragmentSize", DEFAULT_CLUSTER_FRAGMENT_SIZE);
+    this.clusterMaxMessageSize = json.getInteger("clusterMaxMessageSize", DEFAULT_CLUSTER_MAX_MESSAGE_SIZE);
+    this.preferNativeTransport = json.getBoolean("preferNativeTransport", DEFAULT_PREFER_NATIVE_TRANSPORT);
+    this.elasticWorkerPoolSize = json.getInteger("elasticWorkerPoolSize", DEFAULT_ELASTIC_WORKER_POOL_SIZE);
+    JsonArray workerPoolsJson = json.getJsonArray("workerPools");
+    if (workerPoolsJson != null) {
+      for (int i = 0; i < workerPoolsJson.size(); i++) {
+        addWorkerPool(new WorkerPoolOptions(workerPoolsJson.getJsonObject(i)));
+      }
+    }
   }
 
   /**
@@ -545,6 +680,440 @@ public class VertxOptions {
     return this;
   }
 
+  /**
+   * Are writes to cluster connections batched?
+   *
+   * @return true if batched, false if not
+   */
+  public boolean isClusterWriteBatching() {
+    return clusterWriteBatching;
+  }
+
+  /**
+   * Set whether writes to cluster connections are batched.
+   * <p>
+   * When batching is enabled, all messages sent to the same cluster node during one event loop tick are
+   * gathered and written to the connection with a single write and flush.
+   *
+   * @param clusterWriteBatching  true to batch writes, false to write every message individually
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setClusterWriteBatching(boolean clusterWriteBatching) {
+    this.clusterWriteBatching = clusterWriteBatching;
+    return this;
+  }
+
+  /**
+   * Get the maximum number of messages in a cluster write batch.
+   *
+   * @return the maximum number of messages
+   */
+  public int getClusterWriteBatchMaxMessages() {
+    return clusterWriteBatchMaxMessages;
+  }
+
+  /**
+   * Set the maximum number of messages in a cluster write batch. When reached the batch is written straight away.
+   *
+   * @param clusterWriteBatchMaxMessages  the maximum number of messages
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setClusterWriteBatchMaxMessages(int clusterWriteBatchMaxMessages) {
+    if (clusterWriteBatchMaxMessages < 1) {
+      throw new IllegalArgumentException("clusterWriteBatchMaxMessages must be > 0");
+    }
+    this.clusterWriteBatchMaxMessages = clusterWriteBatchMaxMessages;
+    return this;
+  }
+
+  /**
+   * Get the maximum size of a cluster write batch, in bytes.
+   *
+   * @return the maximum size, in bytes
+   */
+  public int getClusterWriteBatchMaxBytes() {
+    return clusterWriteBatchMaxBytes;
+  }
+
+  /**
+   * Set the maximum size of a cluster write batch, in bytes. When reached the batch is written straight away.
+   *
+   * @param clusterWriteBatchMaxBytes  the maximum size, in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setClusterWriteBatchMaxBytes(int clusterWriteBatchMaxBytes) {
+    if (clusterWriteBatchMaxBytes < 1) {
+      throw new IllegalArgumentException("clusterWriteBatchMaxBytes must be > 0");
+    }
+    this.clusterWriteBatchMaxBytes = clusterWriteBatchMaxBytes;
+    return this;
+  }
+
+  /**
+   * Are message bodies sent to other nodes compressed?
+   *
+   * @return true if compressed, false if not
+   */
+  public boolean isClusterCompression() {
+    return clusterCompression;
+  }
+
+  /**
+   * Set whether message bodies sent to other nodes are compressed.
+   * <p>
+   * Only bodies larger than the cluster compression threshold are compressed, and only on connections to nodes
+   * which support the compact wire protocol. Compression can also be asked for a single message with
+   * {@link io.vertx.core.eventbus.DeliveryOptions#setCompressed(boolean)}.
+   *
+   * @param clusterCompression  true to compress message bodies
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setClusterCompression(boolean clusterCompression) {
+    this.clusterCompression = clusterCompression;
+    return this;
+  }
+
+  /**
+   * Get the minimum size of a message body to be compressed, in bytes.
+   *
+   * @return the compression threshold, in bytes
+   */
+  public int getClusterCompressionThreshold() {
+    return clusterCompressionThreshold;
+  }
+
+  /**
+   * Set the minimum size of a message body to be compressed, in bytes.
+   *
+   * @param clusterCompressionThreshold  the compression threshold, in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setClusterCompressionThreshold(int clusterCompressionThreshold) {
+    if (clusterCompressionThreshold < 0) {
+      throw new IllegalArgumentException("clusterCompressionThreshold must be >= 0");
+    }
+    this.clusterCompressionThreshold = clusterCompressionThreshold;
+    return this;
+  }
+
+  /**
+   * Get the maximum age of a cached cluster subscription lookup, in ms.
+   *
+   * @return the maximum age, in ms
+   */
+  public long getClusterSubscriptionCacheMaxAge() {
+    return clusterSubscriptionCacheMaxAge;
+  }
+
+  /**
+   * Set the maximum age of a cached cluster subscription lookup, in ms. A value of 0 disables the cache.
+   * <p>
+   * The event bus caches the nodes subscribed to an address so that a send does not need to look them up in the
+   * cluster manager each time. The cache is only used when the cluster manager notifies subscription changes, entries
+   * are dropped on each change, the maximum age bounds how stale an entry can be if a notification is missed.
+   *
+   * @param clusterSubscriptionCacheMaxAge  the maximum age, in ms
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setClusterSubscriptionCacheMaxAge(long clusterSubscriptionCacheMaxAge) {
+    if (clusterSubscriptionCacheMaxAge < 0) {
+      throw new IllegalArgumentException("clusterSubscriptionCacheMaxAge must be >= 0");
+    }
+    this.clusterSubscriptionCacheMaxAge = clusterSubscriptionCacheMaxAge;
+    return this;
+  }
+
+  /**
+   * Get the timeout of a connection to another node of the cluster, in ms.
+   *
+   * @return the connect timeout, in ms
+   */
+  public int getClusterConnectTimeout() {
+    return clusterConnectTimeout;
+  }
+
+  /**
+   * Set the timeout of a connection to another node of the cluster, in ms.
+   * <p>
+   * The messages sent to a node are queued while the connection to the node is being established.
+   *
+   * @param clusterConnectTimeout  the connect timeout, in ms
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setClusterConnectTimeout(int clusterConnectTimeout) {
+    if (clusterConnectTimeout < 1) {
+      throw new IllegalArgumentException("clusterConnectTimeout must be > 0");
+    }
+    this.clusterConnectTimeout = clusterConnectTimeout;
+    return this;
+  }
+
+  /**
+   * Get the maximum size of the messages queued for a node of the cluster while connecting to it, in bytes.
+   *
+   * @return the maximum size, in bytes
+   */
+  public int getClusterPendingMaxBytes() {
+    return clusterPendingMaxBytes;
+  }
+
+  /**
+   * Set the maximum size of the messages queued for a node of the cluster while connecting to it, in bytes.
+   * <p>
+   * The size of a message is the size of its encoded body plus its address and headers. What happens to a message
+   * which does not fit is decided by the cluster pending overflow policy.
+   *
+   * @param clusterPendingMaxBytes  the maximum size, in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setClusterPendingMaxBytes(int clusterPendingMaxBytes) {
+    if (clusterPendingMaxBytes < 1) {
+      throw new IllegalArgumentException("clusterPendingMaxBytes must be > 0");
+    }
+    this.clusterPendingMaxBytes = clusterPendingMaxBytes;
+    return this;
+  }
+
+  /**
+   * Get the policy for a message which does not fit in the queue of a node of the cluster.
+   *
+   * @return the overflow policy
+   */
+  public OverflowPolicy getClusterPendingOverflowPolicy() {
+    return clusterPendingOverflowPolicy;
+  }
+
+  /**
+   * Set the policy for a message which does not fit in the queue of a node of the cluster.
+   *
+   * @param clusterPendingOverflowPolicy  the overflow policy
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setClusterPendingOverflowPolicy(OverflowPolicy clusterPendingOverflowPolicy) {
+    if (clusterPendingOverflowPolicy == null) {
+      throw new IllegalArgumentException("clusterPendingOverflowPolicy must not be null");
+    }
+    this.clusterPendingOverflowPolicy = clusterPendingOverflowPolicy;
+    return this;
+  }
+
+  /**
+   * Get the number of connections to each other node of the cluster.
+   *
+   * @return the number of connections per node
+   */
+  public int getClusterConnectionsPerNode() {
+    return clusterConnectionsPerNode;
+  }
+
+  /**
+   * Set the number of connections to each other node of the cluster.
+   * <p>
+   * The messages are spread across the connections by the hash of their address, so the messages sent to an address
+   * keep their order. Each connection is handled by its own event loop, more connections let the traffic to a node
+   * use more cores.
+   *
+   * @param clusterConnectionsPerNode  the number of connections per node
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setClusterConnectionsPerNode(int clusterConnectionsPerNode) {
+    if (clusterConnectionsPerNode < 1) {
+      throw new IllegalArgumentException("clusterConnectionsPerNode must be > 0");
+    }
+    this.clusterConnectionsPerNode = clusterConnectionsPerNode;
+    return this;
+  }
+
+  /**
+   * Can event bus messages be delivered inline?
+   *
+   * @return true if they can be delivered inline, false if not
+   */
+  public boolean isEventBusInlineDelivery() {
+    return eventBusInlineDelivery;
+  }
+
+  /**
+   * Set whether event bus messages can be delivered inline.
+   * <p>
+   * When a message is sent from the event loop of the context of its handler, the handler is then called right away
+   * instead of being scheduled on the event loop, so the handler has run when the send returns. Nested inline
+   * deliveries are limited to avoid deep stacks, a message is scheduled as usual beyond the limit or when messages
+   * scheduled earlier for the same handler are not handled yet.
+   * <p>
+   * Use {@link io.vertx.core.eventbus.MessageConsumer#setContext} to place a consumer on the context of its producer.
+   *
+   * @param eventBusInlineDelivery  true to deliver messages inline
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setEventBusInlineDelivery(boolean eventBusInlineDelivery) {
+    this.eventBusInlineDelivery = eventBusInlineDelivery;
+    return this;
+  }
+
+  /**
+   * Get the size of the fragments large messages are split into when sent to another node of the cluster, 0 when
+   * messages are not fragmented.
+   *
+   * @return the fragment size, in bytes
+   */
+  public int getClusterFragmentSize() {
+    return clusterFragmentSize;
+  }
+
+  /**
+   * Set the size of the fragments large messages are split into when sent to another node of the cluster.
+   * <p>
+   * The fragments of a large message can be interleaved with the high priority messages sent meanwhile on the same
+   * connection, see {@link io.vertx.core.eventbus.DeliveryOptions#setHighPriority(boolean)}. Only the connections
+   * using the compact wire protocol are fragmented, all the nodes of the cluster must support fragments when this is
+   * set. The default value is 0, meaning messages are not fragmented.
+   *
+   * @param clusterFragmentSize  the fragment size, in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setClusterFragmentSize(int clusterFragmentSize) {
+    if (clusterFragmentSize < 0) {
+      throw new IllegalArgumentException("clusterFragmentSize must be >= 0");
+    }
+    this.clusterFragmentSize = clusterFragmentSize;
+    return this;
+  }
+
+  /**
+   * Get the maximum size of a message received from another node of the cluster.
+   *
+   * @return the maximum message size, in bytes
+   */
+  public int getClusterMaxMessageSize() {
+    return clusterMaxMessageSize;
+  }
+
+  /**
+   * Set the maximum size of a message received from another node of the cluster, the connection of a node sending a
+   * larger message is closed. The size of a message sent in fragments is checked with its first fragment, before the
+   * message is gathered.
+   *
+   * @param clusterMaxMessageSize  the maximum message size, in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setClusterMaxMessageSize(int clusterMaxMessageSize) {
+    if (clusterMaxMessageSize < 1) {
+      throw new IllegalArgumentException("clusterMaxMessageSize must be > 0");
+    }
+    this.clusterMaxMessageSize = clusterMaxMessageSize;
+    return this;
+  }
+
+  /**
+   * Is the native transport of the platform used instead of NIO when it is available?
+   *
+   * @return true if the native transport is preferred
+   */
+  public boolean isPreferNativeTransport() {
+    return preferNativeTransport;
+  }
+
+  /**
+   * Set whether the native transport of the platform is used instead of NIO, on Linux this is the Netty epoll
+   * transport. It requires the {@code netty-transport-native-epoll} library, when it can't be loaded NIO is used.
+   * <p>
+   * All the servers and clients use the transport of the event loops, with the native transport the datagram sockets
+   * are dual stack sockets whatever their protocol family.
+   *
+   * @param preferNativeTransport true to use the native transport when it is available
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setPreferNativeTransport(boolean preferNativeTransport) {
+    this.preferNativeTransport = preferNativeTransport;
+    return this;
+  }
+
+  /**
+   * Get the maximum number of threads of the elastic worker pool.
+   * <p>
+   * The elastic worker pool is used by the deployments with {@link DeploymentOptions#isElasticWorker()}, it starts a
+   * thread for each task until it has this number of threads and stops the threads idle for a minute.
+   *
+   * @return the maximum number of elastic worker threads
+   */
+  public int getElasticWorkerPoolSize() {
+    return elasticWorkerPoolSize;
+  }
+
+  /**
+   * Set the maximum number of threads of the elastic worker pool.
+   *
+   * @param elasticWorkerPoolSize  the number of threads
+   * @return a reference to this, so the API can be used fluently
+   */
+  public VertxOptions setElasticWorkerPoolSize(int elasticWorkerPoolSize) {
+    if (elasticWorkerPoolSize < 1) {
+      throw new IllegalArgumentException("elasticWorkerPoolSize must be > 0");
+    }
+    this.elasticWorkerPoolSize = elasticWorkerPoolSize;
+    return this;
+  }
+
+  /**
+   * Get the named worker pools of the Vert.x instance.
+   * <p>
+   * A deployment selects a named worker pool with {@link DeploymentOptions#setWorkerPoolName(String)}, it then runs
+   * its worker verticles and its blocking code on the threads of this pool instead of the Vert.x worker pool.
+   *
+   * @return the named worker pools
+   */
+  public List<WorkerPoolOptions> getWorkerPools() {
+    return workerPools;
+  }
+
+  /**
+   * Set the named worker pools of the Vert.x instance.
+   * <p>
+   * Each pool must have a name, distinct from the names of the other pools.
+   *
+   * @param workerPools  the named worker pools
+   * @return a reference to this, so the API can be used fluently
+   * @throws IllegalArgumentException when a pool has no name or a duplicate name
+   */
+  public VertxOptions setWorkerPools(List<WorkerPoolOptions> workerPools) {
+    if (workerPools == null) {
+      throw new NullPointerException("workerPools");
+    }
+    for (int i = 0; i < workerPools.size(); i++) {
+      checkWorkerPool(workerPools.subList(0, i), workerPools.get(i));
+    }
+    this.workerPools = workerPools;
+    return this;
+  }
+
+  /**
+   * Add a named worker pool to the Vert.x instance.
+   * <p>
+   * Each pool must have a name, distinct from the names of the other pools.
+   *
+   * @param workerPool  the named worker pool
+   * @return a reference to this, so the API can be used fluently
+   * @throws IllegalArgumentException when the pool has no name or the name of another pool
+   */
+  public VertxOptions addWorkerPool(WorkerPoolOptions workerPool) {
+    checkWorkerPool(workerPools, workerPool);
+    workerPools.add(workerPool);
+    return this;
+  }
+
+  private static void checkWorkerPool(List<WorkerPoolOptions> workerPools, WorkerPoolOptions workerPool) {
+    String name = workerPool.getName();
+    if (name == null) {
+      throw new IllegalArgumentException("A worker pool must have a name");
+    }
+    for (WorkerPoolOptions other : workerPools) {
+      if (name.equals(other.getName())) {
+        throw new IllegalArgumentException("Duplicate worker pool name " + name);
+      }
+    }
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -566,6 +1135,22 @@ public class VertxOptions {
     if (clusterManager != null ? !clusterManager.equals(that.clusterManager) : that.clusterManager != null)
       return false;
     if (haGroup != null ? !haGroup.equals(that.haGroup) : that.haGroup != null) return false;
+    if (clusterWriteBatching != that.clusterWriteBatching) return false;
+    if (clusterWriteBatchMaxMessages != that.clusterWriteBatchMaxMessages) return false;
+    if (clusterWriteBatchMaxBytes != that.clusterWriteBatchMaxBytes) return false;
+    if (clusterCompression != that.clusterCompression) return false;
+    if (clusterCompressionThreshold != that.clusterCompressionThreshold) return false;
+    if (clusterSubscriptionCacheMaxAge != that.clusterSubscriptionCacheMaxAge) return false;
+    if (clusterConnectTimeout != that.clusterConnectTimeout) return false;
+    if (clusterPendingMaxBytes != that.clusterPendingMaxBytes) return false;
+    if (clusterPendingOverflowPolicy != that.clusterPendingOverflowPolicy) return false;
+    if (clusterConnectionsPerNode != that.clusterConnectionsPerNode) return false;
+    if (eventBusInlineDelivery != that.eventBusInlineDelivery) return false;
+    if (clusterFragmentSize != that.clusterFragmentSize) return false;
+    if (clusterMaxMessageSize != that.clusterMaxMessageSize) return false;
+    if (preferNativeTransport != that.preferNativeTransport) return false;
+    if (elasticWorkerPoolSize != that.elasticWorkerPoolSize) return false;
+    if (!workerPools.equals(that.workerPools)) return false;
 
     return true;
   }
@@ -585,6 +1170,22 @@ public class VertxOptions {
     result = 31 * result + (haEnabled ? 1 : 0);
     result = 31 * result + quorumSize;
     result = 31 * result + (haGroup != null ? haGroup.hashCode() : 0);
+    result = 31 * result + (clusterWriteBatching ? 1 : 0);
+    result = 31 * result + clusterWriteBatchMaxMessages;
+    result = 31 * result + clusterWriteBatchMaxBytes;
+    result = 31 * result + (clusterCompression ? 1 : 0);
+    result = 31 * result + clusterCompressionThreshold;
+    result = 31 * result + (int) (clusterSubscriptionCacheMaxAge ^ (clusterSubscriptionCacheMaxAge >>> 32));
+    result = 31 * result + clusterConnectTimeout;
+    result = 31 * result + clusterPendingMaxBytes;
+    result = 31 * result + (clusterPendingOverflowPolicy != null ? clusterPendingOverflowPolicy.hashCode() : 0);
+    result = 31 * result + clusterConnectionsPerNode;
+    result = 31 * result + (eventBusInlineDelivery ? 1 : 0);
+    result = 31 * result + clusterFragmentSize;
+    result = 31 * result + clusterMaxMessageSize;
+    result = 31 * result + (preferNativeTransport ? 1 : 0);
+    result = 31 * result + elasticWorkerPoolSize;
+    result = 31 * result + workerPools.hashCode();
     return result;
   }
 }
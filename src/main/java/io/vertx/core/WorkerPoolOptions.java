@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options for configuring a named worker pool.
+ * <p>
+ * A named worker pool is isolated from the Vert.x worker pool, the deployments selecting it with
+ * {@link DeploymentOptions#setWorkerPoolName(String)} run their worker verticles and their blocking code on its
+ * threads, so they can't starve the other deployments or the internal blocking operations.
+ */
+@DataObject
+public class WorkerPoolOptions {
+
+  /**
+   * The default number of threads of the pool = 20
+   */
+  public static final int DEFAULT_POOL_SIZE = 20;
+
+  /**
+   * The default maximum number of tasks waiting for a thread = unbounded
+   */
+  public static final int DEFAULT_MAX_QUEUE_SIZE = Integer.MAX_VALUE;
+
+  private String name;
+  private int poolSize;
+  private int maxQueueSize;
+
+  /**
+   * Default constructor
+   */
+  public WorkerPoolOptions() {
+    this.poolSize = DEFAULT_POOL_SIZE;
+    this.maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param other  the options to copy
+   */
+  public WorkerPoolOptions(WorkerPoolOptions other) {
+    this.name = other.getName();
+    this.poolSize = other.getPoolSize();
+    this.maxQueueSize = other.getMaxQueueSize();
+  }
+
+  /**
+   * Create options from JSON
+   *
+   * @param json  the JSON
+   */
+  public WorkerPoolOptions(JsonObject json) {
+    String name = json.getString("name");
+    if (name != null) {
+      setName(name);
+    }
+    this.poolSize = json.getInteger("poolSize", DEFAULT_POOL_SIZE);
+    this.maxQueueSize = json.getInteger("maxQueueSize", DEFAULT_MAX_QUEUE_SIZE);
+  }
+
+  /**
+   * @return the name of the pool
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Set the name of the pool, deployments select the pool with this name.
+   *
+   * @param name  the name of the pool
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WorkerPoolOptions setName(String name) {
+    if (name == null || name.isEmpty()) {
+      throw new IllegalArgumentException("name must not be empty");
+    }
+    this.name = name;
+    return this;
+  }
+
+  /**
+   * @return the number of threads of the pool
+   */
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  /**
+   * Set the number of threads of the pool.
+   *
+   * @param poolSize  the number of threads
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WorkerPoolOptions setPoolSize(int poolSize) {
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("poolSize must be > 0");
+    }
+    this.poolSize = poolSize;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of tasks waiting for a thread of the pool
+   */
+  public int getMaxQueueSize() {
+    return maxQueueSize;
+  }
+
+  /**
+   * Set the maximum number of tasks waiting for a thread of the pool. When the queue is full, blocking code is failed
+   * with a {@link java.util.concurrent.RejectedExecutionException}.
+   * <p>
+   * Every task counts until a thread starts running it, including the tasks of a worker verticle and its ordered
+   * blocking code waiting behind the task its context is running.
+   *
+   * @param maxQueueSize  the maximum number of waiting tasks
+   * @return a reference to this, so the API can be used fluently
+   */
+  public WorkerPoolOptions setMaxQueueSize(int maxQueueSize) {
+    if (maxQueueSize < 1) {
+      throw new IllegalArgumentException("maxQueueSize must be > 0");
+    }
+    this.maxQueueSize = maxQueueSize;
+    return this;
+  }
+
+  /**
+   * Convert this to JSON
+   *
+   * @return  the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    if (name != null) json.put("name", name);
+    json.put("poolSize", poolSize);
+    json.put("maxQueueSize", maxQueueSize);
+    return json;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    WorkerPoolOptions that = (WorkerPoolOptions) o;
+
+    if (poolSize != that.poolSize) return false;
+    if (maxQueueSize != that.maxQueueSize) return false;
+    if (name != null ? !name.equals(that.name) : that.name != null) return false;
+
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = name != null ? name.hashCode() : 0;
+    result = 31 * result + poolSize;
+    result = 31 * result + maxQueueSize;
+    return result;
+  }
+}
@@ -21,7 +21,6 @@ import io.netty.channel.FixedRecvByteBufAllocator;
 import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.DatagramPacket;
 import io.netty.channel.socket.InternetProtocolFamily;
-import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -36,6 +35,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.core.net.impl.ConnectionBase;
 import io.vertx.core.net.impl.SocketAddressImpl;
+import io.vertx.core.net.impl.Transport;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -54,7 +54,7 @@ public class DatagramSocketImpl extends ConnectionBase implements DatagramSocket
   private Handler<io.vertx.core.datagram.DatagramPacket> packetHandler;
 
   public DatagramSocketImpl(VertxInternal vertx, DatagramSocketOptions options) {
-    super(vertx, createChannel(options.isIpV6() ? io.vertx.core.datagram.impl.InternetProtocolFamily.IPv6 : io.vertx.core.datagram.impl.InternetProtocolFamily.IPv4,
+    super(vertx, createChannel(vertx.transport(), options.isIpV6() ? io.vertx.core.datagram.impl.InternetProtocolFamily.IPv6 : io.vertx.core.datagram.impl.InternetProtocolFamily.IPv4,
           new DatagramSocketOptions(options)), vertx.getOrCreateContext(), vertx.metricsSPI().createMetrics(null, options));
     ContextImpl creatingContext = vertx.getContext();
     if (creatingContext != null && creatingContext.isMultiThreaded()) {
@@ -258,21 +258,22 @@ public class DatagramSocketImpl extends ConnectionBase implements DatagramSocket
     return (DatagramChannel) channel;
   }
 
-  private static NioDatagramChannel createChannel(io.vertx.core.datagram.impl.InternetProtocolFamily family,
-                                                  DatagramSocketOptions options) {
-    NioDatagramChannel channel;
+  private static DatagramChannel createChannel(Transport transport,
+                                               io.vertx.core.datagram.impl.InternetProtocolFamily family,
+                                               DatagramSocketOptions options) {
+    DatagramChannel channel;
     if (family == null) {
-      channel = new NioDatagramChannel();
+      channel = transport.datagramChannel(null);
     } else {
       switch (family) {
         case IPv4:
-          channel = new NioDatagramChannel(InternetProtocolFamily.IPv4);
+          channel = transport.datagramChannel(InternetProtocolFamily.IPv4);
           break;
         case IPv6:
-          channel = new NioDatagramChannel(InternetProtocolFamily.IPv6);
+          channel = transport.datagramChannel(InternetProtocolFamily.IPv6);
           break;
         default:
-          channel = new NioDatagramChannel();
+          channel = transport.datagramChannel(null);
       }
     }
     if (options.getSendBufferSize() != -1) {
@@ -44,6 +44,10 @@ public class DeliveryOptions {
   private long timeout = DEFAULT_TIMEOUT;
   private String codecName;
   private MultiMap headers;
+  private boolean compressed;
+  private boolean readOnlyJson;
+  private boolean highPriority;
+  private boolean coalesce;
 
   /**
    * Default constructor
@@ -60,6 +64,10 @@ public class DeliveryOptions {
     this.timeout = other.getSendTimeout();
     this.codecName = other.getCodecName();
     this.headers = other.getHeaders();
+    this.compressed = other.isCompressed();
+    this.readOnlyJson = other.isReadOnlyJson();
+    this.highPriority = other.isHighPriority();
+    this.coalesce = other.isCoalesce();
   }
 
   /**
@@ -70,6 +78,10 @@ public class DeliveryOptions {
   public DeliveryOptions(JsonObject json) {
     this.timeout = json.getLong("timeout", DEFAULT_TIMEOUT);
     this.codecName = json.getString("codecName", null);
+    this.compressed = json.getBoolean("compressed", false);
+    this.readOnlyJson = json.getBoolean("readOnlyJson", false);
+    this.highPriority = json.getBoolean("highPriority", false);
+    this.coalesce = json.getBoolean("coalesce", false);
     JsonObject hdrs = json.getJsonObject("headers", null);
     if (hdrs != null) {
       headers = new CaseInsensitiveHeaders();
@@ -167,6 +179,111 @@ public class DeliveryOptions {
     return headers;
   }
 
+  /**
+   * Is the message body compressed when sent to another node?
+   *
+   * @return true if compressed
+   */
+  public boolean isCompressed() {
+    return compressed;
+  }
+
+  /**
+   * Set whether the message body is compressed when sent to another node.
+   * <p>
+   * This allows to compress the body of a message even when compression is not enabled for all the cluster
+   * connections with {@link io.vertx.core.VertxOptions#setClusterCompression(boolean)}. Bodies smaller than
+   * the cluster compression threshold are never compressed.
+   *
+   * @param compressed  true to compress the body
+   * @return  a reference to this, so the API can be used fluently
+   */
+  public DeliveryOptions setCompressed(boolean compressed) {
+    this.compressed = compressed;
+    return this;
+  }
+
+  /**
+   * Are JSON bodies delivered to local consumers as read-only views instead of copies?
+   *
+   * @return true if JSON bodies are delivered read-only
+   */
+  public boolean isReadOnlyJson() {
+    return readOnlyJson;
+  }
+
+  /**
+   * Set whether {@link JsonObject} and {@link io.vertx.core.json.JsonArray} bodies are delivered to local consumers
+   * as read-only views instead of copies.
+   * <p>
+   * By default each local consumer receives its own copy of a JSON body. When this is set, every consumer receives
+   * a read-only view sharing the sent instance, a consumer that needs to modify the body can
+   * {@link JsonObject#copy() copy} it. Messages sent to other nodes are not affected.
+   * <p>
+   * The body is not copied nor made thread-safe: the sender <b>must not</b> modify the body, or any JSON value it
+   * contains, after sending it. The consumers may read it on other threads at any time and a later modification can
+   * be seen partially or not at all.
+   *
+   * @param readOnlyJson  true to deliver JSON bodies read-only
+   * @return  a reference to this, so the API can be used fluently
+   */
+  public DeliveryOptions setReadOnlyJson(boolean readOnlyJson) {
+    this.readOnlyJson = readOnlyJson;
+    return this;
+  }
+
+  /**
+   * Is the message sent ahead of the normal priority messages to another node?
+   *
+   * @return true if the message has a high priority
+   */
+  public boolean isHighPriority() {
+    return highPriority;
+  }
+
+  /**
+   * Set whether the message is sent ahead of the normal priority messages waiting to be written to the connection
+   * of another node. A high priority message can also be written between the fragments of a large message, see
+   * {@link io.vertx.core.VertxOptions#setClusterFragmentSize(int)}.
+   * <p>
+   * This is meant for small latency sensitive messages such as the replies to requests. The high priority messages
+   * keep their order but they are not ordered with the normal priority messages sent to the same node.
+   *
+   * @param highPriority  true to send the message with a high priority
+   * @return  a reference to this, so the API can be used fluently
+   */
+  public DeliveryOptions setHighPriority(boolean highPriority) {
+    this.highPriority = highPriority;
+    return this;
+  }
+
+  /**
+   * Are identical requests in flight coalesced?
+   *
+   * @return true if the requests are coalesced
+   */
+  public boolean isCoalesce() {
+    return coalesce;
+  }
+
+  /**
+   * Set whether a request sent with a reply handler is coalesced with an identical request in flight, i.e. a request
+   * sent to the same address with the same codec, headers, encoded body and send timeout that has not been replied
+   * yet. A single
+   * request is sent and its reply, or its failure, is given to the reply handlers of all the coalesced requests.
+   * <p>
+   * This is only meant for idempotent requests, the consumer handles a single message and the reply handlers get
+   * the reply of a request that may have been sent before their own request. The body is encoded with its codec to
+   * detect identical requests, the requests sent without a reply handler are never coalesced.
+   *
+   * @param coalesce  true to coalesce identical requests
+   * @return  a reference to this, so the API can be used fluently
+   */
+  public DeliveryOptions setCoalesce(boolean coalesce) {
+    this.coalesce = coalesce;
+    return this;
+  }
+
   private void checkHeaders() {
     if (headers == null) {
       headers = new CaseInsensitiveHeaders();
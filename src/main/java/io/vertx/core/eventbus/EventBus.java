@@ -150,6 +150,32 @@ public interface EventBus extends Measured {
    */
   <T> MessageConsumer<T> localConsumer(String address, Handler<Message<T>> handler);
 
+  /**
+   * Create a consumer receiving the messages sent to all the addresses matching a pattern, it is registered like a
+   * consumer created with {@link #consumer(String)}.
+   * <p>
+   * The segments of an address are separated by {@code .}. A {@code *} segment of the pattern matches exactly one
+   * segment of an address and a {@code #} last segment matches zero or more segments, e.g. {@code orders.*.created}
+   * matches {@code orders.eu.created} and {@code orders.#} matches {@code orders.eu.created} and {@code orders}.
+   * <p>
+   * A message sent to an address is delivered to one of its consumers if it has some, otherwise to one of the
+   * consumers of the patterns matching it. A published message is delivered to all of them. The pattern is
+   * propagated across the cluster as such.
+   *
+   * @param pattern  the pattern
+   * @return the event bus message consumer
+   */
+  <T> MessageConsumer<T> patternConsumer(String pattern);
+
+  /**
+   * Create a consumer and register it against the specified pattern, see {@link #patternConsumer(String)}.
+   *
+   * @param pattern  the pattern
+   * @param handler  the handler that will process the received messages
+   * @return the event bus message consumer
+   */
+  <T> MessageConsumer<T> patternConsumer(String pattern, Handler<Message<T>> handler);
+
   /**
    * Create a message sender against the specified address.
    * <p>
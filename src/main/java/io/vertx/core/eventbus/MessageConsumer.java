@@ -18,9 +18,12 @@ package io.vertx.core.eventbus;
 
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.streams.ReadStream;
 
+import java.util.List;
+
 /**
  * An event bus consumer object representing a stream of message to an {@link EventBus} address that can
  * be read from.
@@ -52,11 +55,36 @@ public interface MessageConsumer<T> extends ReadStream<Message<T>> {
   @Override
   MessageConsumer<T> endHandler(Handler<Void> endHandler);
 
+  /**
+   * Set a handler receiving the messages of this consumer in batches instead of one by one, this registers the
+   * consumer like {@link #handler(io.vertx.core.Handler)} does.
+   * <p>
+   * Messages are accumulated until the batch reaches {@code maxBatch} messages or {@code maxDelay} ms elapsed since
+   * its first message, a zero delay hands over the messages that arrived before the context could run the batch.
+   * Each batch costs a single task on the consumer context instead of one per message.
+   *
+   * @param maxBatch the maximum number of messages in a batch
+   * @param maxDelay the maximum time a message waits for its batch to be handed over, in ms
+   * @param handler the batch handler
+   * @return this registration
+   */
+  MessageConsumer<T> batchHandler(int maxBatch, long maxDelay, Handler<List<Message<T>>> handler);
+
   /**
    * @return a read stream for the body of the message stream.
    */
   ReadStream<T> bodyStream();
 
+  /**
+   * Like {@link #bodyStream()} but the messages are delivered in batches, see
+   * {@link #batchHandler(int, long, io.vertx.core.Handler)}. The bodies are still handed over one by one.
+   *
+   * @param maxBatch the maximum number of messages in a batch
+   * @param maxDelay the maximum time a message waits for its batch to be handed over, in ms
+   * @return a read stream for the body of the message stream.
+   */
+  ReadStream<T> bodyStream(int maxBatch, long maxDelay);
+
   /**
    * @return true if the current consumer is registered
    */
@@ -82,6 +110,33 @@ public interface MessageConsumer<T> extends ReadStream<Message<T>> {
    */
   int getMaxBufferedMessages();
 
+  /**
+   * Set what happens to a message received while this stream is paused and its buffer is full. The default value is
+   * {@link OverflowPolicy#DROP_NEWEST}, {@link OverflowPolicy#BLOCK} only buffers the messages of flow controlled
+   * producers beyond {@link #getMaxBufferedMessages()}.
+   *
+   * @param overflowPolicy the overflow policy
+   * @return this registration
+   */
+  MessageConsumer<T> setOverflowPolicy(OverflowPolicy overflowPolicy);
+
+  /**
+   * @return the policy applied to the messages received while this stream is paused and its buffer is full
+   */
+  OverflowPolicy getOverflowPolicy();
+
+  /**
+   * Set the context the handler of this consumer runs on, by default it runs on the context current when the
+   * handler is set. This must be called before the handler is set.
+   * <p>
+   * A consumer can be placed on the context of the producer of its messages so that they are delivered without
+   * leaving the event loop, see {@link io.vertx.core.VertxOptions#setEventBusInlineDelivery(boolean)}.
+   *
+   * @param context the context
+   * @return this registration
+   */
+  MessageConsumer<T> setContext(Context context);
+
   /**
    * Optional method which can be called to indicate when the registration has been propagated across the cluster.
    *
@@ -24,6 +24,11 @@ import io.vertx.core.streams.WriteStream;
 /**
  * Represents a stream of message that can be written to.
  * <p>
+ * A producer created with {@link EventBus#sender} is flow controlled: each consumer grants a credit back to the
+ * producer when it has handled a message, the write queue is full when the producer has no credit left and the
+ * messages written meanwhile are queued until credits come back. The producer starts with as many credits as the
+ * write queue max size. A producer created with {@link EventBus#publisher} is not flow controlled.
+ * <p>
  *
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
  */
@@ -56,4 +61,10 @@ public interface MessageProducer<T> extends WriteStream<T> {
    */
   String address();
 
+  /**
+   * Closes the producer, the messages still queued are discarded. This method should be called when the message
+   * producer is not used anymore.
+   */
+  void close();
+
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.eventbus;
+
+/**
+ * What happens to a message which does not fit in a full queue.
+ */
+public enum OverflowPolicy {
+
+  /**
+   * The message is dropped and its sender is failed with a {@link ReplyFailure#RECIPIENT_FAILURE}, when it waits
+   * for a reply.
+   */
+  FAIL,
+
+  /**
+   * The oldest message of the queue is dropped to make room for the message. The sender of the dropped message is
+   * not told, when it waits for a reply it gets a {@link ReplyFailure#TIMEOUT}.
+   */
+  DROP_OLDEST,
+
+  /**
+   * The message is dropped. Its sender is not told, when it waits for a reply it gets a {@link ReplyFailure#TIMEOUT}.
+   */
+  DROP_NEWEST,
+
+  /**
+   * The messages of the producers created with {@link EventBus#sender} are queued anyway and the producers are
+   * throttled instead: their credits only come back once their messages have been delivered, so their write queue
+   * gets full and they wait for their drain handler. The queue then holds at most the bound plus the write queue
+   * sizes of these producers, as long as the messages are delivered within the send timeout of the producers.
+   * <p>
+   * The messages of the other senders are dropped as with {@link #FAIL}.
+   */
+  BLOCK
+}
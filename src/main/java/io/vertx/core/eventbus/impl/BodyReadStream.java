@@ -18,6 +18,7 @@ package io.vertx.core.eventbus.impl;
 
 import io.vertx.core.Handler;
 import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.streams.ReadStream;
 
 /**
@@ -29,9 +30,21 @@ import io.vertx.core.streams.ReadStream;
 public class BodyReadStream<T> implements ReadStream<T> {
 
   private ReadStream<Message<T>> delegate;
+  private final int maxBatch;
+  private final long maxBatchDelay;
 
   public BodyReadStream(ReadStream<Message<T>> delegate) {
+    this(delegate, 0, 0);
+  }
+
+  /**
+   * A body stream delivering the messages in batches when {@code maxBatch} is positive, the delegate must then be a
+   * {@link MessageConsumer}.
+   */
+  public BodyReadStream(ReadStream<Message<T>> delegate, int maxBatch, long maxBatchDelay) {
     this.delegate = delegate;
+    this.maxBatch = maxBatch;
+    this.maxBatchDelay = maxBatchDelay;
   }
 
   @Override
@@ -42,7 +55,14 @@ public class BodyReadStream<T> implements ReadStream<T> {
 
   @Override
   public ReadStream<T> handler(Handler<T> handler) {
-    if (handler != null) {
+    if (handler != null && maxBatch > 0) {
+      // A pause requested by the handler takes effect after the current batch
+      ((MessageConsumer<T>) delegate).batchHandler(maxBatch, maxBatchDelay, messages -> {
+        for (Message<T> message : messages) {
+          handler.handle(message.body());
+        }
+      });
+    } else if (handler != null) {
       delegate.handler(message -> {
         handler.handle(message.body());
       });
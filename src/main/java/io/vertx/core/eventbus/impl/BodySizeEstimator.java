@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.eventbus.impl.codecs.BufferMessageCodec;
+import io.vertx.core.eventbus.impl.codecs.ByteArrayMessageCodec;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps a running estimate of the encoded body size per message codec so that the wire buffer of a message can be
+ * allocated with the right size up front.
+ * <p>
+ * The size of a {@link Buffer} or {@code byte[]} body is known exactly. Otherwise the estimate grows immediately to
+ * the largest size seen, up to {@link #MAX_ESTIMATE}, and halves its distance to the actual size with each smaller
+ * message: a large message makes the next buffers oversized by at most {@code MAX_ESTIMATE} and only for a few
+ * messages, a larger body makes its buffer grow while it is encoded.
+ * <p>
+ * This class is thread-safe. Updates are not atomic but a lost update only affects the accuracy of the estimate.
+ */
+class BodySizeEstimator {
+
+  static final int DEFAULT_ESTIMATE = 128;
+  static final int MAX_ESTIMATE = 64 * 1024;
+
+  private final int[] systemEstimates;
+  private final ConcurrentMap<String, int[]> userEstimates = new ConcurrentHashMap<>();
+
+  BodySizeEstimator(int numSystemCodecs) {
+    systemEstimates = new int[numSystemCodecs];
+    for (int i = 0; i < numSystemCodecs; i++) {
+      systemEstimates[i] = DEFAULT_ESTIMATE;
+    }
+  }
+
+  /**
+   * @return the encoded size of the body when it is known, the estimate for the codec otherwise
+   */
+  int estimate(MessageCodec codec, Object body) {
+    if (codec instanceof BufferMessageCodec && body instanceof Buffer) {
+      return 4 + ((Buffer) body).length();
+    } else if (codec instanceof ByteArrayMessageCodec && body instanceof byte[]) {
+      return 4 + ((byte[]) body).length;
+    }
+    return estimate(codec);
+  }
+
+  int estimate(MessageCodec codec) {
+    byte id = codec.systemCodecID();
+    if (id != -1) {
+      return systemEstimates[id];
+    }
+    int[] estimate = userEstimates.get(codec.name());
+    return estimate != null ? estimate[0] : DEFAULT_ESTIMATE;
+  }
+
+  void update(MessageCodec codec, int actual) {
+    byte id = codec.systemCodecID();
+    if (id != -1) {
+      systemEstimates[id] = next(systemEstimates[id], actual);
+    } else {
+      int[] estimate = userEstimates.get(codec.name());
+      if (estimate == null) {
+        estimate = new int[] { DEFAULT_ESTIMATE };
+        int[] prev = userEstimates.putIfAbsent(codec.name(), estimate);
+        if (prev != null) {
+          estimate = prev;
+        }
+      }
+      estimate[0] = next(estimate[0], actual);
+    }
+  }
+
+  private static int next(int estimate, int actual) {
+    if (actual >= estimate) {
+      return Math.min(actual, MAX_ESTIMATE);
+    } else {
+      return estimate - ((estimate - actual) >> 1);
+    }
+  }
+}
@@ -16,10 +16,15 @@
 
 package io.vertx.core.eventbus.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
@@ -27,6 +32,7 @@ import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageCodec;
 import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.eventbus.MessageProducer;
+import io.vertx.core.eventbus.OverflowPolicy;
 import io.vertx.core.eventbus.ReplyException;
 import io.vertx.core.eventbus.ReplyFailure;
 import io.vertx.core.eventbus.impl.codecs.BooleanMessageCodec;
@@ -58,25 +64,36 @@ import io.vertx.core.net.NetClient;
 import io.vertx.core.net.NetClientOptions;
 import io.vertx.core.net.NetServer;
 import io.vertx.core.net.NetSocket;
+import io.vertx.core.net.SocketAddress;
 import io.vertx.core.net.impl.ServerID;
+import io.vertx.core.net.impl.SocketAddressImpl;
 import io.vertx.core.parsetools.RecordParser;
 import io.vertx.core.spi.cluster.AsyncMultiMap;
 import io.vertx.core.spi.cluster.ChoosableIterable;
 import io.vertx.core.spi.cluster.ClusterManager;
+import io.vertx.core.spi.cluster.ObservableAsyncMultiMap;
 import io.vertx.core.streams.ReadStream;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
-import java.util.UUID;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -108,46 +125,138 @@ public class EventBusImpl implements EventBus {
 
   private static final Buffer PONG = Buffer.buffer(new byte[] { (byte)1 });
   private static final String PING_ADDRESS = "__vertx_ping";
+  // Sent with the ping codec when a connection is established to offer the compact wire protocol, a node which
+  // does not know it replies with a pong and the connection stays on protocol version 1
+  private static final String HELLO_ADDRESS = "__vertx_hello";
+  private static final Buffer HELLO_ACCEPTED = Buffer.buffer(new byte[] { MessageImpl.WIRE_PROTOCOL_VERSION_2 });
+  // The maximum number of nested inline deliveries on a thread
+  private static final int MAX_INLINE_DEPTH = 16;
+  // The maximum number of buffered messages a resumed consumer handles per tick
+  private static final int MAX_DRAINED_MESSAGES = 256;
+  // The nodes consuming a pattern are stored in the subscriptions under the pattern with this prefix, the patterns
+  // themselves are stored in a cluster map so that the nodes can find them
+  private static final String PATTERN_SUBS_PREFIX = "__vertx.pattern.";
+  private static final String PATTERNS_MAP_NAME = "__vertx.patterns";
+  private static final long PATTERNS_REFRESH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
 
   private final VertxInternal vertx;
   private final long pingInterval;
   private final long pingReplyInterval;
-  private final ConcurrentMap<ServerID, ConnectionHolder> connections = new ConcurrentHashMap<>();
+  private final boolean batchWrites;
+  private final int batchMaxMessages;
+  private final int batchMaxBytes;
+  private final boolean compression;
+  private final int compressionThreshold;
+  private final boolean inlineDelivery;
+  private final int connectTimeout;
+  private final int pendingMaxBytes;
+  private final OverflowPolicy pendingOverflowPolicy;
+  private final int fragmentSize;
+  private final int maxMessageSize;
+  // One map per connection to a node, the messages of an address always go through the same one
+  private final ConcurrentMap<ServerID, ConnectionHolder>[] connections;
   private final ConcurrentMap<String, Handlers> handlerMap = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Handlers> patternMap = new ConcurrentHashMap<>();
+  private final TopicTrie patterns = new TopicTrie();
   private final ConcurrentMap<String, MessageCodec> userCodecMap = new ConcurrentHashMap<>();
   private final ConcurrentMap<Class, MessageCodec> defaultCodecMap = new ConcurrentHashMap<>();
   private final ClusterManager clusterMgr;
-  private final AtomicLong replySequence = new AtomicLong(0);
+  private final ReplyTable replyTable;
+  // The coalesced requests waiting for a reply keyed by their coalescing key
+  private final ConcurrentMap<Buffer, CoalescedRequest> coalescedRequests = new ConcurrentHashMap<>();
   private final EventBusMetrics metrics;
   private final AsyncMultiMap<String, ServerID> subs;
+  private final SubscriptionCache subsCache;
+  // The patterns consumed in the cluster, they are only removed when refreshed from the cluster map
+  private final Map<String, String> clusterPatternNames;
+  private final Handler<String> clusterPatternsHandler;
+  private volatile TopicTrie clusterPatterns;
+  private volatile long clusterPatternsRefreshTime;
+  private final AtomicBoolean refreshingClusterPatterns = new AtomicBoolean();
   private final MessageCodec[] systemCodecs;
+  private final BodySizeEstimator bodySizeEstimator;
+  private final WireStringCache stringCache = new WireStringCache(4096);
   private final ServerID serverID;
   private final NetServer server;
   private volatile boolean sendPong = true;
 
-  public EventBusImpl(VertxInternal vertx) {
+  public EventBusImpl(VertxInternal vertx, VertxOptions options) {
     this.vertx = vertx;
+    this.inlineDelivery = options.isEventBusInlineDelivery();
     this.pingInterval = -1;
     this.pingReplyInterval = -1;
+    this.batchWrites = false;
+    this.batchMaxMessages = -1;
+    this.batchMaxBytes = -1;
+    this.compression = false;
+    this.compressionThreshold = -1;
+    this.connectTimeout = -1;
+    this.pendingMaxBytes = -1;
+    this.pendingOverflowPolicy = null;
+    this.fragmentSize = 0;
+    this.maxMessageSize = -1;
+    this.connections = connectionMaps(1);
     // Just some dummy server ID
     this.serverID = new ServerID(-1, "localhost");
     this.server = null;
     this.subs = null;
+    this.subsCache = null;
+    this.clusterPatternNames = null;
+    this.clusterPatternsHandler = null;
+    this.clusterPatterns = new TopicTrie();
     this.clusterMgr = null;
     this.metrics = vertx.metricsSPI().createMetrics(this);
+    this.replyTable = new ReplyTable(vertx.getEventLoopGroup(), false, this::replyTimedOut);
     this.systemCodecs = systemCodecs();
+    this.bodySizeEstimator = new BodySizeEstimator(systemCodecs.length);
   }
 
-  public EventBusImpl(VertxInternal vertx, long pingInterval, long pingReplyInterval, ClusterManager clusterManager,
+  public EventBusImpl(VertxInternal vertx, VertxOptions options, ClusterManager clusterManager,
                       AsyncMultiMap<String, ServerID> subs, ServerID serverID,
                       EventBusNetServer server) {
     this.vertx = vertx;
+    this.inlineDelivery = options.isEventBusInlineDelivery();
     this.clusterMgr = clusterManager;
     this.metrics = vertx.metricsSPI().createMetrics(this);
-    this.pingInterval = pingInterval;
-    this.pingReplyInterval = pingReplyInterval;
+    // Reply addresses must not be guessable by other nodes
+    this.replyTable = new ReplyTable(vertx.getEventLoopGroup(), true, this::replyTimedOut);
+    this.pingInterval = options.getClusterPingInterval();
+    this.pingReplyInterval = options.getClusterPingReplyInterval();
+    this.batchWrites = options.isClusterWriteBatching();
+    this.batchMaxMessages = options.getClusterWriteBatchMaxMessages();
+    this.batchMaxBytes = options.getClusterWriteBatchMaxBytes();
+    this.compression = options.isClusterCompression();
+    this.compressionThreshold = options.getClusterCompressionThreshold();
+    this.connectTimeout = options.getClusterConnectTimeout();
+    this.pendingMaxBytes = options.getClusterPendingMaxBytes();
+    this.pendingOverflowPolicy = options.getClusterPendingOverflowPolicy();
+    this.fragmentSize = options.getClusterFragmentSize();
+    this.maxMessageSize = options.getClusterMaxMessageSize();
+    this.connections = connectionMaps(options.getClusterConnectionsPerNode());
     this.subs = subs;
+    // Subscriptions can only be cached when the cluster manager tells when they change
+    if (options.getClusterSubscriptionCacheMaxAge() > 0 && subs instanceof ObservableAsyncMultiMap) {
+      this.subsCache = new SubscriptionCache(options.getClusterSubscriptionCacheMaxAge());
+      ((ObservableAsyncMultiMap<String, ServerID>) subs).addChangeHandler(subsCache);
+    } else {
+      this.subsCache = null;
+    }
+    this.clusterPatternNames = clusterManager.getSyncMap(PATTERNS_MAP_NAME);
+    this.clusterPatterns = loadClusterPatterns();
+    this.clusterPatternsRefreshTime = System.nanoTime();
+    if (subs instanceof ObservableAsyncMultiMap) {
+      // A pattern is known as soon as a node subscribes to it, no need to refresh the patterns
+      this.clusterPatternsHandler = key -> {
+        if (key != null && key.startsWith(PATTERN_SUBS_PREFIX)) {
+          addClusterPattern(key.substring(PATTERN_SUBS_PREFIX.length()));
+        }
+      };
+      ((ObservableAsyncMultiMap<String, ServerID>) subs).addChangeHandler(clusterPatternsHandler);
+    } else {
+      this.clusterPatternsHandler = null;
+    }
     this.systemCodecs = systemCodecs();
+    this.bodySizeEstimator = new BodySizeEstimator(systemCodecs.length);
     this.serverID = serverID;
     this.server = server.netServer;
     setServerHandler(server);
@@ -170,34 +279,85 @@ public class EventBusImpl implements EventBus {
 
   @Override
   public <T> EventBus send(String address, Object message, DeliveryOptions options, Handler<AsyncResult<Message<T>>> replyHandler) {
-    sendOrPub(null, createMessage(true, address, options.getHeaders(), message, options.getCodecName()), options, replyHandler);
+    MessageImpl msg = createMessage(true, address, options.getHeaders(), message, options.getCodecName());
+    if (options.isCoalesce() && replyHandler != null) {
+      sendCoalesced(msg, options, replyHandler);
+    } else {
+      sendOrPub(null, msg, options, replyHandler);
+    }
     return this;
   }
 
+  @SuppressWarnings("unchecked")
+  private <T> void sendCoalesced(MessageImpl message, DeliveryOptions options,
+                                 Handler<AsyncResult<Message<T>>> replyHandler) {
+    // The waiters share the timeout of the request, only the requests with the same timeout are coalesced
+    Buffer key = message.coalescingKey().appendLong(options.getSendTimeout());
+    CoalescedRequest request = new CoalescedRequest();
+    while (true) {
+      CoalescedRequest inFlight = coalescedRequests.putIfAbsent(key, request);
+      if (inFlight == null) {
+        break;
+      }
+      if (inFlight.addWaiter(vertx.getOrCreateContext(), (Handler) replyHandler)) {
+        // Nothing is sent for a waiter, only the request it joined counts as a sent message
+        return;
+      }
+      // The reply has just come, retry with a new request
+      coalescedRequests.remove(key, inFlight);
+    }
+    try {
+      this.<T>sendOrPub(null, message, options, ar -> {
+        coalescedRequests.remove(key, request);
+        List<CoalescedRequest.Waiter> waiters = request.complete();
+        replyHandler.handle(ar);
+        completeWaiters(waiters, (AsyncResult) ar);
+      });
+    } catch (RuntimeException e) {
+      // The request was not sent, the waiters which joined it meanwhile fail like it
+      coalescedRequests.remove(key, request);
+      completeWaiters(request.complete(), Future.failedFuture(e));
+      throw e;
+    }
+  }
+
+  private void completeWaiters(List<CoalescedRequest.Waiter> waiters, AsyncResult<Message<Object>> ar) {
+    for (CoalescedRequest.Waiter waiter : waiters) {
+      waiter.context.runOnContext(v -> {
+        if (ar.succeeded() && ar.result() instanceof MessageImpl) {
+          // Each reply handler gets a fresh copy like each consumer does
+          waiter.handler.handle(Future.<Message<Object>>succeededFuture(((MessageImpl) ar.result()).copyBeforeReceive()));
+        } else {
+          waiter.handler.handle(ar);
+        }
+      });
+    }
+  }
+
   @Override
   public <T> MessageProducer<T> sender(String address) {
     Objects.requireNonNull(address, "address");
-    return new MessageProducerImpl<>(this, address, true, new DeliveryOptions());
+    return new MessageProducerImpl<>(vertx, address, true, new DeliveryOptions());
   }
 
   @Override
   public <T> MessageProducer<T> sender(String address, DeliveryOptions options) {
     Objects.requireNonNull(address, "address");
     Objects.requireNonNull(options, "options");
-    return new MessageProducerImpl<>(this, address, true, options);
+    return new MessageProducerImpl<>(vertx, address, true, options);
   }
 
   @Override
   public <T> MessageProducer<T> publisher(String address) {
     Objects.requireNonNull(address, "address");
-    return new MessageProducerImpl<>(this, address, false, new DeliveryOptions());
+    return new MessageProducerImpl<>(vertx, address, false, new DeliveryOptions());
   }
 
   @Override
   public <T> MessageProducer<T> publisher(String address, DeliveryOptions options) {
     Objects.requireNonNull(address, "address");
     Objects.requireNonNull(options, "options");
-    return new MessageProducerImpl<>(this, address, false, options);
+    return new MessageProducerImpl<>(vertx, address, false, options);
   }
 
   @Override
@@ -214,7 +374,7 @@ public class EventBusImpl implements EventBus {
   @Override
   public <T> MessageConsumer<T> consumer(String address) {
     Objects.requireNonNull(address, "address");
-    return new HandlerRegistration<>(address, false, false, -1);
+    return new HandlerRegistration<>(address, false);
   }
 
   @Override
@@ -228,7 +388,7 @@ public class EventBusImpl implements EventBus {
   @Override
   public <T> MessageConsumer<T> localConsumer(String address) {
     Objects.requireNonNull(address, "address");
-    return new HandlerRegistration<>(address, false, true, -1);
+    return new HandlerRegistration<>(address, true);
   }
 
   @Override
@@ -239,6 +399,21 @@ public class EventBusImpl implements EventBus {
     return consumer;
   }
 
+  @Override
+  public <T> MessageConsumer<T> patternConsumer(String pattern) {
+    Objects.requireNonNull(pattern, "pattern");
+    TopicTrie.checkPattern(pattern);
+    return new HandlerRegistration<>(pattern, false, true);
+  }
+
+  @Override
+  public <T> MessageConsumer<T> patternConsumer(String pattern, Handler<Message<T>> handler) {
+    Objects.requireNonNull(handler, "handler");
+    MessageConsumer<T> consumer = patternConsumer(pattern);
+    consumer.handler(handler);
+    return consumer;
+  }
+
   @Override
   public EventBus registerCodec(MessageCodec codec) {
     Objects.requireNonNull(codec, "codec");
@@ -287,6 +462,14 @@ public class EventBusImpl implements EventBus {
 
   @Override
   public void close(Handler<AsyncResult<Void>> completionHandler) {
+    replyTable.close();
+    if (subsCache != null) {
+      ((ObservableAsyncMultiMap<String, ServerID>) subs).removeChangeHandler(subsCache);
+      subsCache.clear();
+    }
+    if (clusterPatternsHandler != null) {
+      ((ObservableAsyncMultiMap<String, ServerID>) subs).removeChangeHandler(clusterPatternsHandler);
+    }
     if (server != null) {
       server.close(ar -> {
         if (ar.failed()) {
@@ -325,6 +508,11 @@ public class EventBusImpl implements EventBus {
     sendPong = false;
   }
 
+  // Used in testing
+  public int bodySizeEstimate(MessageCodec codec) {
+    return bodySizeEstimator.estimate(codec);
+  }
+
   MessageImpl createMessage(boolean send, String address, MultiMap headers, Object body, String codecName) {
     Objects.requireNonNull(address, "no null address accepted");
     MessageCodec codec;
@@ -398,45 +586,118 @@ public class EventBusImpl implements EventBus {
   private void setServerHandler(EventBusNetServer server) {
     Handler<NetSocket> sockHandler = socket -> {
       RecordParser parser = RecordParser.newFixed(4, null);
+      WireCompressor decompressor = new WireCompressor(false, 0);
       Handler<Buffer> handler = new Handler<Buffer>() {
         int size = -1;
+        // All the messages of a connection normally come from the same node
+        ServerID lastSender;
+        // Set when the peer switched the connection to the compact protocol
+        WireDictionary dictionary;
+        // The fragments received so far of a large frame and the size of the frame
+        Buffer fragments;
+        int fragmentedSize;
+        boolean closed;
         public void handle(Buffer buff) {
+          if (closed) {
+            return;
+          }
           if (size == -1) {
             size = buff.getInt(0);
+            if (size < 0 || size > maxMessageSize) {
+              tooLarge(size);
+              return;
+            }
             parser.fixedSizeMode(size);
           } else {
+            if (buff.getByte(0) == MessageImpl.WIRE_FRAGMENT) {
+              buff = handleFragment(buff);
+              if (buff == null) {
+                return;
+              }
+            }
             MessageImpl received = new MessageImpl();
-            received.readFromWire(socket, buff, userCodecMap, systemCodecs);
+            if (buff.getByte(0) == MessageImpl.WIRE_PROTOCOL_VERSION_2) {
+              if (dictionary == null) {
+                throw new IllegalStateException("Compact wire protocol used before the handshake");
+              }
+              received.readFromWireV2(socket, buff, userCodecMap, systemCodecs, dictionary, decompressor, lastSender);
+            } else {
+              received.readFromWire(socket, buff, userCodecMap, systemCodecs, stringCache, lastSender);
+              lastSender = received.sender();
+            }
             parser.fixedSizeMode(4);
             size = -1;
             if (received.codec() == PING_MESSAGE_CODEC) {
-              // Just send back pong directly on connection
-              if (sendPong) {
+              if (HELLO_ADDRESS.equals(received.address())) {
+                // The sender is only sent once, with the hello
+                dictionary = new WireDictionary();
+                socket.write(HELLO_ACCEPTED);
+              } else if (sendPong) {
+                // Just send back pong directly on connection
                 socket.write(PONG);
               }
             } else {
-              receiveMessage(received, -1, null, null);
+              receiveMessage(received, null);
             }
           }
         }
+        // Returns the whole frame once its last fragment is received
+        private Buffer handleFragment(Buffer fragment) {
+          parser.fixedSizeMode(4);
+          size = -1;
+          if (dictionary == null) {
+            throw new IllegalStateException("Fragment received before the handshake");
+          }
+          int flags = fragment.getByte(1);
+          if ((flags & MessageImpl.FRAGMENT_FIRST) != 0) {
+            // The buffer is allocated for the whole frame, its size is checked before
+            fragmentedSize = fragment.getInt(2);
+            if (fragmentedSize < 0 || fragmentedSize > maxMessageSize) {
+              tooLarge(fragmentedSize);
+              return null;
+            }
+            fragments = Buffer.buffer(fragmentedSize);
+            fragments.appendBuffer(fragment, 6, fragment.length() - 6);
+          } else if (fragments != null) {
+            fragments.appendBuffer(fragment, 2, fragment.length() - 2);
+          } else {
+            throw new IllegalStateException("Fragment received without its first fragment");
+          }
+          if (fragments.length() > fragmentedSize) {
+            tooLarge(fragments.length());
+            return null;
+          }
+          if ((flags & MessageImpl.FRAGMENT_LAST) == 0) {
+            return null;
+          }
+          Buffer frame = fragments;
+          fragments = null;
+          return frame;
+        }
+        private void tooLarge(int length) {
+          log.warn("Message of " + length + " bytes from " + socket.remoteAddress() + " exceeds the max message size, "
+            + "closing the connection");
+          closed = true;
+          fragments = null;
+          socket.close();
+        }
       };
       parser.setOutput(handler);
       socket.handler(parser);
+      socket.closeHandler(v -> decompressor.close());
     };
     server.setHandler(sockHandler);
   }
 
   private <T> void sendToSubs(ChoosableIterable<ServerID> subs, MessageImpl message,
-                              long timeoutID,
-                              Handler<AsyncResult<Message<T>>> asyncResultHandler,
-                              Handler<Message<T>> replyHandler) {
+                              ReplyTable.PendingReply<T> pendingReply) {
     if (message.send()) {
       // Choose one
       ServerID sid = subs.choose();
       if (!sid.equals(serverID)) {  //We don't send to this node
         sendRemote(sid, message);
       } else {
-        receiveMessage(message, timeoutID, asyncResultHandler, replyHandler);
+        receiveMessage(message, pendingReply);
       }
     } else {
       // Publish
@@ -444,12 +705,21 @@ public class EventBusImpl implements EventBus {
         if (!sid.equals(serverID)) {  //We don't send to this node
           sendRemote(sid, message);
         } else {
-          receiveMessage(message, timeoutID, null, replyHandler);
+          receiveMessage(message, null);
         }
       }
     }
   }
 
+  @SuppressWarnings("unchecked")
+  private static ConcurrentMap<ServerID, ConnectionHolder>[] connectionMaps(int connectionsPerNode) {
+    ConcurrentMap<ServerID, ConnectionHolder>[] maps = new ConcurrentMap[connectionsPerNode];
+    for (int i = 0; i < maps.length; i++) {
+      maps[i] = new ConcurrentHashMap<>();
+    }
+    return maps;
+  }
+
   private MessageCodec[] systemCodecs() {
     return codecs(NULL_MESSAGE_CODEC, PING_MESSAGE_CODEC, STRING_MESSAGE_CODEC, BUFFER_MESSAGE_CODEC, JSON_OBJECT_MESSAGE_CODEC, JSON_ARRAY_MESSAGE_CODEC,
       BYTE_ARRAY_MESSAGE_CODEC, INT_MESSAGE_CODEC, LONG_MESSAGE_CODEC, FLOAT_MESSAGE_CODEC, DOUBLE_MESSAGE_CODEC,
@@ -464,55 +734,47 @@ public class EventBusImpl implements EventBus {
     return arr;
   }
 
-  private String generateReplyAddress() {
-    if (clusterMgr != null) {
-      // The address is a cryptographically secure id that can't be guessed
-      return UUID.randomUUID().toString();
-    } else {
-      // Just use a sequence - it's faster
-      return Long.toString(replySequence.incrementAndGet());
-    }
-  }
-
   private <T> void sendOrPub(ServerID replyDest, MessageImpl message, DeliveryOptions options,
                              Handler<AsyncResult<Message<T>>> replyHandler) {
     checkStarted();
     metrics.messageSent(message.address(), !message.send());
+    if (options != null) {
+      message.setCompress(options.isCompressed());
+      message.setReadOnlyJson(options.isReadOnlyJson());
+      message.setHighPriority(options.isHighPriority());
+    }
     ContextImpl context = vertx.getOrCreateContext();
-    Handler<Message<T>> simpleReplyHandler = null;
     try {
-      long timeoutID = -1;
+      ReplyTable.PendingReply<T> pendingReply = null;
       if (replyHandler != null) {
-        message.setReplyAddress(generateReplyAddress());
-        AtomicReference<MessageConsumer> refReg = new AtomicReference<>();
-        // Add a timeout to remove the reply handler to prevent leaks in case a reply never comes
-        timeoutID = vertx.setTimer(options.getSendTimeout(), timerID -> {
-          log.warn("Message reply handler timed out as no reply was received - it will be removed");
-          refReg.get().unregister();
-          metrics.replyFailure(message.address(), ReplyFailure.TIMEOUT);
-          replyHandler.handle(Future.failedFuture(new ReplyException(ReplyFailure.TIMEOUT, "Timed out waiting for reply")));
-        });
-        simpleReplyHandler = convertHandler(replyHandler);
-        MessageConsumer registration = registerHandler(message.replyAddress(), simpleReplyHandler, true, true, timeoutID);
-        refReg.set(registration);
+        // The pending reply times out to prevent leaks in case a reply never comes
+        pendingReply = replyTable.register(context, message.address(), options.getSendTimeout(), replyHandler);
+        message.setReplyAddress(pendingReply.address);
       }
       if (replyDest != null) {
         if (!replyDest.equals(this.serverID)) {
           sendRemote(replyDest, message);
         } else {
-          receiveMessage(message, timeoutID, replyHandler, simpleReplyHandler);
+          receiveMessage(message, pendingReply);
         }
       } else {
         if (subs != null) {
-          long fTimeoutID = timeoutID;
-          Handler<Message<T>> fSimpleReplyHandler = simpleReplyHandler;
-          subs.get(message.address(), asyncResult -> {
+          if (clusterPatternNames != null && clusterPatternsHandler == null) {
+            checkClusterPatterns();
+          }
+          List<String> matched = clusterPatterns.match(message.address());
+          if (!matched.isEmpty()) {
+            sendToPatternSubs(matched, message, pendingReply);
+            return;
+          }
+          ReplyTable.PendingReply<T> fPendingReply = pendingReply;
+          lookupSubs(message.address(), asyncResult -> {
             if (asyncResult.succeeded()) {
               ChoosableIterable<ServerID> serverIDs = asyncResult.result();
               if (serverIDs != null && !serverIDs.isEmpty()) {
-                sendToSubs(serverIDs, message, fTimeoutID, replyHandler, fSimpleReplyHandler);
+                sendToSubs(serverIDs, message, fPendingReply);
               } else {
-                receiveMessage(message, fTimeoutID, replyHandler, fSimpleReplyHandler);
+                receiveMessage(message, fPendingReply);
               }
             } else {
               log.error("Failed to send message", asyncResult.cause());
@@ -520,7 +782,7 @@ public class EventBusImpl implements EventBus {
           });
         } else {
           // Not clustered
-          receiveMessage(message, timeoutID, replyHandler, simpleReplyHandler);
+          receiveMessage(message, pendingReply);
         }
       }
     } finally {
@@ -532,104 +794,221 @@ public class EventBusImpl implements EventBus {
     }
   }
 
-  private <T> Handler<Message<T>> convertHandler(Handler<AsyncResult<Message<T>>> handler) {
-    return reply -> {
-      Future<Message<T>> result;
-      if (reply.body() instanceof ReplyException) {
-        // This is kind of clunky - but hey-ho
-        ReplyException exception = (ReplyException) reply.body();
-        metrics.replyFailure(reply.address(), exception.failureType());
-        result = Future.failedFuture(exception);
-      } else {
-        result = Future.succeededFuture(reply);
+  private void lookupSubs(String key, Handler<AsyncResult<ChoosableIterable<ServerID>>> resultHandler) {
+    ChoosableIterable<ServerID> cached = subsCache != null ? subsCache.get(key) : null;
+    if (cached != null && !cached.isEmpty()) {
+      resultHandler.handle(Future.succeededFuture(cached));
+      return;
+    }
+    long cacheVersion = subsCache != null ? subsCache.version() : 0;
+    subs.get(key, asyncResult -> {
+      if (asyncResult.succeeded() && subsCache != null) {
+        ChoosableIterable<ServerID> serverIDs = asyncResult.result();
+        if (serverIDs != null && !serverIDs.isEmpty()) {
+          subsCache.put(key, serverIDs, cacheVersion);
+        }
       }
-      handler.handle(result);
-    };
+      resultHandler.handle(asyncResult);
+    });
+  }
+
+  private <T> void sendToPatternSubs(List<String> matched, MessageImpl message, ReplyTable.PendingReply<T> pendingReply) {
+    // The nodes consuming the address and the nodes consuming each pattern are looked up concurrently
+    int numLookups = matched.size() + 1;
+    List<ChoosableIterable<ServerID>> results = new ArrayList<>(Collections.nCopies(numLookups, null));
+    AtomicInteger remaining = new AtomicInteger(numLookups);
+    for (int i = 0; i < numLookups; i++) {
+      int index = i;
+      String key = i == 0 ? message.address() : PATTERN_SUBS_PREFIX + matched.get(i - 1);
+      lookupSubs(key, asyncResult -> {
+        if (asyncResult.succeeded()) {
+          synchronized (results) {
+            results.set(index, asyncResult.result());
+          }
+        } else {
+          log.error("Failed to send message", asyncResult.cause());
+        }
+        if (remaining.decrementAndGet() == 0) {
+          ChoosableIterable<ServerID> exact = results.get(0);
+          if (message.send() && exact != null && !exact.isEmpty()) {
+            // The consumers of the address come before the consumers of the patterns
+            sendToSubs(exact, message, pendingReply);
+            return;
+          }
+          Set<ServerID> nodes = new LinkedHashSet<>();
+          for (ChoosableIterable<ServerID> serverIDs : results) {
+            if (serverIDs != null) {
+              for (ServerID sid : serverIDs) {
+                nodes.add(sid);
+              }
+            }
+          }
+          if (nodes.isEmpty()) {
+            receiveMessage(message, pendingReply);
+          } else {
+            sendToSubs(new ServerIDs(new ArrayList<>(nodes)), message, pendingReply);
+          }
+        }
+      });
+    }
+  }
+
+  private TopicTrie loadClusterPatterns() {
+    TopicTrie trie = new TopicTrie();
+    for (String pattern : clusterPatternNames.keySet()) {
+      trie.add(pattern);
+    }
+    return trie;
+  }
+
+  private void addClusterPattern(String pattern) {
+    TopicTrie trie = clusterPatterns;
+    synchronized (trie) {
+      if (!trie.contains(pattern)) {
+        trie.add(pattern);
+      }
+    }
+  }
+
+  // Only used when the cluster manager does not notify the subscription changes
+  private void checkClusterPatterns() {
+    if (System.nanoTime() - clusterPatternsRefreshTime > PATTERNS_REFRESH_INTERVAL
+      && refreshingClusterPatterns.compareAndSet(false, true)) {
+      vertx.<TopicTrie>executeBlocking(fut -> fut.complete(loadClusterPatterns()), ar -> {
+        if (ar.succeeded()) {
+          clusterPatterns = ar.result();
+        } else {
+          log.error("Failed to refresh the cluster patterns", ar.cause());
+        }
+        clusterPatternsRefreshTime = System.nanoTime();
+        refreshingClusterPatterns.set(false);
+      });
+    }
   }
 
-  private <T> MessageConsumer registerHandler(String address, Handler<Message<T>> handler,
-                                       boolean replyHandler, boolean localOnly, long timeoutID) {
-    HandlerRegistration<T> registration = new HandlerRegistration<>(address, replyHandler, localOnly, timeoutID);
-    registration.handler(handler);
-    return registration;
+  private <T> void handleReply(Handler<AsyncResult<Message<T>>> handler, Message<T> reply) {
+    Future<Message<T>> result;
+    if (reply.body() instanceof ReplyException) {
+      // This is kind of clunky - but hey-ho
+      ReplyException exception = (ReplyException) reply.body();
+      metrics.replyFailure(reply.address(), exception.failureType());
+      result = Future.failedFuture(exception);
+    } else {
+      result = Future.succeededFuture(reply);
+    }
+    handler.handle(result);
   }
 
-  private <T> void registerHandler(String address, HandlerRegistration<T> registration,
-                                   boolean replyHandler, boolean localOnly, long timeoutID) {
+  // Called by the reply table sweep
+  private void replyTimedOut(ReplyTable.PendingReply<?> pendingReply) {
+    pendingReply.context.runOnContext(v -> {
+      log.warn("Message reply handler timed out as no reply was received - it will be removed");
+      metrics.replyFailure(pendingReply.sentAddress, ReplyFailure.TIMEOUT);
+      pendingReply.handler.handle(Future.failedFuture(new ReplyException(ReplyFailure.TIMEOUT, "Timed out waiting for reply")));
+    });
+  }
+
+  private <T> void registerHandler(String address, HandlerRegistration<T> registration, boolean localOnly) {
     checkStarted();
     Objects.requireNonNull(address, "address");
     Objects.requireNonNull(registration.handler, "handler");
-    ContextImpl context = vertx.getContext();
+    ContextImpl context = registration.context != null ? registration.context : vertx.getContext();
     boolean hasContext = context != null;
     if (!hasContext) {
       // Embedded
       context = vertx.createEventLoopContext(null, new JsonObject(), Thread.currentThread().getContextClassLoader());
     }
-    HandlerHolder holder = new HandlerHolder<T>(registration, replyHandler, localOnly, context, timeoutID);
-
-    Handlers handlers = handlerMap.get(address);
-    if (handlers == null) {
-      handlers = new Handlers();
-      Handlers prevHandlers = handlerMap.putIfAbsent(address, handlers);
-      if (prevHandlers != null) {
-        handlers = prevHandlers;
+    HandlerHolder holder = new HandlerHolder<T>(registration, localOnly, context, registration.maxBatch,
+      registration.maxBatchDelay);
+
+    ConcurrentMap<String, Handlers> map = registration.pattern ? patternMap : handlerMap;
+    while (true) {
+      Handlers handlers = map.get(address);
+      boolean created = false;
+      if (handlers == null) {
+        handlers = new Handlers();
+        Handlers prevHandlers = map.putIfAbsent(address, handlers);
+        if (prevHandlers != null) {
+          handlers = prevHandlers;
+        } else {
+          created = true;
+        }
       }
-      if (subs != null && !replyHandler && !localOnly) {
-        // Propagate the information
-        subs.add(address, serverID, registration::setResult);
-      } else {
-        registration.setResult(Future.succeededFuture());
+      if (handlers.add(holder)) {
+        if (created && registration.pattern) {
+          patterns.add(address);
+        }
+        if (created && subs != null && !localOnly) {
+          // Propagate the information
+          if (registration.pattern) {
+            addClusterPattern(address);
+            // The subscription is added before the pattern so that a node removing the pattern when its last
+            // subscription goes away either sees this subscription or has the pattern put back by this node
+            subs.add(PATTERN_SUBS_PREFIX + address, serverID, ar -> {
+              if (ar.succeeded()) {
+                vertx.<Void>executeBlocking(fut -> {
+                  clusterPatternNames.put(address, address);
+                  fut.complete();
+                }, registration::setResult);
+              } else {
+                registration.setResult(ar);
+              }
+            });
+          } else {
+            subs.add(address, serverID, registration::setResult);
+          }
+        } else {
+          registration.setResult(Future.succeededFuture());
+        }
+        break;
       }
-    } else {
-      registration.setResult(Future.succeededFuture());
+      // The last handler of this address has just been unregistered, retry with new handlers
     }
 
-    handlers.list.add(holder);
-
     if (hasContext) {
       HandlerEntry entry = new HandlerEntry<T>(address, registration);
       context.addCloseHook(entry);
     }
   }
 
-  private <T> void unregisterHandler(String address, Handler<Message<T>> handler, Handler<AsyncResult<Void>> completionHandler) {
+  private <T> void unregisterHandler(String address, HandlerRegistration<T> handler, Handler<AsyncResult<Void>> completionHandler) {
     checkStarted();
-    Handlers handlers = handlerMap.get(address);
+    ConcurrentMap<String, Handlers> map = handler.pattern ? patternMap : handlerMap;
+    Handlers handlers = map.get(address);
     if (handlers != null) {
       synchronized (handlers) {
-        int size = handlers.list.size();
-        // Requires a list traversal. This is tricky to optimise since we can't use a set since
-        // we need fast ordered traversal for the round robin
-        for (int i = 0; i < size; i++) {
-          HandlerHolder holder = handlers.list.get(i);
-          if (holder.handler == handler) {
-            if (holder.timeoutID != -1) {
-              vertx.cancelTimer(holder.timeoutID);
+        HandlerHolder holder = handlers.remove(handler);
+        if (holder != null) {
+          holder.setRemoved();
+          if (handlers.isClosed()) {
+            map.remove(address, handlers);
+            if (handler.pattern) {
+              patterns.remove(address);
             }
-            handlers.list.remove(i);
-            holder.setRemoved();
-            if (handlers.list.isEmpty()) {
-              handlerMap.remove(address);
-              if (subs != null && !holder.localOnly) {
-                removeSub(address, serverID, completionHandler);
+            if (subs != null && !holder.localOnly) {
+              if (handler.pattern) {
+                removeSub(PATTERN_SUBS_PREFIX + address, serverID, ar -> {
+                  removeUnusedClusterPattern(address, v -> {
+                    if (completionHandler != null) {
+                      completionHandler.handle(ar);
+                    }
+                  });
+                });
               } else {
-                callCompletionHandlerAsync(completionHandler);
+                removeSub(address, serverID, completionHandler);
               }
             } else {
               callCompletionHandlerAsync(completionHandler);
             }
-            holder.context.removeCloseHook(new HandlerEntry<T>(address, handler));
-            break;
+          } else {
+            callCompletionHandlerAsync(completionHandler);
           }
+          holder.context.removeCloseHook(new HandlerEntry<T>(address, handler));
         }
       }
     }
   }
 
-  private <T> void unregisterHandler(String address, Handler<Message<T>> handler) {
-    unregisterHandler(address, handler, null);
-  }
-
   private void callCompletionHandlerAsync(Handler<AsyncResult<Void>> completionHandler) {
     if (completionHandler != null) {
       vertx.runOnContext(v -> {
@@ -638,13 +1017,73 @@ public class EventBusImpl implements EventBus {
     }
   }
 
+  private static boolean isFlowControlled(Message<?> message) {
+    return message instanceof MessageImpl && ((MessageImpl) message).creditAddress() != null;
+  }
+
+  // A message sent by a flow controlled producer gives a credit back to the producer once handled or discarded, the
+  // credit goes straight to the node of the producer like a reply
+  private void grantCredit(Message<?> message) {
+    if (message instanceof MessageImpl) {
+      MessageImpl msg = (MessageImpl) message;
+      String creditAddress = msg.creditAddress();
+      if (creditAddress != null) {
+        MessageImpl credit = createMessage(true, creditAddress, null, 1, null);
+        // The sender may be stalled waiting for it
+        credit.setHighPriority(true);
+        sendOrPub(msg.sender(), credit, null, null);
+      }
+    }
+  }
+
   private void cleanSubsForServerID(ServerID theServerID) {
+    if (subsCache != null) {
+      subsCache.clear();
+    }
     if (subs != null) {
       subs.removeAllForValue(theServerID, ar -> {
+        if (clusterPatternNames != null) {
+          // The patterns only the lost node subscribed to are not used anymore
+          vertx.<Set<String>>executeBlocking(fut -> fut.complete(new HashSet<>(clusterPatternNames.keySet())), ar2 -> {
+            if (ar2.succeeded()) {
+              for (String pattern : ar2.result()) {
+                removeUnusedClusterPattern(pattern, null);
+              }
+            }
+          });
+        }
       });
     }
   }
 
+  // A pattern is removed from the cluster map once no node subscribes to it anymore, the done handler is called once
+  // the map is up to date
+  private void removeUnusedClusterPattern(String pattern, Handler<Void> doneHandler) {
+    Handler<Void> done = doneHandler != null ? doneHandler : v -> {};
+    subs.get(PATTERN_SUBS_PREFIX + pattern, ar -> {
+      if (ar.succeeded() && ar.result().isEmpty()) {
+        vertx.<Void>executeBlocking(fut -> {
+          clusterPatternNames.remove(pattern);
+          fut.complete();
+        }, ar2 -> {
+          // A node which subscribed meanwhile may have put the pattern before it was removed here
+          subs.get(PATTERN_SUBS_PREFIX + pattern, ar3 -> {
+            if (ar3.succeeded() && !ar3.result().isEmpty()) {
+              vertx.<Void>executeBlocking(fut -> {
+                clusterPatternNames.put(pattern, pattern);
+                fut.complete();
+              }, ar4 -> done.handle(null));
+            } else {
+              done.handle(null);
+            }
+          });
+        });
+      } else {
+        done.handle(null);
+      }
+    });
+  }
+
 
   private void sendRemote(ServerID theServerID, MessageImpl message) {
     // We need to deal with the fact that connecting can take some time and is async, and we cannot
@@ -652,12 +1091,19 @@ public class EventBusImpl implements EventBus {
     // Once we connect we send them.
     // This can also be invoked concurrently from different threads, so it gets a little
     // tricky
-    ConnectionHolder holder = connections.get(theServerID);
+    ConcurrentMap<ServerID, ConnectionHolder> connectionMap;
+    if (connections.length == 1) {
+      connectionMap = connections[0];
+    } else {
+      // Spreading by address keeps the order of the messages sent to an address
+      connectionMap = connections[(message.address().hashCode() & Integer.MAX_VALUE) % connections.length];
+    }
+    ConnectionHolder holder = connectionMap.get(theServerID);
     if (holder == null) {
       // When process is creating a lot of connections this can take some time
       // so increase the timeout
-      holder = new ConnectionHolder(theServerID);
-      ConnectionHolder prevHolder = connections.putIfAbsent(theServerID, holder);
+      holder = new ConnectionHolder(theServerID, connectionMap);
+      ConnectionHolder prevHolder = connectionMap.putIfAbsent(theServerID, holder);
       if (prevHolder != null) {
         // Another one sneaked in
         holder = prevHolder;
@@ -672,42 +1118,89 @@ public class EventBusImpl implements EventBus {
     subs.remove(subName, theServerID, ar -> {
       if (!ar.succeeded()) {
         log.error("Couldn't find sub to remove");
-      } else {
+      } else if (completionHandler != null) {
         completionHandler.handle(Future.succeededFuture());
       }
     });
   }
 
   // Called when a message is incoming
-  private <T> void receiveMessage(MessageImpl msg, long timeoutID, Handler<AsyncResult<Message<T>>> replyHandler,
-                                  Handler<Message<T>> simpleReplyHandler) {
+  private <T> void receiveMessage(MessageImpl msg, ReplyTable.PendingReply<T> pendingReply) {
     msg.setBus(this);
+    if (msg.address().startsWith(ReplyTable.ADDRESS_PREFIX)) {
+      ReplyTable.PendingReply<?> waiting = replyTable.remove(msg.address());
+      if (waiting != null) {
+        deliverReply(msg, waiting);
+        return;
+      }
+    }
     Handlers handlers = handlerMap.get(msg.address());
-    if (handlers != null) {
+    List<String> matched = patterns.match(msg.address());
+    if (!matched.isEmpty()) {
+      if (!receivePattern(msg, handlers, matched)) {
+        noHandlers(msg, pendingReply);
+      }
+    } else if (handlers != null) {
       if (msg.send()) {
         //Choose one
         HandlerHolder holder = handlers.choose();
         if (holder != null) {
           doReceive(msg, holder);
+        } else {
+          // The last handler has just been removed
+          noHandlers(msg, pendingReply);
         }
       } else {
         // Publish
-        for (HandlerHolder holder: handlers.list) {
-          doReceive(msg, holder);
-        }
+        handlers.forEach(holder -> doReceive(msg, holder));
       }
     } else {
-      // no handlers
-      if (replyHandler != null) {
-        sendNoHandlersFailure(msg.address(), replyHandler);
-        if (timeoutID != -1) {
-          vertx.cancelTimer(timeoutID);
-        }
-        if (simpleReplyHandler != null) {
-          unregisterHandler(msg.replyAddress(), simpleReplyHandler);
+      noHandlers(msg, pendingReply);
+    }
+  }
+
+  private <T> void noHandlers(MessageImpl msg, ReplyTable.PendingReply<T> pendingReply) {
+    // A flow controlled sender must not wait for the credit of a message which will never be delivered
+    grantCredit(msg);
+    if (pendingReply != null && replyTable.remove(pendingReply)) {
+      sendNoHandlersFailure(msg.address(), pendingReply.handler);
+    }
+  }
+
+  // A sent message goes to a consumer of the address if any otherwise to a consumer of a matching pattern, a published
+  // message goes to all of them
+  private boolean receivePattern(MessageImpl msg, Handlers handlers, List<String> matched) {
+    if (msg.send()) {
+      HandlerHolder holder = handlers != null ? handlers.choose() : null;
+      if (holder == null) {
+        // Start from a random pattern to spread the messages
+        int offset = matched.size() > 1 ? ThreadLocalRandom.current().nextInt(matched.size()) : 0;
+        for (int i = 0; i < matched.size() && holder == null; i++) {
+          Handlers patternHandlers = patternMap.get(matched.get((offset + i) % matched.size()));
+          if (patternHandlers != null) {
+            holder = patternHandlers.choose();
+          }
         }
       }
+      if (holder != null) {
+        doReceive(msg, holder);
+        return true;
+      }
+      return false;
+    }
+    boolean received = false;
+    if (handlers != null) {
+      handlers.forEach(holder -> doReceive(msg, holder));
+      received = true;
     }
+    for (String pattern : matched) {
+      Handlers patternHandlers = patternMap.get(pattern);
+      if (patternHandlers != null) {
+        patternHandlers.forEach(holder -> doReceive(msg, holder));
+        received = true;
+      }
+    }
+    return received;
   }
 
   private <T> void sendNoHandlersFailure(String address, Handler<AsyncResult<Message<T>>> handler) {
@@ -726,20 +1219,103 @@ public class EventBusImpl implements EventBus {
     @SuppressWarnings("unchecked")
     Message<T> copied = msg.copyBeforeReceive();
 
-    holder.context.runOnContext((v) -> {
-      // Need to check handler is still there - the handler might have been removed after the message were sent but
-      // before it was received
-      try {
-        if (!holder.isRemoved()) {
-          metrics.messageReceived(msg.address());
-          holder.handler.handle(copied);
-        }
-      } finally {
-        if (holder.replyHandler) {
-          unregisterHandler(msg.address(), holder.handler);
+    if (holder.maxBatch > 0) {
+      batch(holder, copied);
+    } else if (inlineDelivery) {
+      // A message can't overtake the messages already scheduled for the handler, and a handler sending to its own
+      // address can't be called again before it returns
+      if (holder.queued == 0 && !holder.executing &&
+        holder.context.executeInline(v -> deliverInline(holder, copied), MAX_INLINE_DEPTH)) {
+        return;
+      }
+      HandlerHolder.QUEUED_UPDATER.incrementAndGet(holder);
+      holder.context.runOnContext(v -> {
+        HandlerHolder.QUEUED_UPDATER.decrementAndGet(holder);
+        deliverInline(holder, copied);
+      });
+    } else {
+      holder.context.runOnContext(v -> deliver(holder, copied));
+    }
+  }
+
+  private <T> void deliverInline(HandlerHolder<T> holder, Message<T> message) {
+    holder.executing = true;
+    try {
+      deliver(holder, message);
+    } finally {
+      holder.executing = false;
+    }
+  }
+
+  private <T> void deliver(HandlerHolder<T> holder, Message<T> message) {
+    // Need to check handler is still there - the handler might have been removed after the message were sent but
+    // before it was received
+    if (!holder.isRemoved()) {
+      metrics.messageReceived(message.address());
+      holder.handler.handle(message);
+    } else {
+      grantCredit(message);
+    }
+  }
+
+  private <T> void batch(HandlerHolder<T> holder, Message<T> message) {
+    List<Message<T>> started = null;
+    List<Message<T>> full = null;
+    synchronized (holder) {
+      if (holder.batch == null) {
+        holder.batch = new ArrayList<>(Math.min(holder.maxBatch, 64));
+        started = holder.batch;
+      }
+      holder.batch.add(message);
+      if (holder.batch.size() >= holder.maxBatch) {
+        full = holder.batch;
+        holder.batch = null;
+      }
+    }
+    if (full != null) {
+      List<Message<T>> messages = full;
+      holder.context.runOnContext(v -> deliverBatch(holder, messages));
+    } else if (started != null) {
+      // The batch is handed over when its delay elapsed unless it got full before
+      List<Message<T>> expected = started;
+      Handler<Void> flush = v -> {
+        List<Message<T>> messages = holder.takeBatch(expected);
+        if (messages != null) {
+          deliverBatch(holder, messages);
         }
+      };
+      if (holder.maxBatchDelay > 0) {
+        holder.context.getEventLoop().schedule(() -> holder.context.runOnContext(flush), holder.maxBatchDelay,
+          TimeUnit.MILLISECONDS);
+      } else {
+        holder.context.runOnContext(flush);
       }
-    });
+    }
+  }
+
+  private <T> void deliverBatch(HandlerHolder<T> holder, List<Message<T>> messages) {
+    if (!holder.isRemoved()) {
+      for (Message<T> message : messages) {
+        metrics.messageReceived(message.address());
+      }
+      holder.handler.handleBatch(messages);
+    } else {
+      for (Message<T> message : messages) {
+        grantCredit(message);
+      }
+    }
+  }
+
+  private <T> void deliverReply(MessageImpl msg, ReplyTable.PendingReply<T> pendingReply) {
+    @SuppressWarnings("unchecked")
+    Message<T> copied = msg.copyBeforeReceive();
+    Handler<Void> task = v -> {
+      metrics.messageReceived(msg.address());
+      handleReply(pendingReply.handler, copied);
+    };
+    if (!inlineDelivery || !pendingReply.context.executeInline(task, MAX_INLINE_DEPTH)) {
+      pendingReply.context.runOnContext(task);
+    }
   }
 
   private void checkStarted() {
@@ -749,12 +1325,23 @@ public class EventBusImpl implements EventBus {
   }
 
   private static class HandlerHolder<T> {
+
+    static final AtomicIntegerFieldUpdater<HandlerHolder> QUEUED_UPDATER =
+      AtomicIntegerFieldUpdater.newUpdater(HandlerHolder.class, "queued");
+
     final ContextImpl context;
-    final Handler<Message<T>> handler;
-    final boolean replyHandler;
+    final HandlerRegistration<T> handler;
     final boolean localOnly;
-    final long timeoutID;
     boolean removed;
+    // The number of messages scheduled on the context and not handled yet, only maintained for inline delivery
+    volatile int queued;
+    // Whether the handler is running, only maintained for inline delivery. Messages are only delivered inline on the
+    // event loop of the context, which is the only thread this matters to
+    boolean executing;
+    // Only used when the messages are delivered in batches, the batch is guarded by the holder
+    final int maxBatch;
+    final long maxBatchDelay;
+    List<Message<T>> batch;
 
     // We use a synchronized block to protect removed as it can be unregistered from a different thread
     synchronized void setRemoved() {
@@ -767,12 +1354,24 @@ public class EventBusImpl implements EventBus {
       return removed;
     }
 
-    HandlerHolder(Handler<Message<T>> handler, boolean replyHandler, boolean localOnly, ContextImpl context, long timeoutID) {
+    HandlerHolder(HandlerRegistration<T> handler, boolean localOnly, ContextImpl context, int maxBatch,
+                  long maxBatchDelay) {
       this.context = context;
       this.handler = handler;
-      this.replyHandler = replyHandler;
       this.localOnly = localOnly;
-      this.timeoutID = timeoutID;
+      this.maxBatch = maxBatch;
+      this.maxBatchDelay = maxBatchDelay;
+    }
+
+    /**
+     * @return the current batch if it is still the expected one, it is then removed from this holder
+     */
+    synchronized List<Message<T>> takeBatch(List<Message<T>> expected) {
+      if (batch != expected) {
+        return null;
+      }
+      batch = null;
+      return expected;
     }
 
     @Override
@@ -792,19 +1391,42 @@ public class EventBusImpl implements EventBus {
 
   private class ConnectionHolder {
     final NetClient client;
+    // The messages sent while connecting, bounded by their estimated size
     final Queue<MessageImpl> pending = new ArrayDeque<>();
+    final Queue<Integer> pendingSizes = new ArrayDeque<>();
+    int pendingBytes;
     final ServerID theServerID;
+    final ConcurrentMap<ServerID, ConnectionHolder> connectionMap;
+    final SocketAddress remoteAddress;
     volatile NetSocket socket;
     volatile boolean connected;
+    // Set before connected when the peer accepted the compact protocol
+    WireDictionary dictionary;
+    WireCompressor compressor;
     long timeoutID = -1;
     long pingTimeoutID = -1;
-
-    private ConnectionHolder(ServerID serverID) {
+    // The frames waiting for the socket to be writable, the high priority ones are written first
+    final Queue<Buffer> urgentFrames = new ArrayDeque<>();
+    final Queue<Buffer> frames = new ArrayDeque<>();
+    // The number of bytes of the head of frames already written as fragments
+    int fragmentedBytes;
+    // The context of the connection, it writes the batches
+    ContextImpl context;
+    CompositeByteBuf batch;
+    // The messages of the batch, they are lost when the connection closes before the batch is written
+    final List<MessageImpl> batchMessages = new ArrayList<>();
+    boolean batchScheduled;
+
+    private ConnectionHolder(ServerID serverID, ConcurrentMap<ServerID, ConnectionHolder> connectionMap) {
       this.theServerID = serverID;
-      client = vertx.createNetClient(new NetClientOptions().setConnectTimeout(60 * 1000));
+      this.connectionMap = connectionMap;
+      this.remoteAddress = new SocketAddressImpl(serverID.port, serverID.host);
+      client = vertx.createNetClient(new NetClientOptions().setConnectTimeout(connectTimeout));
     }
 
     void close(boolean failed) {
+      List<MessageImpl> lostPending;
+      List<MessageImpl> lost;
       if (timeoutID != -1) {
         vertx.cancelTimer(timeoutID);
       }
@@ -815,11 +1437,32 @@ public class EventBusImpl implements EventBus {
         client.close();
       } catch (Exception ignore) {
       }
+      synchronized (this) {
+        if (compressor != null) {
+          compressor.close();
+          // Any late write is sent uncompressed
+          compressor = null;
+        }
+        // The messages never written are lost
+        lostPending = new ArrayList<>(pending);
+        clearPending();
+        urgentFrames.clear();
+        frames.clear();
+        fragmentedBytes = 0;
+        lost = releaseBatch();
+      }
+      for (MessageImpl message : lostPending) {
+        metrics.pendingDropped(remoteAddress, message.address());
+        messageLost(message, "Connection to " + theServerID + " closed");
+      }
+      for (MessageImpl message : lost) {
+        messageLost(message, "Connection to " + theServerID + " closed");
+      }
 
       // The holder can be null or different if the target server is restarted with same serverid
       // before the cleanup for the previous one has been processed
       // So we only actually remove the entry if no new entry has been added
-      if (connections.remove(theServerID, this)) {
+      if (connectionMap.remove(theServerID, this)) {
         log.debug("Cluster connection closed: " + theServerID + " holder " + this);
         if (failed) {
           cleanSubsForServerID(theServerID);
@@ -842,37 +1485,267 @@ public class EventBusImpl implements EventBus {
 
     void writeMessage(MessageImpl message) {
       if (connected) {
-        socket.write(message.encodeToWire());
+        encodeAndWrite(message);
       } else {
+        List<MessageImpl> dropped = null;
         synchronized (this) {
           if (connected) {
-            socket.write(message.encodeToWire());
-          } else {
+            encodeAndWrite(message);
+            return;
+          }
+          int size = message.estimatedSize(bodySizeEstimator);
+          // A message larger than the bound is still queued when it is alone
+          if (pendingBytes + size > pendingMaxBytes && !pending.isEmpty()) {
+            switch (pendingOverflowPolicy) {
+              case BLOCK:
+                if (message.creditAddress() != null) {
+                  // A flow controlled sender stops on its own as its credits only come back once delivered
+                  break;
+                }
+              case FAIL:
+              case DROP_NEWEST:
+                dropped = Collections.singletonList(message);
+                break;
+              case DROP_OLDEST:
+                dropped = new ArrayList<>();
+                while (pendingBytes + size > pendingMaxBytes && !pending.isEmpty()) {
+                  dropped.add(pending.poll());
+                  pendingBytes -= pendingSizes.poll();
+                }
+                break;
+            }
+          }
+          if (dropped == null || dropped.get(0) != message) {
             pending.add(message);
+            pendingSizes.add(size);
+            pendingBytes += size;
+          }
+          metrics.pendingChanged(remoteAddress, pending.size(), pendingBytes);
+        }
+        if (dropped != null) {
+          // The senders of the messages dropped by a drop policy are not told, their replies time out
+          boolean fail = pendingOverflowPolicy == OverflowPolicy.FAIL || pendingOverflowPolicy == OverflowPolicy.BLOCK;
+          for (MessageImpl msg : dropped) {
+            pendingDropped(msg, fail);
+          }
+        }
+      }
+    }
+
+    private void pendingDropped(MessageImpl message, boolean fail) {
+      metrics.pendingDropped(remoteAddress, message.address());
+      if (fail) {
+        messageLost(message, "Too many messages pending for " + theServerID);
+      } else {
+        // A flow controlled sender must not wait for the credit of a message which will never be delivered
+        grantCredit(message);
+      }
+    }
+
+    private void messageLost(MessageImpl message, String reason) {
+      // A flow controlled sender must not wait for the credit of a message which will never be delivered
+      grantCredit(message);
+      String replyAddress = message.replyAddress();
+      ReplyTable.PendingReply<?> pendingReply = replyAddress != null ? replyTable.remove(replyAddress) : null;
+      if (pendingReply != null) {
+        pendingReply.context.runOnContext(v -> {
+          metrics.replyFailure(pendingReply.sentAddress, ReplyFailure.RECIPIENT_FAILURE);
+          pendingReply.handler.handle(Future.failedFuture(new ReplyException(ReplyFailure.RECIPIENT_FAILURE, reason)));
+        });
+      }
+    }
+
+    private void encodeAndWrite(MessageImpl message) {
+      boolean highPriority = message.isHighPriority();
+      if (dictionary == null) {
+        write(message, message.encodeToWire(bodySizeEstimator), highPriority);
+      } else {
+        // The dictionary entries must be defined in the order the frames are written, a high priority frame
+        // overtaking queued frames must not use it
+        synchronized (this) {
+          WireDictionary dict = highPriority && !frames.isEmpty() ? WireDictionary.LITERALS : dictionary;
+          write(message, message.encodeToWire(bodySizeEstimator, dict, compressor), highPriority);
+        }
+      }
+    }
+
+    private synchronized void write(MessageImpl message, Buffer data, boolean highPriority) {
+      if (urgentFrames.isEmpty() && (highPriority || frames.isEmpty()) && (highPriority || !fragment(data))
+        && !socket.writeQueueFull()) {
+        if (batchWrites) {
+          addToBatch(message, data);
+        } else {
+          socket.write(data);
+        }
+      } else {
+        // The frames gathered so far must be written first
+        writeBatch();
+        if (highPriority) {
+          urgentFrames.add(data);
+        } else {
+          frames.add(data);
+        }
+        writeQueued();
+      }
+    }
+
+    private boolean fragment(Buffer frame) {
+      // The peers which don't know the compact protocol don't know fragments either
+      return fragmentSize > 0 && dictionary != null && frame.length() - 4 > fragmentSize;
+    }
+
+    // Must be called with the lock held, the frames are written while the socket is writable and the drain handler of
+    // the socket writes the next ones
+    private void writeQueued() {
+      while (!socket.writeQueueFull()) {
+        Buffer frame = urgentFrames.poll();
+        if (frame == null) {
+          frame = nextFrame();
+          if (frame == null) {
+            break;
           }
         }
+        socket.write(frame);
+      }
+    }
+
+    // Must be called with the lock held, a large frame is returned one fragment at a time
+    private Buffer nextFrame() {
+      Buffer frame = frames.peek();
+      if (frame == null || !fragment(frame)) {
+        return frames.poll();
+      }
+      int pos = 4 + fragmentedBytes;
+      int length = Math.min(fragmentSize, frame.length() - pos);
+      boolean first = fragmentedBytes == 0;
+      boolean last = pos + length == frame.length();
+      ByteBuf header = Unpooled.buffer(first ? 10 : 6);
+      header.writeInt(2 + (first ? 4 : 0) + length);
+      header.writeByte(MessageImpl.WIRE_FRAGMENT);
+      header.writeByte((first ? MessageImpl.FRAGMENT_FIRST : 0) | (last ? MessageImpl.FRAGMENT_LAST : 0));
+      if (first) {
+        header.writeInt(frame.length() - 4);
+      }
+      if (last) {
+        frames.poll();
+        fragmentedBytes = 0;
+      } else {
+        fragmentedBytes += length;
+      }
+      // The fragment is written with a single write so that it is not split by a ping
+      return Buffer.buffer(Unpooled.wrappedBuffer(header, frame.getByteBuf().slice(pos, length)));
+    }
+
+    private synchronized void addToBatch(MessageImpl message, Buffer data) {
+      // We gather the messages in a composite buffer to avoid copying them, the batch is written on the next tick
+      // of the connection context or as soon as it reaches the max batch size
+      ByteBuf buf = data.getByteBuf();
+      if (batch == null) {
+        batch = Unpooled.compositeBuffer(Math.max(2, batchMaxMessages));
+      }
+      batch.addComponent(buf);
+      batch.writerIndex(batch.writerIndex() + buf.readableBytes());
+      batchMessages.add(message);
+      if (batchMessages.size() >= batchMaxMessages || batch.readableBytes() >= batchMaxBytes) {
+        writeBatch();
+      } else if (!batchScheduled) {
+        batchScheduled = true;
+        context.runOnContext(v -> {
+          synchronized (ConnectionHolder.this) {
+            batchScheduled = false;
+            writeBatch();
+          }
+        });
+      }
+    }
+
+    // Must be called with the lock held
+    private void writeBatch() {
+      if (batch != null) {
+        metrics.batchWritten(batchMessages.size(), batch.readableBytes());
+        socket.write(Buffer.buffer(batch));
+        batch = null;
+        batchMessages.clear();
+      }
+    }
+
+    // Must be called with the lock held, the composite buffer owns the encoded messages
+    private List<MessageImpl> releaseBatch() {
+      if (batch == null) {
+        return Collections.emptyList();
       }
+      batch.release();
+      batch = null;
+      List<MessageImpl> lost = new ArrayList<>(batchMessages);
+      batchMessages.clear();
+      return lost;
     }
 
     synchronized void connected(NetSocket socket) {
       this.socket = socket;
-      connected = true;
+      this.context = vertx.getOrCreateContext();
       socket.exceptionHandler(t -> close(true));
       socket.closeHandler(v -> close(false));
+      socket.drainHandler(v -> {
+        synchronized (ConnectionHolder.this) {
+          writeQueued();
+        }
+      });
       socket.handler(data -> {
-        // Got a pong back
-        vertx.cancelTimer(timeoutID);
-        schedulePing();
+        if (!connected) {
+          handshakeReply(data.getByte(0));
+        } else {
+          // Got a pong back
+          vertx.cancelTimer(timeoutID);
+          schedulePing();
+        }
+      });
+      timeoutID = vertx.setTimer(pingReplyInterval, id -> {
+        log.warn("No handshake reply from server " + theServerID + " - will consider it dead");
+        close(true);
       });
+      MessageImpl helloMessage = new MessageImpl<>(serverID, HELLO_ADDRESS, null, null, null, PING_MESSAGE_CODEC, true);
+      socket.write(helloMessage.encodeToWire());
+    }
+
+    private synchronized void handshakeReply(byte reply) {
+      vertx.cancelTimer(timeoutID);
+      if (reply == MessageImpl.WIRE_PROTOCOL_VERSION_2) {
+        dictionary = new WireDictionary();
+        // Compression is only supported by the compact protocol, it can also be requested per message
+        compressor = new WireCompressor(compression, compressionThreshold);
+      }
+      // Otherwise the reply is a pong from a node which only knows protocol version 1
+      connected = true;
       // Start a pinger
       schedulePing();
       for (MessageImpl message : pending) {
-        socket.write(message.encodeToWire());
+        encodeAndWrite(message);
+      }
+      clearPending();
+    }
+
+    // Must be called with the lock held
+    private void clearPending() {
+      if (!pending.isEmpty()) {
+        pending.clear();
+        pendingSizes.clear();
+        pendingBytes = 0;
+        metrics.pendingChanged(remoteAddress, 0, 0);
       }
-      pending.clear();
     }
 
     void connect() {
+      if (connections.length == 1) {
+        doConnect();
+      } else {
+        // The connection is handled by the event loop it is connected from, each connection to a node gets its own
+        vertx.createEventLoopContext(null, new JsonObject(), Thread.currentThread().getContextClassLoader())
+          .runOnContext(v -> doConnect());
+      }
+    }
+
+    private void doConnect() {
       client.connect(theServerID.port, theServerID.host, res -> {
         if (res.succeeded()) {
           connected(res.result());
@@ -883,35 +1756,184 @@ public class EventBusImpl implements EventBus {
     }
   }
 
+  /*
+   * The handlers registered at an address.
+   *
+   * Holders are appended to an array that readers access without locking. A removed holder leaves a null slot
+   * (a tombstone) instead of copying the array, the array is compacted once there are at least as many tombstones as live holders.
+   * Writers are serialized on the instance. Readers read the volatile count before the array, so they always see
+   * the slots written before it, a reader may still see a holder that was just removed but the holder itself
+   * knows it has been removed.
+   *
+   * Once the last holder is removed the instance is closed and must be replaced in the handler map.
+   */
   private static class Handlers {
 
-    final List<HandlerHolder> list = new CopyOnWriteArrayList<>();
-    final AtomicInteger pos = new AtomicInteger(0);
-    HandlerHolder choose() {
-      while (true) {
-        int size = list.size();
-        if (size == 0) {
-          return null;
+    private static final AtomicIntegerFieldUpdater<Handlers> POS_UPDATER =
+      AtomicIntegerFieldUpdater.newUpdater(Handlers.class, "pos");
+
+    private volatile HandlerHolder[] holders = new HandlerHolder[1];
+    private volatile int count;
+    private volatile int pos;
+    private int live;
+    private boolean closed;
+
+    synchronized boolean add(HandlerHolder holder) {
+      if (closed) {
+        return false;
+      }
+      HandlerHolder[] h = holders;
+      int c = count;
+      if (c == h.length) {
+        if (live < c) {
+          c = compact(h, c, h.length);
+          h = holders;
+        } else {
+          h = Arrays.copyOf(h, c << 1);
+          holders = h;
+        }
+      }
+      h[c] = holder;
+      live++;
+      count = c + 1;
+      return true;
+    }
+
+    synchronized HandlerHolder remove(Handler<?> handler) {
+      HandlerHolder[] h = holders;
+      int c = count;
+      for (int i = 0; i < c; i++) {
+        HandlerHolder holder = h[i];
+        if (holder != null && holder.handler == handler) {
+          h[i] = null;
+          if (--live == 0) {
+            closed = true;
+          } else if (c - live >= live) {
+            compact(h, c, h.length);
+          }
+          return holder;
+        }
+      }
+      return null;
+    }
+
+    // Must be called with the lock held
+    private int compact(HandlerHolder[] h, int c, int capacity) {
+      HandlerHolder[] compacted = new HandlerHolder[capacity];
+      int j = 0;
+      for (int i = 0; i < c; i++) {
+        if (h[i] != null) {
+          compacted[j++] = h[i];
         }
-        int p = pos.getAndIncrement();
-        if (p >= size - 1) {
-          pos.set(0);
+      }
+      holders = compacted;
+      count = j;
+      return j;
+    }
+
+    synchronized boolean isClosed() {
+      return closed;
+    }
+
+    HandlerHolder choose() {
+      int c = count;
+      HandlerHolder[] h = holders;
+      // The array may have been compacted since the count was read
+      c = Math.min(c, h.length);
+      if (c == 0) {
+        return null;
+      }
+      if (c == 1) {
+        return h[0];
+      }
+      int start = (POS_UPDATER.getAndIncrement(this) & Integer.MAX_VALUE) % c;
+      for (int i = 0; i < c; i++) {
+        HandlerHolder holder = h[(start + i) % c];
+        if (holder != null) {
+          return holder;
         }
-        try {
-          return list.get(p);
-        } catch (IndexOutOfBoundsException e) {
-          // Can happen
-          pos.set(0);
+      }
+      return null;
+    }
+
+    void forEach(Consumer<HandlerHolder> action) {
+      int c = count;
+      HandlerHolder[] h = holders;
+      c = Math.min(c, h.length);
+      for (int i = 0; i < c; i++) {
+        HandlerHolder holder = h[i];
+        if (holder != null) {
+          action.accept(holder);
         }
       }
     }
   }
 
+  // A request sent with the coalesce option and the reply handlers of the identical requests sent meanwhile
+  private static final class CoalescedRequest {
+
+    private List<Waiter> waiters = new ArrayList<>();
+    private boolean completed;
+
+    synchronized boolean addWaiter(ContextImpl context, Handler<AsyncResult<Message<Object>>> handler) {
+      if (completed) {
+        return false;
+      }
+      waiters.add(new Waiter(context, handler));
+      return true;
+    }
+
+    // The waiters are only returned once, a request which failed to be sent may still time out later
+    synchronized List<Waiter> complete() {
+      if (completed) {
+        return Collections.emptyList();
+      }
+      completed = true;
+      return waiters;
+    }
+
+    private static final class Waiter {
+
+      final ContextImpl context;
+      final Handler<AsyncResult<Message<Object>>> handler;
+
+      private Waiter(ContextImpl context, Handler<AsyncResult<Message<Object>>> handler) {
+        this.context = context;
+        this.handler = handler;
+      }
+    }
+  }
+
+  // The nodes consuming an address or a pattern matching it, a node is chosen at random
+  private static final class ServerIDs implements ChoosableIterable<ServerID> {
+
+    private final List<ServerID> serverIDs;
+
+    private ServerIDs(List<ServerID> serverIDs) {
+      this.serverIDs = serverIDs;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return serverIDs.isEmpty();
+    }
+
+    @Override
+    public ServerID choose() {
+      return serverIDs.get(ThreadLocalRandom.current().nextInt(serverIDs.size()));
+    }
+
+    @Override
+    public Iterator<ServerID> iterator() {
+      return serverIDs.iterator();
+    }
+  }
+
   private class HandlerEntry<T> implements Closeable {
     final String address;
-    final Handler<Message<T>> handler;
+    final HandlerRegistration<T> handler;
 
-    private HandlerEntry(String address, Handler<Message<T>> handler) {
+    private HandlerEntry(String address, HandlerRegistration<T> handler) {
       this.address = address;
       this.handler = handler;
     }
@@ -961,9 +1983,8 @@ public class EventBusImpl implements EventBus {
   public class HandlerRegistration<T> implements MessageConsumer<T>, Handler<Message<T>> {
 
     private final String address;
-    private final boolean replyHandler;
     private final boolean localOnly;
-    private final long timeoutID;
+    private final boolean pattern;
 
     private boolean registered;
     private Handler<Message<T>> handler;
@@ -972,22 +1993,34 @@ public class EventBusImpl implements EventBus {
     private Handler<Void> endHandler;
     private Handler<Throwable> exceptionHandler;
     private Handler<Message<T>> discardHandler;
+    private Handler<List<Message<T>>> batchHandler;
+    private int maxBatch;
+    private long maxBatchDelay;
     private int maxBufferedMessages;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
     private final Queue<Message<T>> pending = new ArrayDeque<>(8);
     private boolean paused;
+    private boolean drainScheduled;
+    private ContextImpl context;
 
-    public HandlerRegistration(String address, boolean replyHandler, boolean localOnly, long timeoutID) {
+    public HandlerRegistration(String address, boolean localOnly) {
+      this(address, localOnly, false);
+    }
+
+    public HandlerRegistration(String address, boolean localOnly, boolean pattern) {
       this.address = address;
-      this.replyHandler = replyHandler;
       this.localOnly = localOnly;
-      this.timeoutID = timeoutID;
+      this.pattern = pattern;
     }
 
     @Override
     public synchronized MessageConsumer<T> setMaxBufferedMessages(int maxBufferedMessages) {
       Arguments.require(maxBufferedMessages >= 0, "Max buffered messages cannot be negative");
-      while (pending.size() > maxBufferedMessages) {
-        pending.poll();
+      if (overflowPolicy != OverflowPolicy.BLOCK && pending.size() > maxBufferedMessages) {
+        while (pending.size() > maxBufferedMessages) {
+          drop(pending.poll());
+        }
+        metrics.bufferedChanged(address, pending.size());
       }
       this.maxBufferedMessages = maxBufferedMessages;
       return this;
@@ -998,6 +2031,28 @@ public class EventBusImpl implements EventBus {
       return maxBufferedMessages;
     }
 
+    @Override
+    public synchronized MessageConsumer<T> setOverflowPolicy(OverflowPolicy overflowPolicy) {
+      Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+      this.overflowPolicy = overflowPolicy;
+      return this;
+    }
+
+    @Override
+    public synchronized OverflowPolicy getOverflowPolicy() {
+      return overflowPolicy;
+    }
+
+    @Override
+    public synchronized MessageConsumer<T> setContext(Context context) {
+      Objects.requireNonNull(context, "context");
+      if (registered) {
+        throw new IllegalStateException("The consumer is already registered");
+      }
+      this.context = (ContextImpl) context;
+      return this;
+    }
+
     @Override
     public String address() {
       return address;
@@ -1040,6 +2095,14 @@ public class EventBusImpl implements EventBus {
         registered = false;
         unregisterHandler(address, this, completionHandler);
         metrics.handlerUnregistered(address);
+        if (!pending.isEmpty()) {
+          // The buffered messages are never delivered, their flow controlled senders must get their credits back
+          Message<T> message;
+          while ((message = pending.poll()) != null) {
+            grantCredit(message);
+          }
+          metrics.bufferedChanged(address, 0);
+        }
       } else {
         callCompletionHandlerAsync(completionHandler);
       }
@@ -1063,20 +2126,73 @@ public class EventBusImpl implements EventBus {
 
     @Override
     public synchronized void handle(Message<T> event) {
-      if (paused) {
-        if (pending.size() < maxBufferedMessages) {
-          pending.add(event);
-        } else {
-          if (discardHandler != null) {
-            discardHandler.handle(event);
-          }
+      // A message can't overtake the buffered messages which are being drained
+      if (paused || !pending.isEmpty()) {
+        buffer(event);
+      } else {
+        deliver(event);
+      }
+    }
+
+    synchronized void handleBatch(List<Message<T>> messages) {
+      if (paused || !pending.isEmpty() || batchHandler == null) {
+        for (Message<T> message : messages) {
+          handle(message);
+        }
+      } else {
+        deliverBatch(messages);
+      }
+    }
+
+    private void deliver(Message<T> message) {
+      try {
+        handler.handle(message);
+      } finally {
+        grantCredit(message);
+      }
+    }
+
+    private void deliverBatch(List<Message<T>> messages) {
+      try {
+        batchHandler.handle(messages);
+      } finally {
+        for (Message<T> message : messages) {
+          grantCredit(message);
         }
+      }
+    }
+
+    private void buffer(Message<T> message) {
+      // The bound only applies while paused, a resumed consumer is draining its buffer
+      if (!paused || pending.size() < maxBufferedMessages
+        || (overflowPolicy == OverflowPolicy.BLOCK && isFlowControlled(message))) {
+        // A flow controlled sender stops on its own as its credits only come back once delivered
+        pending.add(message);
+      } else if (overflowPolicy == OverflowPolicy.DROP_OLDEST && !pending.isEmpty()) {
+        drop(pending.poll());
+        pending.add(message);
       } else {
+        drop(message);
+        return;
+      }
+      metrics.bufferedChanged(address, pending.size());
+      if (!paused) {
         checkNextTick();
-        handler.handle(event);
       }
     }
 
+    private void drop(Message<T> message) {
+      metrics.bufferedDropped(address);
+      if (discardHandler != null) {
+        discardHandler.handle(message);
+      }
+      if (overflowPolicy == OverflowPolicy.FAIL || overflowPolicy == OverflowPolicy.BLOCK) {
+        message.fail(-1, "Too many messages buffered for " + address);
+      }
+      // A flow controlled sender must not wait for the credit of a message which will never be delivered
+      grantCredit(message);
+    }
+
     /*
      * Internal API for testing purposes.
      */
@@ -1086,10 +2202,32 @@ public class EventBusImpl implements EventBus {
 
     @Override
     public synchronized MessageConsumer<T> handler(Handler<Message<T>> handler) {
+      batchHandler = null;
+      maxBatch = 0;
+      return doHandler(handler);
+    }
+
+    @Override
+    public synchronized MessageConsumer<T> batchHandler(int maxBatch, long maxDelay, Handler<List<Message<T>>> handler) {
+      if (handler == null) {
+        return handler(null);
+      }
+      Arguments.require(maxBatch > 0, "Max batch must be > 0");
+      Arguments.require(maxDelay >= 0, "Max delay cannot be negative");
+      if (registered) {
+        throw new IllegalStateException("The consumer is already registered");
+      }
+      this.batchHandler = handler;
+      this.maxBatch = maxBatch;
+      this.maxBatchDelay = maxDelay;
+      return doHandler(message -> handler.handle(Collections.singletonList(message)));
+    }
+
+    private MessageConsumer<T> doHandler(Handler<Message<T>> handler) {
       this.handler = handler;
       if (this.handler != null && !registered) {
         registered = true;
-        registerHandler(address, this, replyHandler, localOnly, timeoutID);
+        registerHandler(address, this, localOnly);
       } else if (this.handler == null && registered) {
         // This will set registered to false
         this.unregister();
@@ -1102,6 +2240,12 @@ public class EventBusImpl implements EventBus {
       return new BodyReadStream<>(this);
     }
 
+    @Override
+    public ReadStream<T> bodyStream(int maxBatch, long maxDelay) {
+      Arguments.require(maxBatch > 0, "Max batch must be > 0");
+      return new BodyReadStream<>(this, maxBatch, maxDelay);
+    }
+
     @Override
     public synchronized boolean isRegistered() {
       return registered;
@@ -1138,15 +2282,40 @@ public class EventBusImpl implements EventBus {
 
     private void checkNextTick() {
       // Check if there are more pending messages in the queue that can be processed next time around
-      if (!pending.isEmpty()) {
-        vertx.runOnContext(v -> {
-          if (!paused) {
-            Message<T> message = pending.poll();
-            if (message != null) {
-              HandlerRegistration.this.handle(message);
+      if (!pending.isEmpty() && !drainScheduled) {
+        drainScheduled = true;
+        vertx.runOnContext(v -> drain());
+      }
+    }
+
+    private synchronized void drain() {
+      drainScheduled = false;
+      // Several messages are handed over per tick, but not all of them so that the other tasks of the context
+      // still get a chance to run
+      int drained = 0;
+      try {
+        while (!paused && !pending.isEmpty() && drained < MAX_DRAINED_MESSAGES) {
+          if (batchHandler != null) {
+            // The buffered messages are handed over as batches too
+            int size = Math.min(pending.size(), maxBatch);
+            List<Message<T>> messages = new ArrayList<>(size);
+            while (messages.size() < size) {
+              messages.add(pending.poll());
             }
+            drained += size;
+            deliverBatch(messages);
+          } else {
+            drained++;
+            deliver(pending.poll());
           }
-        });
+        }
+      } finally {
+        if (drained > 0) {
+          metrics.bufferedChanged(address, pending.size());
+        }
+        if (!paused) {
+          checkNextTick();
+        }
       }
     }
   }
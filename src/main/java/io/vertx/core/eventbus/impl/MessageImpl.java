@@ -16,6 +16,8 @@
 
 package io.vertx.core.eventbus.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.util.CharsetUtil;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
@@ -26,7 +28,11 @@ import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageCodec;
 import io.vertx.core.eventbus.ReplyException;
 import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.eventbus.impl.codecs.JsonArrayMessageCodec;
+import io.vertx.core.eventbus.impl.codecs.JsonObjectMessageCodec;
 import io.vertx.core.http.CaseInsensitiveHeaders;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.impl.LoggerFactory;
 import io.vertx.core.net.NetSocket;
@@ -44,6 +50,20 @@ public class MessageImpl<U, V> implements Message<V> {
 
   private static final byte WIRE_PROTOCOL_VERSION = 1;
 
+  // The compact protocol, only used on connections where the peer accepted it during the handshake
+  static final byte WIRE_PROTOCOL_VERSION_2 = 2;
+
+  // A fragment of a large frame of the compact protocol, the fragments of a frame are sent in order but other frames
+  // can be sent in between
+  static final byte WIRE_FRAGMENT = 3;
+  static final int FRAGMENT_FIRST = 0x01;
+  static final int FRAGMENT_LAST = 0x02;
+
+  private static final int FLAG_PUBLISH = 0x01;
+  private static final int FLAG_REPLY_ADDRESS = 0x02;
+  private static final int FLAG_HEADERS = 0x04;
+  private static final int FLAG_COMPRESSED = 0x08;
+
   private NetSocket socket;
   private EventBusImpl bus;
   private ServerID sender;
@@ -54,7 +74,12 @@ public class MessageImpl<U, V> implements Message<V> {
   private V receivedBody;
   private MessageCodec<U, V> messageCodec;
   private boolean send;
+  private boolean isReply;
+  private boolean compress;
+  private boolean readOnlyJson;
+  private boolean highPriority;
   private Buffer wireBuffer;
+  private WireStringCache stringCache;
   private int bodyPos;
   private int headersPos;
 
@@ -89,9 +114,10 @@ public class MessageImpl<U, V> implements Message<V> {
     if (other.sentBody != null) {
       // This will only be true if the message has been sent locally
       this.sentBody = other.sentBody;
-      this.receivedBody = messageCodec.transform(other.sentBody);
+      this.receivedBody = transformSentBody(other.readOnlyJson);
     } else {
       this.wireBuffer = other.wireBuffer;
+      this.stringCache = other.stringCache;
       this.bodyPos = other.bodyPos;
       this.headersPos = other.headersPos;
     }
@@ -142,51 +168,157 @@ public class MessageImpl<U, V> implements Message<V> {
   }
 
   public Buffer encodeToWire() {
-    int length = 1024; // TODO make this configurable
-    Buffer buffer = Buffer.buffer(length);
-    buffer.appendInt(0);
-    buffer.appendByte(WIRE_PROTOCOL_VERSION);
-    byte systemCodecID = messageCodec.systemCodecID();
-    buffer.appendByte(systemCodecID);
-    if (systemCodecID == -1) {
-      // User codec
-      writeString(buffer, messageCodec.name());
+    return encodeToWire(null);
+  }
+
+  /**
+   * Encode the message into a buffer sized up front: the envelope size is computed exactly and the body size is
+   * predicted by the {@code estimator}, so the buffer is normally never resized while encoding.
+   */
+  Buffer encodeToWire(BodySizeEstimator estimator) {
+    boolean userCodec = messageCodec.systemCodecID() == -1;
+    int headersLength = headersLength();
+    int envelopeLength = 4 + 1 + 1 + (userCodec ? 4 + utf8Length(messageCodec.name()) : 0) + 1
+      + 4 + utf8Length(address) + 4 + (replyAddress != null ? utf8Length(replyAddress) : 0)
+      + 4 + 4 + utf8Length(sender.host) + headersLength;
+    int bodyEstimate = estimator != null ? estimator.estimate(messageCodec, sentBody) :
+      BodySizeEstimator.DEFAULT_ESTIMATE;
+    ByteBuf buf = Unpooled.buffer(envelopeLength + bodyEstimate, Integer.MAX_VALUE);
+    buf.writeInt(0);
+    buf.writeByte(WIRE_PROTOCOL_VERSION);
+    buf.writeByte(messageCodec.systemCodecID());
+    if (userCodec) {
+      writeString(buf, messageCodec.name());
     }
-    buffer.appendByte(send ? (byte)0 : (byte)1);
-    writeString(buffer, address);
+    buf.writeByte(send ? 0 : 1);
+    writeString(buf, address);
     if (replyAddress != null) {
-      writeString(buffer, replyAddress);
+      writeString(buf, replyAddress);
     } else {
-      buffer.appendInt(0);
+      buf.writeInt(0);
     }
-    buffer.appendInt(sender.port);
-    writeString(buffer, sender.host);
-    encodeHeaders(buffer);
+    buf.writeInt(sender.port);
+    writeString(buf, sender.host);
+    encodeHeaders(buf, headersLength);
+    // The buffer shares its indexes with buf
+    Buffer buffer = Buffer.buffer(buf);
     writeBody(buffer);
+    if (estimator != null) {
+      estimator.update(messageCodec, buffer.length() - envelopeLength);
+    }
+    buffer.setInt(0, buffer.length() - 4);
+    return buffer;
+  }
+
+  /**
+   * Encode the message with the compact protocol: lengths are varints, the codec name, the address and the header
+   * names are sent through the per-connection {@code dictionary} and the sender is not sent at all as the peer
+   * learnt it during the handshake. The body is compressed when the {@code compressor} accepts it.
+   * <p>
+   * Must be called in the same order the frames are written to the connection.
+   */
+  Buffer encodeToWire(BodySizeEstimator estimator, WireDictionary dictionary, WireCompressor compressor) {
+    boolean userCodec = messageCodec.systemCodecID() == -1;
+    boolean hasHeaders = headers != null && !headers.isEmpty();
+    // An upper bound of the envelope size, a UTF-8 char takes at most 3 bytes per UTF-16 char
+    int envelopeLength = 4 + 1 + 1 + 1 + (userCodec ? 10 + 3 * messageCodec.name().length() : 0)
+      + 10 + 3 * address.length() + (replyAddress != null ? 5 + 3 * replyAddress.length() : 0);
+    int numHeaders = 0;
+    if (hasHeaders) {
+      envelopeLength += 5;
+      for (Map.Entry<String, String> entry: headers) {
+        envelopeLength += 10 + 3 * entry.getKey().length() + 5 + 3 * entry.getValue().length();
+        numHeaders++;
+      }
+    }
+    int bodyEstimate = estimator != null ? estimator.estimate(messageCodec, sentBody) :
+      BodySizeEstimator.DEFAULT_ESTIMATE;
+    ByteBuf buf = Unpooled.buffer(envelopeLength + bodyEstimate, Integer.MAX_VALUE);
+    buf.writeInt(0);
+    buf.writeByte(WIRE_PROTOCOL_VERSION_2);
+    buf.writeByte(messageCodec.systemCodecID());
+    if (userCodec) {
+      dictionary.write(buf, messageCodec.name());
+    }
+    int flags = 0;
+    if (!send) {
+      flags |= FLAG_PUBLISH;
+    }
+    if (replyAddress != null) {
+      flags |= FLAG_REPLY_ADDRESS;
+    }
+    if (hasHeaders) {
+      flags |= FLAG_HEADERS;
+    }
+    int flagsPos = buf.writerIndex();
+    buf.writeByte(flags);
+    if (isReply) {
+      // The address of a reply is a reply address which is used only once
+      dictionary.writeLiteral(buf, address);
+    } else {
+      dictionary.write(buf, address);
+    }
+    if (replyAddress != null) {
+      writeVarString(buf, replyAddress);
+    }
+    if (hasHeaders) {
+      writeVarInt(buf, numHeaders);
+      for (Map.Entry<String, String> entry: headers) {
+        dictionary.write(buf, entry.getKey());
+        writeVarString(buf, entry.getValue());
+      }
+    }
+    int bodyStart = buf.writerIndex();
+    // The buffer shares its indexes with buf
+    Buffer buffer = Buffer.buffer(buf);
+    writeBody(buffer);
+    int bodyLength = buffer.length() - bodyStart;
+    if (estimator != null) {
+      estimator.update(messageCodec, bodyLength);
+    }
+    if (compressor != null && compressor.shouldCompress(compress, bodyLength)) {
+      int compressedLength = compressor.compress(buf, bodyStart, bodyLength);
+      if (compressedLength != -1) {
+        // Replace the body with its uncompressed length followed by the compressed bytes
+        buf.setByte(flagsPos, flags | FLAG_COMPRESSED);
+        buf.writerIndex(bodyStart);
+        writeVarInt(buf, bodyLength);
+        buf.writeBytes(compressor.output(), 0, compressedLength);
+      }
+    }
     buffer.setInt(0, buffer.length() - 4);
-//    if (buffer.length()> length) {
-//      log.warn("Overshot length " + length + " actual " + buffer.length());
-//    }
     return buffer;
   }
 
   public void readFromWire(NetSocket socket, Buffer buffer, Map<String, MessageCodec> codecMap, MessageCodec[] systemCodecs) {
+    readFromWire(socket, buffer, codecMap, systemCodecs, null, null);
+  }
+
+  /**
+   * Decode the message envelope, the strings are read straight from the underlying {@code ByteBuf}.
+   *
+   * @param stringCache  the cache of the recurring strings, can be null
+   * @param lastSender  the sender of the previous message read from the same connection, reused when the sender
+   *                    is the same, can be null
+   */
+  void readFromWire(NetSocket socket, Buffer buffer, Map<String, MessageCodec> codecMap, MessageCodec[] systemCodecs,
+                    WireStringCache stringCache, ServerID lastSender) {
+    ByteBuf buf = buffer.getByteBuf();
     int pos = 0;
     // Overall Length already read when passed in here
-    byte protocolVersion = buffer.getByte(pos);
+    byte protocolVersion = buf.getByte(pos);
     if (protocolVersion > WIRE_PROTOCOL_VERSION) {
       throw new IllegalStateException("Invalid wire protocol version " + protocolVersion +
                                       " should be <= " + WIRE_PROTOCOL_VERSION);
     }
     pos++;
-    byte systemCodecCode = buffer.getByte(pos);
+    byte systemCodecCode = buf.getByte(pos);
     pos++;
     if (systemCodecCode == -1) {
       // User codec
-      int length = buffer.getInt(pos);
+      int length = buf.getInt(pos);
       pos += 4;
-      byte[] bytes = buffer.getBytes(pos, pos + length);
-      String codecName = new String(bytes, CharsetUtil.UTF_8);
+      String codecName = readString(buf, pos, length, stringCache);
       messageCodec = codecMap.get(codecName);
       if (messageCodec == null) {
         throw new IllegalStateException("No message codec registered with name " + codecName);
@@ -195,76 +327,165 @@ public class MessageImpl<U, V> implements Message<V> {
     } else {
       messageCodec = systemCodecs[systemCodecCode];
     }
-    byte bsend = buffer.getByte(pos);
+    byte bsend = buf.getByte(pos);
     send = bsend == 0;
     pos++;
-    int length = buffer.getInt(pos);
+    int length = buf.getInt(pos);
     pos += 4;
-    byte[] bytes = buffer.getBytes(pos, pos + length);
-    address = new String(bytes, CharsetUtil.UTF_8);
+    address = readString(buf, pos, length, stringCache);
     pos += length;
-    length = buffer.getInt(pos);
+    length = buf.getInt(pos);
     pos += 4;
     if (length != 0) {
-      bytes = buffer.getBytes(pos, pos + length);
-      replyAddress = new String(bytes, CharsetUtil.UTF_8);
+      // Reply addresses are unique so there is no point caching them
+      replyAddress = buf.toString(pos, length, CharsetUtil.UTF_8);
       pos += length;
     }
-    int senderPort = buffer.getInt(pos);
+    int senderPort = buf.getInt(pos);
     pos += 4;
-    length = buffer.getInt(pos);
+    length = buf.getInt(pos);
     pos += 4;
-    bytes = buffer.getBytes(pos, pos + length);
-    String senderHost = new String(bytes, CharsetUtil.UTF_8);
+    String senderHost = readString(buf, pos, length, stringCache);
     pos += length;
     headersPos = pos;
-    int headersLength = buffer.getInt(pos);
+    int headersLength = buf.getInt(pos);
     pos += headersLength;
     bodyPos = pos;
-    sender = new ServerID(senderPort, senderHost);
+    if (lastSender != null && lastSender.port == senderPort && lastSender.host.equals(senderHost)) {
+      sender = lastSender;
+    } else {
+      sender = new ServerID(senderPort, senderHost);
+    }
+    this.stringCache = stringCache;
     wireBuffer = buffer;
     this.socket = socket;
   }
 
+  /**
+   * Decode a message encoded with the compact protocol. The headers are decoded straight away as they can define
+   * dictionary entries used by the next messages.
+   *
+   * @param decompressor  the decompressor of the connection
+   * @param sender  the sender of the connection, sent once during the handshake
+   */
+  void readFromWireV2(NetSocket socket, Buffer buffer, Map<String, MessageCodec> codecMap, MessageCodec[] systemCodecs,
+                      WireDictionary dictionary, WireCompressor decompressor, ServerID sender) {
+    ByteBuf buf = buffer.getByteBuf();
+    // Overall Length already read when passed in here, skip the version
+    buf.skipBytes(1);
+    byte systemCodecCode = buf.readByte();
+    if (systemCodecCode == -1) {
+      // User codec
+      String codecName = dictionary.read(buf);
+      messageCodec = codecMap.get(codecName);
+      if (messageCodec == null) {
+        throw new IllegalStateException("No message codec registered with name " + codecName);
+      }
+    } else {
+      messageCodec = systemCodecs[systemCodecCode];
+    }
+    int flags = buf.readByte();
+    send = (flags & FLAG_PUBLISH) == 0;
+    address = dictionary.read(buf);
+    if ((flags & FLAG_REPLY_ADDRESS) != 0) {
+      replyAddress = readVarString(buf);
+    }
+    if ((flags & FLAG_HEADERS) != 0) {
+      int numHeaders = readVarInt(buf);
+      headers = new CaseInsensitiveHeaders();
+      for (int i = 0; i < numHeaders; i++) {
+        String key = dictionary.read(buf);
+        String val = readVarString(buf);
+        headers.add(key, val);
+      }
+    }
+    if ((flags & FLAG_COMPRESSED) != 0) {
+      int uncompressedLength = readVarInt(buf);
+      int pos = buf.readerIndex();
+      // A body position of 0 means the body has been decoded so the body is stored after a leading unused byte
+      wireBuffer = decompressor.decompress(buf, pos, buffer.length() - pos, uncompressedLength, 1);
+      bodyPos = 1;
+    } else {
+      wireBuffer = buffer;
+      bodyPos = buf.readerIndex();
+    }
+    this.sender = sender;
+    this.socket = socket;
+  }
+
+  ServerID sender() {
+    return sender;
+  }
+
+  /**
+   * @return an estimate of the encoded size of the message, used to bound the messages queued for a connection
+   */
+  int estimatedSize(BodySizeEstimator estimator) {
+    return address.length() + (replyAddress != null ? replyAddress.length() : 0) + headersLength()
+      + estimator.estimate(messageCodec, sentBody);
+  }
+
+  /**
+   * @return the address to grant a credit to once the message is handled, or null if the message was not sent by a
+   * flow controlled producer
+   */
+  String creditAddress() {
+    // Don't allocate empty headers for the common case
+    if (headers == null && headersPos != 0) {
+      decodeHeaders();
+    }
+    return headers != null ? headers.get(MessageProducerImpl.CREDIT_ADDRESS_HEADER_NAME) : null;
+  }
+
   private void decodeBody() {
     receivedBody = messageCodec.decodeFromWire(bodyPos, wireBuffer);
     bodyPos = 0;
   }
 
-  private void encodeHeaders(Buffer buffer) {
+  private int headersLength() {
     if (headers != null && !headers.isEmpty()) {
-      int headersLengthPos = buffer.length();
-      buffer.appendInt(0);
-      buffer.appendInt(headers.size());
-      List<Map.Entry<String, String>> entries = headers.entries();
-      for (Map.Entry<String, String> entry: entries) {
-        writeString(buffer, entry.getKey());
-        writeString(buffer, entry.getValue());
+      int length = 8;
+      for (Map.Entry<String, String> entry: headers) {
+        length += 4 + utf8Length(entry.getKey()) + 4 + utf8Length(entry.getValue());
       }
-      int headersEndPos = buffer.length();
-      buffer.setInt(headersLengthPos, headersEndPos - headersLengthPos);
+      return length;
     } else {
-      buffer.appendInt(4);
+      return 4;
+    }
+  }
+
+  private void encodeHeaders(ByteBuf buf, int headersLength) {
+    buf.writeInt(headersLength);
+    if (headersLength > 4) {
+      int numHeadersPos = buf.writerIndex();
+      buf.writeInt(0);
+      int numHeaders = 0;
+      for (Map.Entry<String, String> entry: headers) {
+        writeString(buf, entry.getKey());
+        writeString(buf, entry.getValue());
+        numHeaders++;
+      }
+      buf.setInt(numHeadersPos, numHeaders);
     }
   }
 
   private void decodeHeaders() {
-    int length = wireBuffer.getInt(headersPos);
-    if (length != 0) {
+    ByteBuf buf = wireBuffer.getByteBuf();
+    int length = buf.getInt(headersPos);
+    // A length of 4 means no headers
+    if (length > 4) {
       headersPos += 4;
-      int numHeaders = wireBuffer.getInt(headersPos);
+      int numHeaders = buf.getInt(headersPos);
       headersPos += 4;
       headers = new CaseInsensitiveHeaders();
       for (int i = 0; i < numHeaders; i++) {
-        int keyLength = wireBuffer.getInt(headersPos);
+        int keyLength = buf.getInt(headersPos);
         headersPos += 4;
-        byte[] bytes = wireBuffer.getBytes(headersPos, headersPos + keyLength);
-        String key = new String(bytes, CharsetUtil.UTF_8);
+        String key = readString(buf, headersPos, keyLength, stringCache);
         headersPos += keyLength;
-        int valLength = wireBuffer.getInt(headersPos);
+        int valLength = buf.getInt(headersPos);
         headersPos += 4;
-        bytes = wireBuffer.getBytes(headersPos, headersPos + valLength);
-        String val = new String(bytes, CharsetUtil.UTF_8);
+        String val = buf.toString(headersPos, valLength, CharsetUtil.UTF_8);
         headersPos += valLength;
         headers.add(key, val);
       }
@@ -272,21 +493,119 @@ public class MessageImpl<U, V> implements Message<V> {
     headersPos = 0;
   }
 
+  private static String readString(ByteBuf buf, int pos, int length, WireStringCache stringCache) {
+    if (stringCache != null) {
+      return stringCache.decode(buf, pos, length);
+    } else {
+      return buf.toString(pos, length, CharsetUtil.UTF_8);
+    }
+  }
+
   private void writeBody(Buffer buff) {
     messageCodec.encodeToWire(buff, sentBody);
   }
 
-  private void writeString(Buffer buff, String str) {
-    byte[] strBytes = str.getBytes(CharsetUtil.UTF_8);
-    buff.appendInt(strBytes.length);
-    buff.appendBytes(strBytes);
+  private void writeString(ByteBuf buf, String str) {
+    buf.writeInt(utf8Length(str));
+    writeUtf8(buf, str);
+  }
+
+  /**
+   * @return the number of bytes of the UTF-8 encoding of {@code str}, malformed surrogates are encoded as {@code '?'}
+   * like {@link String#getBytes(java.nio.charset.Charset)} does
+   */
+  static int utf8Length(String str) {
+    int len = str.length();
+    int size = len;
+    for (int i = 0; i < len; i++) {
+      char c = str.charAt(i);
+      if (c >= 0x80) {
+        if (c < 0x800) {
+          size++;
+        } else if (Character.isSurrogate(c)) {
+          if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+            // 4 bytes for 2 chars
+            size += 2;
+            i++;
+          }
+        } else {
+          size += 2;
+        }
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Write the UTF-8 encoding of {@code str} straight into {@code buf} without an intermediate byte array.
+   */
+  static void writeUtf8(ByteBuf buf, String str) {
+    int len = str.length();
+    for (int i = 0; i < len; i++) {
+      char c = str.charAt(i);
+      if (c < 0x80) {
+        buf.writeByte(c);
+      } else if (c < 0x800) {
+        buf.writeByte(0xC0 | (c >> 6));
+        buf.writeByte(0x80 | (c & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+          int codePoint = Character.toCodePoint(c, str.charAt(++i));
+          buf.writeByte(0xF0 | (codePoint >> 18));
+          buf.writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+          buf.writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+          buf.writeByte(0x80 | (codePoint & 0x3F));
+        } else {
+          buf.writeByte('?');
+        }
+      } else {
+        buf.writeByte(0xE0 | (c >> 12));
+        buf.writeByte(0x80 | ((c >> 6) & 0x3F));
+        buf.writeByte(0x80 | (c & 0x3F));
+      }
+    }
+  }
+
+  static void writeVarInt(ByteBuf buf, int value) {
+    while ((value & ~0x7F) != 0) {
+      buf.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buf.writeByte(value);
+  }
+
+  static int readVarInt(ByteBuf buf) {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      byte b = buf.readByte();
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("Malformed varint");
+  }
+
+  static void writeVarString(ByteBuf buf, String str) {
+    writeVarInt(buf, utf8Length(str));
+    writeUtf8(buf, str);
+  }
+
+  static String readVarString(ByteBuf buf) {
+    int length = readVarInt(buf);
+    String str = buf.toString(buf.readerIndex(), length, CharsetUtil.UTF_8);
+    buf.skipBytes(length);
+    return str;
   }
 
   @Override
   public void fail(int failureCode, String message) {
     if (replyAddress != null) {
-      sendReply(bus.createMessage(true, replyAddress, null,
-          new ReplyException(ReplyFailure.RECIPIENT_FAILURE, failureCode, message), null), null, null);
+      MessageImpl failure = bus.createMessage(true, replyAddress, null,
+          new ReplyException(ReplyFailure.RECIPIENT_FAILURE, failureCode, message), null);
+      // A failure is small, there is no point making it wait behind bulk messages
+      failure.setHighPriority(true);
+      sendReply(failure, null, null);
     }
   }
 
@@ -312,6 +631,61 @@ public class MessageImpl<U, V> implements Message<V> {
     }
   }
 
+  void setCompress(boolean compress) {
+    this.compress = compress;
+  }
+
+  void setReadOnlyJson(boolean readOnlyJson) {
+    this.readOnlyJson = readOnlyJson;
+  }
+
+  void setHighPriority(boolean highPriority) {
+    this.highPriority = highPriority;
+  }
+
+  boolean isHighPriority() {
+    return highPriority;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V transformSentBody(boolean readOnlyJson) {
+    if (readOnlyJson) {
+      // Share the sent instance between all the consumers instead of copying it for each of them
+      if (messageCodec instanceof JsonObjectMessageCodec) {
+        return (V) ((JsonObject) sentBody).asReadOnly();
+      } else if (messageCodec instanceof JsonArrayMessageCodec) {
+        return (V) ((JsonArray) sentBody).asReadOnly();
+      }
+    }
+    return messageCodec.transform(sentBody);
+  }
+
+  /**
+   * @return the address, the codec name, the headers and the body encoded with the codec, two sent messages with
+   * equal keys are identical requests
+   */
+  Buffer coalescingKey() {
+    Buffer key = Buffer.buffer();
+    appendString(key, address);
+    appendString(key, messageCodec.name());
+    if (headers != null) {
+      for (Map.Entry<String, String> entry: headers.entries()) {
+        appendString(key, entry.getKey());
+        appendString(key, entry.getValue());
+      }
+    }
+    // Separates the headers from the body
+    key.appendInt(-1);
+    messageCodec.encodeToWire(key, sentBody);
+    return key;
+  }
+
+  private static void appendString(Buffer buffer, String str) {
+    byte[] bytes = str.getBytes(CharsetUtil.UTF_8);
+    buffer.appendInt(bytes.length);
+    buffer.appendBytes(bytes);
+  }
+
   protected void setReplyAddress(String replyAddress) {
     this.replyAddress = replyAddress;
   }
@@ -330,6 +704,7 @@ public class MessageImpl<U, V> implements Message<V> {
 
   private <R> void sendReply(MessageImpl msg, DeliveryOptions options, Handler<AsyncResult<Message<R>>> replyHandler) {
     if (bus != null && replyAddress != null) {
+      msg.isReply = true;
       bus.sendReply(sender, msg, options, replyHandler);
     }
   }
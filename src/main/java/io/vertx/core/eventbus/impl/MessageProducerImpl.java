@@ -17,31 +17,69 @@
 package io.vertx.core.eventbus.impl;
 
 import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.eventbus.MessageProducer;
-import io.vertx.core.streams.WriteStream;
+import io.vertx.core.http.CaseInsensitiveHeaders;
+import io.vertx.core.impl.Arguments;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * A sender is flow controlled with credits: the messages carry the address of a local consumer of the producer in a
+ * header, and the consumer of a message sends a credit to that address on the node of the producer once it has
+ * handled the message.
+ * <p>
+ * The credits of messages sent to a node which left the cluster never come back, a sender which stays out of credits
+ * for the send timeout of its options gets all its credits back.
+ *
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
  */
 public class MessageProducerImpl<T> implements MessageProducer<T> {
 
+  public static final String CREDIT_ADDRESS_HEADER_NAME = "__vertx.credit";
+  public static final int DEFAULT_WRITE_QUEUE_MAX_SIZE = 1000;
+
+  private final Vertx vertx;
   private final EventBus bus;
   private final boolean send;
   private final String address;
+  private final Queue<T> pending = new ArrayDeque<>();
+  private final MessageConsumer<Integer> creditConsumer;
+  private final String creditAddress;
   private DeliveryOptions options;
+  private int maxSize = DEFAULT_WRITE_QUEUE_MAX_SIZE;
+  private int credits = DEFAULT_WRITE_QUEUE_MAX_SIZE;
+  private boolean full;
+  private boolean closed;
+  private Handler<Void> drainHandler;
+  private long lastCreditTime;
+  private long creditTimeoutID = -1;
 
-  public MessageProducerImpl(EventBus bus, String address, boolean send, DeliveryOptions options) {
-    this.bus = bus;
+  public MessageProducerImpl(Vertx vertx, String address, boolean send, DeliveryOptions options) {
+    this.vertx = vertx;
+    this.bus = vertx.eventBus();
     this.address = address;
     this.send = send;
-    this.options = options;
+    if (send) {
+      creditAddress = "__vertx.credit." + UUID.randomUUID();
+      creditConsumer = bus.localConsumer(creditAddress, msg -> doReceiveCredit(msg.body()));
+    } else {
+      creditAddress = null;
+      creditConsumer = null;
+    }
+    this.options = withCreditAddress(options);
   }
 
   @Override
   public synchronized MessageProducer<T> deliveryOptions(DeliveryOptions options) {
-    this.options = options;
+    this.options = withCreditAddress(options);
     return this;
   }
 
@@ -51,14 +89,34 @@ public class MessageProducerImpl<T> implements MessageProducer<T> {
   }
 
   @Override
-  public MessageProducer<T> setWriteQueueMaxSize(int maxSize) {
+  public synchronized MessageProducer<T> setWriteQueueMaxSize(int maxSize) {
+    Arguments.require(maxSize > 0, "Write queue max size must be > 0");
+    credits += maxSize - this.maxSize;
+    this.maxSize = maxSize;
+    if (send) {
+      sendPending();
+      if (credits <= 0) {
+        stalled();
+      }
+    }
     return this;
   }
 
   @Override
   public synchronized MessageProducer<T> write(T data) {
+    if (closed) {
+      return this;
+    }
     if (send) {
-      bus.send(address, data, options);
+      if (credits > 0) {
+        credits--;
+        bus.send(address, data, options);
+      } else {
+        pending.add(data);
+      }
+      if (credits <= 0) {
+        stalled();
+      }
     } else {
       bus.publish(address, data, options);
     }
@@ -66,12 +124,21 @@ public class MessageProducerImpl<T> implements MessageProducer<T> {
   }
 
   @Override
-  public boolean writeQueueFull() {
-    return false;
+  public synchronized boolean writeQueueFull() {
+    return send && credits <= 0;
   }
 
   @Override
   public MessageProducer<T> drainHandler(Handler<Void> handler) {
+    boolean drain;
+    synchronized (this) {
+      this.drainHandler = handler;
+      drain = handler != null && full && credits >= maxSize / 2;
+    }
+    if (drain) {
+      // The credits came back before the handler was set, drain from the credit consumer like any other time
+      bus.send(creditAddress, 0);
+    }
     return this;
   }
 
@@ -80,4 +147,104 @@ public class MessageProducerImpl<T> implements MessageProducer<T> {
     return address;
   }
 
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      pending.clear();
+      if (creditTimeoutID != -1) {
+        vertx.cancelTimer(creditTimeoutID);
+        creditTimeoutID = -1;
+      }
+    }
+    if (creditConsumer != null) {
+      creditConsumer.unregister();
+    }
+  }
+
+  private void doReceiveCredit(int credit) {
+    Handler<Void> handler = null;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      // Credits coming back after a credit timeout must not exceed the queue size
+      credits = Math.min(credits + credit, maxSize);
+      lastCreditTime = System.nanoTime();
+      sendPending();
+      if (credits <= 0) {
+        stalled();
+      }
+      // Like other write streams, drain once half of the queue is available again
+      if (full && credits >= maxSize / 2 && drainHandler != null) {
+        full = false;
+        handler = drainHandler;
+      }
+    }
+    if (handler != null) {
+      handler.handle(null);
+    }
+  }
+
+  private void stalled() {
+    if (!full) {
+      full = true;
+      lastCreditTime = System.nanoTime();
+    }
+    if (creditTimeoutID == -1) {
+      creditTimeoutID = vertx.setTimer(options.getSendTimeout(), id -> checkCreditTimeout());
+    }
+  }
+
+  private void checkCreditTimeout() {
+    Handler<Void> handler = null;
+    synchronized (this) {
+      creditTimeoutID = -1;
+      if (closed || credits > 0) {
+        return;
+      }
+      long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastCreditTime);
+      if (waited < options.getSendTimeout()) {
+        // Credits came back since the timer was set but not enough of them
+        creditTimeoutID = vertx.setTimer(options.getSendTimeout() - waited, id -> checkCreditTimeout());
+        return;
+      }
+      // The consumers of the outstanding messages are gone, e.g. their node left the cluster
+      credits = maxSize;
+      lastCreditTime = System.nanoTime();
+      sendPending();
+      if (credits <= 0) {
+        stalled();
+      } else if (credits >= maxSize / 2 && drainHandler != null) {
+        full = false;
+        handler = drainHandler;
+      }
+    }
+    if (handler != null) {
+      handler.handle(null);
+    }
+  }
+
+  private void sendPending() {
+    while (credits > 0 && !pending.isEmpty()) {
+      credits--;
+      bus.send(address, pending.poll(), options);
+    }
+  }
+
+  private DeliveryOptions withCreditAddress(DeliveryOptions options) {
+    if (creditAddress == null) {
+      return options;
+    }
+    // The headers of the options given by the user must not be changed
+    MultiMap headers = new CaseInsensitiveHeaders();
+    if (options.getHeaders() != null) {
+      headers.addAll(options.getHeaders());
+    }
+    headers.set(CREDIT_ADDRESS_HEADER_NAME, creditAddress);
+    return new DeliveryOptions(options).setHeaders(headers);
+  }
 }
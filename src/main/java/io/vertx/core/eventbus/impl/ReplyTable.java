@@ -0,0 +1,478 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import io.netty.channel.EventLoopGroup;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.impl.Closeable;
+import io.vertx.core.impl.ContextImpl;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The replies the event bus of this node is waiting for.
+ * <p>
+ * Each send with a reply handler gets an id from a node wide sequence, the reply address is the id with a well known
+ * prefix. Pending replies are kept in a few open addressing maps keyed by the id, consecutive ids go to different
+ * maps so that concurrent senders rarely contend on the same lock.
+ * <p>
+ * The pending replies of a deployment are dropped when it is undeployed, a close hook is added once to each
+ * deployment context sending with a reply handler.
+ * <p>
+ * Timeouts are detected by a single task sweeping a hashed wheel of buckets, one bucket per tick, instead of
+ * scheduling a timer per request. A reply removes its entry from the map only, the stale reference left in the
+ * wheel is dropped the next time its bucket is swept.
+ * <p>
+ * When the event bus is clustered a random part is appended to the address so that it can't be guessed by another
+ * node, the whole address must match for a reply to be delivered. The random part is a prefix drawn once per node
+ * from a secure random followed by a SipHash of the id keyed with a secret also drawn once, a reply address costs a
+ * few arithmetic operations instead of a draw from the shared secure random.
+ * <p>
+ * This class is thread-safe.
+ */
+class ReplyTable {
+
+  static final String ADDRESS_PREFIX = "__vertx.reply.";
+
+  private static final int SEGMENT_BITS = 4;
+  private static final int SEGMENT_MASK = (1 << SEGMENT_BITS) - 1;
+  private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final int WHEEL_SIZE = 512;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final EventLoopGroup eventLoopGroup;
+  private final boolean unguessable;
+  private final String nodePrefix;
+  private final long key0;
+  private final long key1;
+  private final Consumer<PendingReply<?>> timeoutHandler;
+  private final AtomicLong sequence = new AtomicLong();
+  private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+  private final Bucket[] wheel = new Bucket[WHEEL_SIZE];
+  private final long startTime = System.nanoTime();
+  private volatile long tick;
+  private volatile ScheduledFuture<?> sweeper;
+  private boolean closed;
+
+  /**
+   * @param eventLoopGroup the group running the timeout sweep
+   * @param unguessable whether reply addresses must not be guessable
+   * @param timeoutHandler called from the sweep with each pending reply that timed out
+   */
+  ReplyTable(EventLoopGroup eventLoopGroup, boolean unguessable, Consumer<PendingReply<?>> timeoutHandler) {
+    this.eventLoopGroup = eventLoopGroup;
+    this.unguessable = unguessable;
+    this.timeoutHandler = timeoutHandler;
+    if (unguessable) {
+      SecureRandom random = new SecureRandom();
+      this.nodePrefix = "." + toHex(random.nextLong());
+      this.key0 = random.nextLong();
+      this.key1 = random.nextLong();
+    } else {
+      this.nodePrefix = null;
+      this.key0 = 0;
+      this.key1 = 0;
+    }
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = new Segment();
+    }
+    for (int i = 0; i < wheel.length; i++) {
+      wheel[i] = new Bucket();
+    }
+  }
+
+  /**
+   * Register a new pending reply. When the context belongs to a deployment, the pending reply is dropped without
+   * calling its handler if the deployment is undeployed first.
+   *
+   * @param context the context the reply handler runs on
+   * @param sentAddress the address of the message the reply is waiting for
+   * @param timeout the timeout in ms
+   * @param handler the reply handler
+   * @return the pending reply, its address is the reply address of the message
+   */
+  <T> PendingReply<T> register(ContextImpl context, String sentAddress, long timeout,
+                               Handler<AsyncResult<Message<T>>> handler) {
+    long id = sequence.incrementAndGet();
+    String address = ADDRESS_PREFIX + id;
+    if (unguessable) {
+      address = address + nodePrefix + toHex(sipHash(key0, key1, id));
+    }
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+    PendingReply<T> pending = new PendingReply<>(id, address, context, sentAddress, deadline, handler);
+    segments[(int) id & SEGMENT_MASK].put(id, pending);
+    schedule(pending);
+    if (context.getDeployment() != null) {
+      // Close hooks are a set, the hook is only added by the first send of the context
+      context.addCloseHook(new ContextHook(context));
+    }
+    return pending;
+  }
+
+  /**
+   * Remove the pending reply for a reply address.
+   *
+   * @return the pending reply or null if there is none, it has already been removed or it timed out
+   */
+  PendingReply<?> remove(String address) {
+    long id = parseID(address);
+    if (id <= 0) {
+      return null;
+    }
+    Segment segment = segments[(int) id & SEGMENT_MASK];
+    synchronized (segment) {
+      PendingReply<?> pending = segment.get(id);
+      if (pending != null && pending.address.equals(address)) {
+        segment.remove(id);
+        return pending;
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Remove a pending reply.
+   *
+   * @return true if it was removed, false if it has already been removed or it timed out
+   */
+  boolean remove(PendingReply<?> pending) {
+    return segments[(int) pending.id & SEGMENT_MASK].remove(pending.id) != null;
+  }
+
+  /**
+   * Remove all the pending replies of a context, their handlers are not called.
+   */
+  void removeAll(ContextImpl context) {
+    for (Segment segment : segments) {
+      segment.removeAll(context);
+    }
+  }
+
+  /**
+   * @return the number of pending replies
+   */
+  int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        size += segment.size;
+      }
+    }
+    return size;
+  }
+
+  synchronized void close() {
+    closed = true;
+    if (sweeper != null) {
+      sweeper.cancel(false);
+      sweeper = null;
+    }
+  }
+
+  /**
+   * @return the id of a reply address, or -1 if the address is not a reply address
+   */
+  static long parseID(String address) {
+    if (!address.startsWith(ADDRESS_PREFIX)) {
+      return -1;
+    }
+    int len = address.length();
+    int start = ADDRESS_PREFIX.length();
+    long id = 0;
+    int i = start;
+    for (; i < len; i++) {
+      char c = address.charAt(i);
+      if (c == '.') {
+        break;
+      }
+      // Ids never overflow a long in practice, 18 digits are enough to reject any malformed address
+      if (c < '0' || c > '9' || i - start == 18) {
+        return -1;
+      }
+      id = id * 10 + (c - '0');
+    }
+    return i == start ? -1 : id;
+  }
+
+  /**
+   * @return the SipHash-2-4 of a single long with a 128 bits key
+   */
+  static long sipHash(long k0, long k1, long m) {
+    long v0 = k0 ^ 0x736f6d6570736575L;
+    long v1 = k1 ^ 0x646f72616e646f6dL;
+    long v2 = k0 ^ 0x6c7967656e657261L;
+    long v3 = k1 ^ 0x7465646279746573L;
+    for (int pass = 0; pass < 2; pass++) {
+      // The message block then the final block holding the length of the message
+      long b = pass == 0 ? m : 8L << 56;
+      v3 ^= b;
+      for (int i = 0; i < 2; i++) {
+        v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+        v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+        v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+        v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+      }
+      v0 ^= b;
+    }
+    v2 ^= 0xff;
+    for (int i = 0; i < 4; i++) {
+      v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+      v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+      v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+      v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+    }
+    return v0 ^ v1 ^ v2 ^ v3;
+  }
+
+  private static String toHex(long value) {
+    char[] chars = new char[16];
+    for (int i = 15; i >= 0; i--) {
+      chars[i] = HEX_DIGITS[(int) value & 0xF];
+      value >>>= 4;
+    }
+    return new String(chars);
+  }
+
+  private void schedule(PendingReply<?> pending) {
+    if (sweeper == null) {
+      startSweeper();
+    }
+    long t = Math.max((pending.deadline - startTime + TICK_NANOS - 1) / TICK_NANOS, tick + 1);
+    while (true) {
+      Bucket bucket = wheel[(int) (t & (WHEEL_SIZE - 1))];
+      synchronized (bucket) {
+        // The bucket might have been swept for this tick since the tick was read
+        if (bucket.sweptTick < t) {
+          bucket.entries.add(pending);
+          return;
+        }
+      }
+      t++;
+    }
+  }
+
+  private synchronized void startSweeper() {
+    if (sweeper == null && !closed) {
+      sweeper = eventLoopGroup.next().scheduleAtFixedRate(this::sweep, TICK_NANOS, TICK_NANOS, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void sweep() {
+    long now = System.nanoTime();
+    long target = (now - startTime) / TICK_NANOS;
+    // Never sweep more than a full turn when late
+    long from = Math.max(tick + 1, target - WHEEL_SIZE + 1);
+    for (long t = from; t <= target; t++) {
+      tick = t;
+      Bucket bucket = wheel[(int) (t & (WHEEL_SIZE - 1))];
+      List<PendingReply<?>> timedOut = null;
+      synchronized (bucket) {
+        bucket.sweptTick = t;
+        List<PendingReply<?>> entries = bucket.entries;
+        int kept = 0;
+        for (int i = 0; i < entries.size(); i++) {
+          PendingReply<?> pending = entries.get(i);
+          if (pending.deadline - now <= 0) {
+            if (timedOut == null) {
+              timedOut = new ArrayList<>();
+            }
+            timedOut.add(pending);
+          } else if (segments[(int) pending.id & SEGMENT_MASK].contains(pending.id)) {
+            entries.set(kept++, pending);
+          }
+        }
+        entries.subList(kept, entries.size()).clear();
+      }
+      if (timedOut != null) {
+        for (PendingReply<?> pending : timedOut) {
+          if (remove(pending)) {
+            timeoutHandler.accept(pending);
+          }
+        }
+      }
+    }
+  }
+
+  static final class PendingReply<T> {
+
+    final long id;
+    final String address;
+    final ContextImpl context;
+    final String sentAddress;
+    final long deadline;
+    final Handler<AsyncResult<Message<T>>> handler;
+
+    private PendingReply(long id, String address, ContextImpl context, String sentAddress, long deadline,
+                         Handler<AsyncResult<Message<T>>> handler) {
+      this.id = id;
+      this.address = address;
+      this.context = context;
+      this.sentAddress = sentAddress;
+      this.deadline = deadline;
+      this.handler = handler;
+    }
+  }
+
+  /*
+   * Drops the pending replies of a context when it is closed, equal for the same table and context so that a context
+   * holds a single hook.
+   */
+  private final class ContextHook implements Closeable {
+
+    private final ContextImpl context;
+
+    ContextHook(ContextImpl context) {
+      this.context = context;
+    }
+
+    @Override
+    public void close(Handler<AsyncResult<Void>> completionHandler) {
+      removeAll(context);
+      completionHandler.handle(Future.succeededFuture());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      ContextHook that = (ContextHook) o;
+      return table() == that.table() && context == that.context;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(context);
+    }
+
+    private ReplyTable table() {
+      return ReplyTable.this;
+    }
+  }
+
+  private static final class Bucket {
+    final List<PendingReply<?>> entries = new ArrayList<>();
+    long sweptTick = -1;
+  }
+
+  /*
+   * An open addressing map with linear probing, keys are strictly positive ids. Ids are allocated sequentially and
+   * the low bits select the segment, so the remaining bits of the keys of a segment are mostly consecutive and
+   * masking them is enough to spread them.
+   */
+  private static final class Segment {
+
+    private long[] keys = new long[64];
+    private PendingReply<?>[] values = new PendingReply<?>[64];
+    private int size;
+
+    synchronized void put(long key, PendingReply<?> value) {
+      if ((size + 1) << 1 > keys.length) {
+        resize(keys.length << 1);
+      }
+      int mask = keys.length - 1;
+      int i = slot(key, mask);
+      while (keys[i] != 0) {
+        i = (i + 1) & mask;
+      }
+      keys[i] = key;
+      values[i] = value;
+      size++;
+    }
+
+    synchronized PendingReply<?> get(long key) {
+      int mask = keys.length - 1;
+      for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+        if (keys[i] == key) {
+          return values[i];
+        }
+      }
+      return null;
+    }
+
+    synchronized boolean contains(long key) {
+      return get(key) != null;
+    }
+
+    synchronized PendingReply<?> remove(long key) {
+      int mask = keys.length - 1;
+      int i = slot(key, mask);
+      while (keys[i] != key) {
+        if (keys[i] == 0) {
+          return null;
+        }
+        i = (i + 1) & mask;
+      }
+      PendingReply<?> removed = values[i];
+      // Shift back the following entries of the cluster so that no tombstone is needed
+      int hole = i;
+      for (int j = (i + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+        int home = slot(keys[j], mask);
+        if (((j - home) & mask) >= ((j - hole) & mask)) {
+          keys[hole] = keys[j];
+          values[hole] = values[j];
+          hole = j;
+        }
+      }
+      keys[hole] = 0;
+      values[hole] = null;
+      size--;
+      return removed;
+    }
+
+    synchronized void removeAll(ContextImpl context) {
+      // Removing shifts entries back, restart from the same slot after each removal
+      for (int i = 0; i < keys.length; ) {
+        if (keys[i] != 0 && values[i].context == context) {
+          remove(keys[i]);
+        } else {
+          i++;
+        }
+      }
+    }
+
+    private static int slot(long key, int mask) {
+      return (int) (key >>> SEGMENT_BITS) & mask;
+    }
+
+    private void resize(int capacity) {
+      long[] oldKeys = keys;
+      PendingReply<?>[] oldValues = values;
+      keys = new long[capacity];
+      values = new PendingReply<?>[capacity];
+      int mask = capacity - 1;
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] != 0) {
+          int j = slot(oldKeys[i], mask);
+          while (keys[j] != 0) {
+            j = (j + 1) & mask;
+          }
+          keys[j] = oldKeys[i];
+          values[j] = oldValues[i];
+        }
+      }
+    }
+  }
+}
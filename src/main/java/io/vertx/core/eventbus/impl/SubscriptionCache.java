@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.net.impl.ServerID;
+import io.vertx.core.spi.cluster.ChoosableIterable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A node local cache of the nodes subscribed to an address, so that a clustered send does not need to look them up
+ * in the cluster manager each time.
+ * <p>
+ * The cache is the change handler of the subscription map, an entry is dropped as soon as its address is notified
+ * to have changed. Entries also expire after a maximum age which bounds the staleness if a notification is missed.
+ * <p>
+ * A lookup result is only cached if no change was notified since the lookup started, otherwise the result might
+ * predate a change whose notification has already been processed.
+ * <p>
+ * This class is thread-safe.
+ */
+class SubscriptionCache implements Handler<String> {
+
+  private static final int MAX_SIZE = 16 * 1024;
+
+  private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong version = new AtomicLong();
+  private final long maxAgeNanos;
+
+  /**
+   * @param maxAge the maximum age of an entry, in ms
+   */
+  SubscriptionCache(long maxAge) {
+    this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAge);
+  }
+
+  /**
+   * @return the version to pass to {@link #put} for a lookup starting now
+   */
+  long version() {
+    return version.get();
+  }
+
+  /**
+   * @return the cached subscriptions of an address, or null if there are none or they expired
+   */
+  ChoosableIterable<ServerID> get(String address) {
+    Entry entry = entries.get(address);
+    if (entry == null) {
+      return null;
+    }
+    if (System.nanoTime() - entry.timestamp > maxAgeNanos) {
+      entries.remove(address, entry);
+      return null;
+    }
+    return entry.subs;
+  }
+
+  /**
+   * Cache the result of a lookup.
+   *
+   * @param version the value returned by {@link #version} before the lookup started
+   */
+  void put(String address, ChoosableIterable<ServerID> subs, long version) {
+    if (entries.size() >= MAX_SIZE) {
+      return;
+    }
+    Entry entry = new Entry(subs, System.nanoTime());
+    entries.put(address, entry);
+    // A change notified meanwhile increments the version before removing the entries, so either it is seen here or
+    // it removes the entry just added
+    if (this.version.get() != version) {
+      entries.remove(address, entry);
+    }
+  }
+
+  /**
+   * Drop all the entries.
+   */
+  void clear() {
+    version.incrementAndGet();
+    entries.clear();
+  }
+
+  /**
+   * Called when the subscriptions of an address changed, or with null when any address might have changed.
+   */
+  @Override
+  public void handle(String address) {
+    if (address == null) {
+      clear();
+    } else {
+      version.incrementAndGet();
+      entries.remove(address);
+    }
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private static final class Entry {
+
+    final ChoosableIterable<ServerID> subs;
+    final long timestamp;
+
+    private Entry(ChoosableIterable<ServerID> subs, long timestamp) {
+      this.subs = subs;
+      this.timestamp = timestamp;
+    }
+  }
+}
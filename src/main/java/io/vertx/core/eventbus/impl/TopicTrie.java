@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A set of address patterns organised as a trie of address segments, an address is made of segments separated by
+ * {@code .}. In a pattern a {@code *} segment matches exactly one segment and a last {@code #} segment matches zero
+ * or more segments, e.g. {@code orders.*.created} matches {@code orders.eu.created} and {@code orders.#} matches
+ * {@code orders} and {@code orders.eu.created}.
+ * <p>
+ * A pattern can be added several times, it is part of the set until it is removed as many times. The patterns
+ * matching an address are cached, the cache is dropped when the set changes or when it is full so that a lookup
+ * normally costs a hash of the address.
+ * <p>
+ * This class is thread-safe, lookups don't lock.
+ */
+class TopicTrie {
+
+  static final String ANY_SEGMENT = "*";
+  static final String ANY_SEGMENTS = "#";
+
+  private static final int MAX_CACHE_SIZE = 16 * 1024;
+
+  private final Node root = new Node();
+  private final ConcurrentMap<String, List<String>> cache = new ConcurrentHashMap<>();
+  private final AtomicLong version = new AtomicLong();
+  private volatile int size;
+
+  /**
+   * Check the pattern is valid.
+   *
+   * @throws IllegalArgumentException when a segment is empty, when a wildcard is not a whole segment or when
+   * {@code #} is not the last segment
+   */
+  static void checkPattern(String pattern) {
+    int start = 0;
+    while (true) {
+      int end = pattern.indexOf('.', start);
+      String segment = end == -1 ? pattern.substring(start) : pattern.substring(start, end);
+      if (segment.isEmpty()) {
+        throw new IllegalArgumentException("Invalid pattern " + pattern + ": empty segment");
+      }
+      if (segment.length() > 1 && (segment.indexOf('*') != -1 || segment.indexOf('#') != -1)) {
+        throw new IllegalArgumentException("Invalid pattern " + pattern + ": a wildcard must be a whole segment");
+      }
+      if (end == -1) {
+        return;
+      }
+      if (segment.equals(ANY_SEGMENTS)) {
+        throw new IllegalArgumentException("Invalid pattern " + pattern + ": # must be the last segment");
+      }
+      start = end + 1;
+    }
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  synchronized boolean contains(String pattern) {
+    Node node = root;
+    int start = 0;
+    while (node != null) {
+      int end = pattern.indexOf('.', start);
+      node = node.children.get(end == -1 ? pattern.substring(start) : pattern.substring(start, end));
+      if (end == -1) {
+        break;
+      }
+      start = end + 1;
+    }
+    return node != null && node.count > 0;
+  }
+
+  synchronized void add(String pattern) {
+    Node node = root;
+    int start = 0;
+    while (true) {
+      int end = pattern.indexOf('.', start);
+      String segment = end == -1 ? pattern.substring(start) : pattern.substring(start, end);
+      node = node.children.computeIfAbsent(segment, s -> new Node());
+      if (end == -1) {
+        break;
+      }
+      start = end + 1;
+    }
+    if (node.count++ == 0) {
+      node.pattern = pattern;
+      size++;
+      changed();
+    }
+  }
+
+  synchronized void remove(String pattern) {
+    List<Node> path = new ArrayList<>();
+    List<String> segments = new ArrayList<>();
+    Node node = root;
+    int start = 0;
+    while (node != null) {
+      path.add(node);
+      int end = pattern.indexOf('.', start);
+      String segment = end == -1 ? pattern.substring(start) : pattern.substring(start, end);
+      segments.add(segment);
+      node = node.children.get(segment);
+      if (end == -1) {
+        break;
+      }
+      start = end + 1;
+    }
+    if (node == null || node.count == 0) {
+      return;
+    }
+    if (--node.count == 0) {
+      node.pattern = null;
+      size--;
+      // Prune the nodes which don't lead to a pattern anymore
+      for (int i = path.size() - 1; i >= 0 && node.pattern == null && node.children.isEmpty(); i--) {
+        path.get(i).children.remove(segments.get(i));
+        node = path.get(i);
+      }
+      changed();
+    }
+  }
+
+  /**
+   * @return the patterns matching the address, the returned list must not be modified
+   */
+  List<String> match(String address) {
+    if (size == 0) {
+      return Collections.emptyList();
+    }
+    List<String> patterns = cache.get(address);
+    if (patterns == null) {
+      long v = version.get();
+      List<String> matched = new ArrayList<>(2);
+      match(root, address, 0, matched);
+      patterns = matched.isEmpty() ? Collections.emptyList() : matched;
+      if (cache.size() >= MAX_CACHE_SIZE) {
+        // Too many distinct addresses, start over instead of keeping the addresses seen first forever
+        cache.clear();
+      }
+      cache.put(address, patterns);
+      // A change made meanwhile increments the version before dropping the cache, so either it is seen here or
+      // it drops the entry just added
+      if (version.get() != v) {
+        cache.remove(address, patterns);
+      }
+    }
+    return patterns;
+  }
+
+  private static void match(Node node, String address, int start, List<String> matched) {
+    Node any = node.children.get(ANY_SEGMENTS);
+    if (any != null && any.pattern != null) {
+      matched.add(any.pattern);
+    }
+    if (start > address.length()) {
+      // All the segments have been matched
+      if (node.pattern != null) {
+        matched.add(node.pattern);
+      }
+      return;
+    }
+    int end = address.indexOf('.', start);
+    if (end == -1) {
+      end = address.length();
+    }
+    String segment = address.substring(start, end);
+    // A literal # segment would match the # child a second time
+    Node child = segment.equals(ANY_SEGMENTS) ? null : node.children.get(segment);
+    if (child != null) {
+      match(child, address, end + 1, matched);
+    }
+    if (!segment.equals(ANY_SEGMENT)) {
+      child = node.children.get(ANY_SEGMENT);
+      if (child != null) {
+        match(child, address, end + 1, matched);
+      }
+    }
+  }
+
+  private void changed() {
+    version.incrementAndGet();
+    cache.clear();
+  }
+
+  private static final class Node {
+
+    final ConcurrentMap<String, Node> children = new ConcurrentHashMap<>();
+    // Guarded by the trie, the pattern is only read by lookups
+    int count;
+    volatile String pattern;
+  }
+}
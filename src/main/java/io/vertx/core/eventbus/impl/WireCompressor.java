@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses and decompresses message bodies of a cluster connection with the JDK deflater.
+ * <p>
+ * An instance is used for one direction of one connection, the deflater or inflater is created lazily and reused
+ * for every message. It is not thread-safe, the compressing side must be used under the lock that orders the
+ * writes of the connection.
+ */
+class WireCompressor {
+
+  // Deflate can't compress more than 1032:1, a larger uncompressed length announced by the peer is bogus
+  static final int MAX_COMPRESSION_RATIO = 1032;
+
+  private final boolean compressAll;
+  private final int threshold;
+  private Deflater deflater;
+  private Inflater inflater;
+  private byte[] output;
+
+  /**
+   * @param compressAll  whether all the bodies above the threshold are compressed or only those of the messages
+   *                     asking for it
+   * @param threshold  the minimum size of a body to be compressed, in bytes
+   */
+  WireCompressor(boolean compressAll, int threshold) {
+    this.compressAll = compressAll;
+    this.threshold = threshold;
+  }
+
+  boolean shouldCompress(boolean requested, int length) {
+    return (compressAll || requested) && length >= threshold;
+  }
+
+  /**
+   * Compress {@code length} bytes of {@code buf} starting at {@code index}. The compressed bytes are available
+   * from {@link #output()}.
+   *
+   * @return the compressed length, or -1 when the compressed body would not be smaller
+   */
+  int compress(ByteBuf buf, int index, int length) {
+    if (deflater == null) {
+      deflater = new Deflater(Deflater.BEST_SPEED);
+    }
+    if (output == null || output.length < length) {
+      output = new byte[length];
+    }
+    deflater.reset();
+    if (buf.hasArray()) {
+      deflater.setInput(buf.array(), buf.arrayOffset() + index, length);
+    } else {
+      byte[] input = new byte[length];
+      buf.getBytes(index, input);
+      deflater.setInput(input);
+    }
+    deflater.finish();
+    int compressedLength = 0;
+    while (!deflater.finished()) {
+      if (compressedLength == length) {
+        // Not compressible enough
+        return -1;
+      }
+      compressedLength += deflater.deflate(output, compressedLength, length - compressedLength);
+    }
+    return compressedLength < length ? compressedLength : -1;
+  }
+
+  byte[] output() {
+    return output;
+  }
+
+  /**
+   * Decompress a body into a new buffer. The body is preceded by {@code offset} unused bytes.
+   *
+   * @throws IllegalStateException when the uncompressed length can't be the length of the compressed body, before
+   * anything is allocated
+   */
+  Buffer decompress(ByteBuf buf, int index, int length, int uncompressedLength, int offset) {
+    if (uncompressedLength < 0 || uncompressedLength > (long) length * MAX_COMPRESSION_RATIO
+      || (long) offset + uncompressedLength > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Invalid uncompressed body length " + uncompressedLength + " for " + length +
+        " compressed bytes");
+    }
+    if (inflater == null) {
+      inflater = new Inflater();
+    }
+    inflater.reset();
+    if (buf.hasArray()) {
+      inflater.setInput(buf.array(), buf.arrayOffset() + index, length);
+    } else {
+      byte[] input = new byte[length];
+      buf.getBytes(index, input);
+      inflater.setInput(input);
+    }
+    byte[] result = new byte[offset + uncompressedLength];
+    int pos = offset;
+    try {
+      while (pos < result.length) {
+        int n = inflater.inflate(result, pos, result.length - pos);
+        if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+          throw new IllegalStateException("Truncated compressed body");
+        }
+        pos += n;
+      }
+    } catch (DataFormatException e) {
+      throw new IllegalStateException("Invalid compressed body", e);
+    }
+    return Buffer.buffer(Unpooled.wrappedBuffer(result));
+  }
+
+  void close() {
+    if (deflater != null) {
+      deflater.end();
+    }
+    if (inflater != null) {
+      inflater.end();
+    }
+  }
+}
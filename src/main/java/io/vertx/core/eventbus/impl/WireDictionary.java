@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The per-connection string dictionary of the compact wire protocol.
+ * <p>
+ * A string is written as a varint code:
+ * <ul>
+ *   <li>{@code 0}: a literal string follows and is not added to the dictionary</li>
+ *   <li>{@code (id << 1) | 1}: a literal string follows and is added to the dictionary with the given id</li>
+ *   <li>{@code id << 1}: a reference to the string previously added with the given id</li>
+ * </ul>
+ * Ids are assigned sequentially from 1, so both ends must see the strings in the same order. Once the dictionary is
+ * full strings are sent as literals.
+ * <p>
+ * An instance is used either for writing or for reading. It is not thread-safe, the writer must be used under the
+ * lock that orders the writes of the connection.
+ */
+class WireDictionary {
+
+  static final int MAX_SIZE = 16 * 1024;
+
+  /**
+   * A writer sending all the strings as literals, for the frames which can be written out of order and thus can
+   * neither define nor reference entries.
+   */
+  static final WireDictionary LITERALS = new WireDictionary(true);
+
+  private final boolean literalsOnly;
+
+  // Write side
+  private final Map<String, Integer> ids = new HashMap<>();
+  // Read side, indexed by id - 1
+  private final List<String> strings = new ArrayList<>();
+
+  WireDictionary() {
+    this(false);
+  }
+
+  private WireDictionary(boolean literalsOnly) {
+    this.literalsOnly = literalsOnly;
+  }
+
+  void write(ByteBuf buf, String str) {
+    if (literalsOnly) {
+      writeLiteral(buf, str);
+      return;
+    }
+    Integer id = ids.get(str);
+    if (id != null) {
+      MessageImpl.writeVarInt(buf, id << 1);
+    } else if (ids.size() < MAX_SIZE) {
+      id = ids.size() + 1;
+      ids.put(str, id);
+      MessageImpl.writeVarInt(buf, (id << 1) | 1);
+      MessageImpl.writeVarString(buf, str);
+    } else {
+      writeLiteral(buf, str);
+    }
+  }
+
+  void writeLiteral(ByteBuf buf, String str) {
+    MessageImpl.writeVarInt(buf, 0);
+    MessageImpl.writeVarString(buf, str);
+  }
+
+  String read(ByteBuf buf) {
+    int code = MessageImpl.readVarInt(buf);
+    if (code == 0) {
+      return MessageImpl.readVarString(buf);
+    }
+    int id = code >>> 1;
+    if ((code & 1) != 0) {
+      if (id != strings.size() + 1) {
+        throw new IllegalStateException("Unexpected dictionary id " + id);
+      }
+      String str = MessageImpl.readVarString(buf);
+      strings.add(str);
+      return str;
+    } else {
+      if (id < 1 || id > strings.size()) {
+        throw new IllegalStateException("Unknown dictionary id " + id);
+      }
+      return strings.get(id - 1);
+    }
+  }
+}
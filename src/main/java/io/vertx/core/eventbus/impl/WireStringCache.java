@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+
+/**
+ * A fixed size cache of strings decoded from the wire, used for the strings that repeat constantly such as
+ * addresses, codec names, sender hosts and header names.
+ * <p>
+ * A lookup hashes the UTF-8 bytes in place and compares them with the cached entry, so a hit returns the
+ * cached string without allocating anything. A miss simply replaces the entry of its slot.
+ * <p>
+ * This class is thread-safe. Entries are immutable so a racy read sees either the old or the new entry.
+ */
+class WireStringCache {
+
+  private static final int MAX_CACHED_LENGTH = 256;
+
+  private final Entry[] entries;
+  private final int mask;
+
+  /**
+   * @param size the number of entries, must be a power of two
+   */
+  WireStringCache(int size) {
+    if (Integer.bitCount(size) != 1) {
+      throw new IllegalArgumentException("size must be a power of two");
+    }
+    entries = new Entry[size];
+    mask = size - 1;
+  }
+
+  String decode(ByteBuf buf, int index, int length) {
+    if (length == 0) {
+      return "";
+    }
+    if (length > MAX_CACHED_LENGTH) {
+      return buf.toString(index, length, CharsetUtil.UTF_8);
+    }
+    int hash = 1;
+    for (int i = index; i < index + length; i++) {
+      hash = 31 * hash + buf.getByte(i);
+    }
+    // Spread the bits as the low bits of short strings differ little
+    hash ^= (hash >>> 16);
+    int slot = hash & mask;
+    Entry entry = entries[slot];
+    if (entry != null && entry.hash == hash && entry.matches(buf, index, length)) {
+      return entry.value;
+    }
+    byte[] bytes = new byte[length];
+    buf.getBytes(index, bytes);
+    String value = new String(bytes, CharsetUtil.UTF_8);
+    entries[slot] = new Entry(hash, bytes, value);
+    return value;
+  }
+
+  private static final class Entry {
+
+    final int hash;
+    final byte[] bytes;
+    final String value;
+
+    Entry(int hash, byte[] bytes, String value) {
+      this.hash = hash;
+      this.bytes = bytes;
+      this.value = value;
+    }
+
+    boolean matches(ByteBuf buf, int index, int length) {
+      if (bytes.length != length) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (bytes[i] != buf.getByte(index + i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -16,10 +16,12 @@
 
 package io.vertx.core.eventbus.impl.codecs;
 
-import io.netty.util.CharsetUtil;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.MessageCodec;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.impl.Json;
+
+import java.util.Map;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -28,20 +30,17 @@ public class JsonObjectMessageCodec implements MessageCodec<JsonObject, JsonObje
 
   @Override
   public void encodeToWire(Buffer buffer, JsonObject jsonObject) {
-    String strJson = jsonObject.encode();
-    byte[] encoded = strJson.getBytes(CharsetUtil.UTF_8);
-    buffer.appendInt(encoded.length);
-    Buffer buff = Buffer.buffer(encoded);
-    buffer.appendBuffer(buff);
+    int lengthPos = buffer.length();
+    buffer.appendInt(0);
+    Json.encode(jsonObject, buffer);
+    buffer.setInt(lengthPos, buffer.length() - lengthPos - 4);
   }
 
   @Override
   public JsonObject decodeFromWire(int pos, Buffer buffer) {
     int length = buffer.getInt(pos);
     pos += 4;
-    byte[] encoded = buffer.getBytes(pos, pos + length);
-    String str = new String(encoded, CharsetUtil.UTF_8);
-    return new JsonObject(str);
+    return new JsonObject(Json.<Map>decodeValue(buffer, pos, pos + length, Map.class));
   }
 
   @Override
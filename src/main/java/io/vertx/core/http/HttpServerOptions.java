@@ -202,6 +202,12 @@ public class HttpServerOptions extends NetServerOptions {
     return this;
   }
 
+  @Override
+  public HttpServerOptions setReusePort(boolean reusePort) {
+    super.setReusePort(reusePort);
+    return this;
+  }
+
   public HttpServerOptions setPort(int port) {
     super.setPort(port);
     return this;
@@ -25,11 +25,12 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.FixedRecvByteBufAllocator;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.ChannelGroupFuture;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
@@ -84,6 +85,7 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -115,6 +117,10 @@ public class HttpServerImpl implements HttpServer, Closeable {
   private String serverOrigin;
 
   private ChannelGroup serverChannelGroup;
+  // With SO_REUSEPORT each event loop having handlers listens with its own channel, guarded by the shared servers
+  private final Map<EventLoop, Channel> acceptors = new HashMap<>();
+  private boolean reusePort;
+  private InetSocketAddress bindAddress;
   private volatile boolean listening;
   private ChannelFuture bindFuture;
   private ServerID id;
@@ -209,44 +215,19 @@ public class HttpServerImpl implements HttpServer, Closeable {
       HttpServerImpl shared = vertx.sharedHttpServers().get(id);
       if (shared == null) {
         serverChannelGroup = new DefaultChannelGroup("vertx-acceptor-channels", GlobalEventExecutor.INSTANCE);
-        ServerBootstrap bootstrap = new ServerBootstrap();
-        bootstrap.group(availableWorkers);
-        bootstrap.channel(NioServerSocketChannel.class);
-        applyConnectionOptions(bootstrap);
+        reusePort = options.isReusePort() && port != 0 && vertx.transport().reusePortOption() != null;
         sslHelper.validate(vertx);
-        bootstrap.childHandler(new ChannelInitializer<Channel>() {
-            @Override
-            protected void initChannel(Channel ch) throws Exception {
-              if (requestStream.isPaused() || wsStream.isPaused()) {
-                ch.close();
-                return;
-              }
-              ChannelPipeline pipeline = ch.pipeline();
-              if (sslHelper.isSSL()) {
-                pipeline.addLast("ssl", sslHelper.createSslHandler(vertx, false));
-              }
-              pipeline.addLast("flashpolicy", new FlashPolicyHandler());
-              pipeline.addLast("httpDecoder", new HttpRequestDecoder(4096, 8192, 8192, false));
-              pipeline.addLast("httpEncoder", new VertxHttpResponseEncoder());
-              if (options.isCompressionSupported()) {
-                pipeline.addLast("deflater", new HttpChunkContentCompressor());
-              }
-              if (sslHelper.isSSL() || options.isCompressionSupported()) {
-                // only add ChunkedWriteHandler when SSL is enabled otherwise it is not needed as FileRegion is used.
-                pipeline.addLast("chunkedWriter", new ChunkedWriteHandler());       // For large file / sendfile support
-              }
-              if (options.getIdleTimeout() > 0) {
-                pipeline.addLast("idle", new IdleStateHandler(0, 0, options.getIdleTimeout()));
-              }
-              pipeline.addLast("handler", new ServerHandler());
-            }
-        });
+        ServerBootstrap bootstrap = createBootstrap(reusePort ? listenContext.getEventLoop() : availableWorkers);
 
         addHandlers(this, listenContext);
         try {
-          bindFuture = bootstrap.bind(new InetSocketAddress(InetAddress.getByName(host), port));
+          bindAddress = new InetSocketAddress(InetAddress.getByName(host), port);
+          bindFuture = bootstrap.bind(bindAddress);
           Channel serverChannel = bindFuture.channel();
           serverChannelGroup.add(serverChannel);
+          if (reusePort) {
+            acceptors.put(listenContext.getEventLoop(), serverChannel);
+          }
           bindFuture.addListener(channelFuture -> {
               if (!channelFuture.isSuccess()) {
                 vertx.sharedHttpServers().remove(id);
@@ -271,6 +252,9 @@ public class HttpServerImpl implements HttpServer, Closeable {
         // Server already exists with that host/port - we will use that
         actualServer = shared;
         addHandlers(actualServer, listenContext);
+        if (actualServer.reusePort) {
+          actualServer.addAcceptor(listenContext.getEventLoop());
+        }
         metrics.listening(new SocketAddressImpl(port, host));
       }
       actualServer.bindFuture.addListener(future -> {
@@ -354,6 +338,9 @@ public class HttpServerImpl implements HttpServer, Closeable {
 
         if (actualServer.reqHandlerManager.hasHandlers() || actualServer.wsHandlerManager.hasHandlers()) {
           // The actual server still has handlers so we don't actually close it
+          if (actualServer.reusePort) {
+            actualServer.removeAcceptor(listenContext.getEventLoop());
+          }
           if (done != null) {
             executeCloseDone(context, done, null);
           }
@@ -391,6 +378,68 @@ public class HttpServerImpl implements HttpServer, Closeable {
     connectionMap.remove(channel);
   }
 
+  private ServerBootstrap createBootstrap(EventLoopGroup group) {
+    ServerBootstrap bootstrap = new ServerBootstrap();
+    bootstrap.group(group);
+    bootstrap.channel(vertx.transport().serverChannelType());
+    applyConnectionOptions(bootstrap);
+    if (reusePort) {
+      bootstrap.option(vertx.transport().reusePortOption(), true);
+    }
+    bootstrap.childHandler(new ChannelInitializer<Channel>() {
+        @Override
+        protected void initChannel(Channel ch) throws Exception {
+          if (requestStream.isPaused() || wsStream.isPaused()) {
+            ch.close();
+            return;
+          }
+          ChannelPipeline pipeline = ch.pipeline();
+          if (sslHelper.isSSL()) {
+            pipeline.addLast("ssl", sslHelper.createSslHandler(vertx, false));
+          }
+          pipeline.addLast("flashpolicy", new FlashPolicyHandler());
+          pipeline.addLast("httpDecoder", new HttpRequestDecoder(4096, 8192, 8192, false));
+          pipeline.addLast("httpEncoder", new VertxHttpResponseEncoder());
+          if (options.isCompressionSupported()) {
+            pipeline.addLast("deflater", new HttpChunkContentCompressor());
+          }
+          if (sslHelper.isSSL() || options.isCompressionSupported()) {
+            // only add ChunkedWriteHandler when SSL is enabled otherwise it is not needed as FileRegion is used.
+            pipeline.addLast("chunkedWriter", new ChunkedWriteHandler());       // For large file / sendfile support
+          }
+          if (options.getIdleTimeout() > 0) {
+            pipeline.addLast("idle", new IdleStateHandler(0, 0, options.getIdleTimeout()));
+          }
+          pipeline.addLast("handler", new ServerHandler());
+        }
+    });
+    return bootstrap;
+  }
+
+  // Called with the shared servers lock, the channels accepted by the acceptor of an event loop stay on it
+  private void addAcceptor(EventLoop eventLoop) {
+    if (!acceptors.containsKey(eventLoop) && !(bindFuture.isDone() && !bindFuture.isSuccess())) {
+      ChannelFuture future = createBootstrap(eventLoop).bind(bindAddress);
+      acceptors.put(eventLoop, future.channel());
+      serverChannelGroup.add(future.channel());
+      future.addListener(f -> {
+        if (!f.isSuccess()) {
+          log.error("HTTP server failed to listen on " + bindAddress + " from another event loop", f.cause());
+        }
+      });
+    }
+  }
+
+  // Called with the shared servers lock
+  private void removeAcceptor(EventLoop eventLoop) {
+    if (!reqHandlerManager.hasHandlers(eventLoop) && !wsHandlerManager.hasHandlers(eventLoop)) {
+      Channel acceptor = acceptors.remove(eventLoop);
+      if (acceptor != null) {
+        acceptor.close();
+      }
+    }
+  }
+
   private void applyConnectionOptions(ServerBootstrap bootstrap) {
     bootstrap.childOption(ChannelOption.TCP_NODELAY, options.isTcpNoDelay());
     if (options.getSendBufferSize() != -1) {
@@ -52,11 +52,13 @@ public abstract class ContextImpl implements Context {
   private boolean closed;
   private final EventLoop eventLoop;
   protected final Executor orderedInternalPoolExec;
+  protected final Executor internalPoolExec;
   protected VertxThread contextThread;
 
-  protected ContextImpl(VertxInternal vertx, Executor orderedInternalPoolExec, String deploymentID, JsonObject config,
-                        ClassLoader tccl) {
+  protected ContextImpl(VertxInternal vertx, Executor orderedInternalPoolExec, Executor internalPoolExec,
+                        String deploymentID, JsonObject config, ClassLoader tccl) {
     this.orderedInternalPoolExec = orderedInternalPoolExec;
+    this.internalPoolExec = internalPoolExec;
     this.deploymentID = deploymentID;
     this.config = config;
     EventLoopGroup group = vertx.getEventLoopGroup();
@@ -170,6 +172,37 @@ public abstract class ContextImpl implements Context {
 
   protected abstract void checkCorrectThread();
 
+  /**
+   * Run the task right away when the current thread is the event loop of this event loop context and fewer than
+   * {@code maxDepth} tasks are already being run this way on the thread.
+   *
+   * @return true if the task has been run, false if it must be run asynchronously instead
+   */
+  public boolean executeInline(Handler<Void> task, int maxDepth) {
+    Thread current = Thread.currentThread();
+    if (!isEventLoopContext() || !(current instanceof VertxThread) || !eventLoop.inEventLoop()) {
+      return false;
+    }
+    VertxThread thread = (VertxThread) current;
+    int depth = thread.inlineDepth();
+    if (depth >= maxDepth) {
+      return false;
+    }
+    ContextImpl prev = thread.getContext();
+    // The task runs within the task of the caller, which the blocked thread checker keeps timing
+    thread.setInlineDepth(depth + 1);
+    try {
+      setContext(this);
+      task.handle(null);
+    } catch (Throwable t) {
+      reportException(t);
+    } finally {
+      thread.setInlineDepth(depth);
+      setContext(prev);
+    }
+    return true;
+  }
+
   // Run the task asynchronously on this same context
   public void runOnContext(Handler<Void> task) {
     try {
@@ -207,9 +240,21 @@ public abstract class ContextImpl implements Context {
     executeBlocking(null, blockingCodeHandler, resultHandler);
   }
 
+  public <T> void executeBlocking(Handler<Future<T>> blockingCodeHandler, boolean ordered,
+                                  Handler<AsyncResult<T>> resultHandler) {
+    executeBlocking(null, blockingCodeHandler, ordered, resultHandler);
+  }
+
   public <T> void executeBlocking(Action<T> action, Handler<Future<T>> blockingCodeHandler, Handler<AsyncResult<T>> resultHandler) {
+    executeBlocking(action, blockingCodeHandler, true, resultHandler);
+  }
+
+  // Unordered tasks go straight to the pool behind the ordered executor, so they can run in parallel
+  private <T> void executeBlocking(Action<T> action, Handler<Future<T>> blockingCodeHandler, boolean ordered,
+                                   Handler<AsyncResult<T>> resultHandler) {
     try {
-      orderedInternalPoolExec.execute(() -> {
+      Executor exec = ordered ? orderedInternalPoolExec : internalPoolExec;
+      exec.execute(() -> {
         Future<T> res = Future.future();
         try {
           if (blockingCodeHandler != null) {
@@ -226,8 +271,12 @@ public abstract class ContextImpl implements Context {
           runOnContext(v -> res.setHandler(resultHandler));
         }
       });
-    } catch (RejectedExecutionException ignore) {
-      // Pool is already shut down
+    } catch (RejectedExecutionException e) {
+      // Pool is already shut down or its queue is full
+      if (resultHandler != null) {
+        // The tasks of the context are not bounded, the failure is delivered unless the pool is shut down
+        runOnContext(v -> resultHandler.handle(Future.failedFuture(e)));
+      }
     } finally {
       if (blockingCodeHandler != null) {
         unsetContext();
@@ -263,6 +312,14 @@ public abstract class ContextImpl implements Context {
     contextThread.executeEnd();
   }
 
+  /**
+   * Report an exception thrown by a task of this context, the tasks run inline and the tasks run asynchronously
+   * report it the same way.
+   */
+  public void reportException(Throwable t) {
+    log.error("Unhandled exception", t);
+  }
+
   protected Runnable wrapTask(ContextTask cTask, Handler<Void> hTask, boolean checkThread) {
     return () -> {
       if (checkThread) {
@@ -276,7 +333,7 @@ public abstract class ContextImpl implements Context {
           hTask.handle(null);
         }
       } catch (Throwable t) {
-        log.error("Unhandled exception", t);
+        reportException(t);
       } finally {
         // TODO - we might have to restore the thread name in case it's been changed during the execution
         if (checkThread) {
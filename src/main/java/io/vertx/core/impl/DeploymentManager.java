@@ -401,6 +401,7 @@ public class DeploymentManager {
     if (options.isMultiThreaded() && !options.isWorker()) {
       throw new IllegalArgumentException("If multi-threaded then must be worker too");
     }
+    WorkerPool workerPool = vertx.resolveWorkerPool(options);
     JsonObject conf = options.getConfig() == null ? new JsonObject() : options.getConfig().copy(); // Copy it
 
     DeploymentImpl deployment = new DeploymentImpl(deploymentID, identifier, options, redeployer, parentContext);
@@ -413,8 +414,9 @@ public class DeploymentManager {
     AtomicInteger deployCount = new AtomicInteger();
     AtomicBoolean failureReported = new AtomicBoolean();
     for (Verticle verticle: verticles) {
-      ContextImpl context = options.isWorker() ? vertx.createWorkerContext(options.isMultiThreaded(), deploymentID, conf, tccl) :
-        vertx.createEventLoopContext(deploymentID, conf, tccl);
+      ContextImpl context = options.isWorker() ?
+        vertx.createWorkerContext(options.isMultiThreaded(), deploymentID, workerPool, conf, tccl) :
+        vertx.createEventLoopContext(deploymentID, workerPool, conf, tccl);
       context.setDeployment(deployment);
       deployment.addVerticle(new VerticleHolder(verticle, context));
       context.runOnContext(v -> {
@@ -32,9 +32,9 @@ public class EventLoopContext extends ContextImpl {
 
   private static final Logger log = LoggerFactory.getLogger(EventLoopContext.class);
 
-  public EventLoopContext(VertxInternal vertx, Executor bgExec, String deploymentID, JsonObject config,
-                          ClassLoader tccl) {
-    super(vertx, bgExec, deploymentID, config, tccl);
+  public EventLoopContext(VertxInternal vertx, Executor orderedBgExec, Executor bgExec, String deploymentID,
+                          JsonObject config, ClassLoader tccl) {
+    super(vertx, orderedBgExec, bgExec, deploymentID, config, tccl);
   }
 
   public void executeAsync(Handler<Void> task) {
@@ -26,9 +26,9 @@ import java.util.concurrent.Executor;
  */
 public class MultiThreadedWorkerContext extends WorkerContext {
 
-  public MultiThreadedWorkerContext(VertxInternal vertx, Executor orderedInternalExec, Executor workerExec,
-                                    String deploymentID, JsonObject config, ClassLoader tccl) {
-    super(vertx, orderedInternalExec, workerExec, deploymentID, config, tccl);
+  public MultiThreadedWorkerContext(VertxInternal vertx, Executor orderedInternalExec, Executor internalExec,
+                                    Executor workerExec, String deploymentID, JsonObject config, ClassLoader tccl) {
+    super(vertx, orderedInternalExec, internalExec, workerExec, deploymentID, config, tccl);
   }
 
   @Override
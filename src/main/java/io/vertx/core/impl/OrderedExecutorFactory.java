@@ -20,8 +20,11 @@ package io.vertx.core.impl;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.impl.LoggerFactory;
 
-import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A factory for producing executors that run all tasks in order, which delegate to a single common executor instance.
@@ -58,13 +61,16 @@ public class OrderedExecutorFactory {
    * <p/>
    * More specifically, any call B to the {@link #execute(Runnable)} method that happens-after another call A to the
    * same method, will result in B's task running after A's.
+   * <p/>
+   * The tasks are queued in a lock-free queue, the parent executor is only given a task when the executor goes from
+   * idle to running so a burst of tasks costs a single submission to the parent.
    */
   private static final class OrderedExecutor implements Executor {
-    // @protectedby tasks
-    private final LinkedList<Runnable> tasks = new LinkedList<>();
 
-    // @protectedby tasks
-    private boolean running;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    // Set by the thread that schedules the runner, reset by the runner once the tasks have been drained
+    private final AtomicBoolean running = new AtomicBoolean();
 
     private final Executor parent;
 
@@ -79,18 +85,18 @@ public class OrderedExecutorFactory {
       this.parent = parent;
       runner = () -> {
         for (; ; ) {
-          final Runnable task;
-          synchronized (tasks) {
-            task = tasks.poll();
-            if (task == null) {
-              running = false;
-              return;
+          Runnable task;
+          while ((task = tasks.poll()) != null) {
+            try {
+              task.run();
+            } catch (Throwable t) {
+              log.error("Caught unexpected Throwable", t);
             }
           }
-          try {
-            task.run();
-          } catch (Throwable t) {
-            log.error("Caught unexpected Throwable", t);
+          running.set(false);
+          // A task added after the last poll but before the reset has not scheduled the runner
+          if (tasks.isEmpty() || !running.compareAndSet(false, true)) {
+            return;
           }
         }
       };
@@ -102,11 +108,35 @@ public class OrderedExecutorFactory {
      * @param command the task to run.
      */
     public void execute(Runnable command) {
-      synchronized (tasks) {
-        tasks.add(command);
-        if (!running) {
-          running = true;
+      tasks.add(command);
+      if (running.compareAndSet(false, true)) {
+        try {
           parent.execute(runner);
+        } catch (RejectedExecutionException e) {
+          tasks.remove(command);
+          running.set(false);
+          scheduleRemaining();
+          throw e;
+        }
+      }
+    }
+
+    // The tasks added while the runner was being rejected saw the executor running and did not schedule it
+    private void scheduleRemaining() {
+      while (!tasks.isEmpty() && running.compareAndSet(false, true)) {
+        try {
+          parent.execute(runner);
+          return;
+        } catch (RejectedExecutionException e) {
+          // Their callers already returned, the tasks can only be dropped
+          int dropped = 0;
+          while (tasks.poll() != null) {
+            dropped++;
+          }
+          running.set(false);
+          if (dropped > 0) {
+            log.error("Dropped " + dropped + " task(s) rejected by the executor", e);
+          }
         }
       }
     }
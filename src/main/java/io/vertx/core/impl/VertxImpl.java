@@ -18,7 +18,6 @@ package io.vertx.core.impl;
 
 import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.ResourceLeakDetector;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
@@ -29,6 +28,7 @@ import io.vertx.core.TimeoutStream;
 import io.vertx.core.Verticle;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
+import io.vertx.core.WorkerPoolOptions;
 import io.vertx.core.datagram.DatagramSocket;
 import io.vertx.core.datagram.DatagramSocketOptions;
 import io.vertx.core.datagram.impl.DatagramSocketImpl;
@@ -57,6 +57,7 @@ import io.vertx.core.net.NetServerOptions;
 import io.vertx.core.net.impl.NetClientImpl;
 import io.vertx.core.net.impl.NetServerImpl;
 import io.vertx.core.net.impl.ServerID;
+import io.vertx.core.net.impl.Transport;
 import io.vertx.core.shareddata.SharedData;
 import io.vertx.core.shareddata.impl.SharedDataImpl;
 import io.vertx.core.spi.VerticleFactory;
@@ -75,6 +76,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -86,6 +89,8 @@ public class VertxImpl implements VertxInternal {
 
   private static final Logger log = LoggerFactory.getLogger(VertxImpl.class);
 
+  private static final long ELASTIC_WORKER_KEEP_ALIVE = 60;
+
   static {
     // Netty resource leak detection has a performance overhead and we do not need it in Vert.x
     ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.DISABLED);
@@ -107,6 +112,9 @@ public class VertxImpl implements VertxInternal {
   private final ExecutorService internalBlockingPool;
   private final OrderedExecutorFactory workerOrderedFact;
   private final OrderedExecutorFactory internalOrderedFact;
+  private final WorkerPool elasticWorkerPool;
+  private final Map<String, WorkerPool> workerPools = new HashMap<>();
+  private final Transport transport;
   private final EventLoopGroup eventLoopGroup;
   private final BlockedThreadChecker checker;
   private final boolean haEnabled;
@@ -125,17 +133,31 @@ public class VertxImpl implements VertxInternal {
   VertxImpl(VertxOptions options, Handler<AsyncResult<Vertx>> resultHandler) {
     checker = new BlockedThreadChecker(options.getBlockedThreadCheckPeriod(), options.getMaxEventLoopExecuteTime(),
                                        options.getMaxWorkerExecuteTime());
-    eventLoopGroup = new NioEventLoopGroup(options.getEventLoopPoolSize(),
-                                           new VertxThreadFactory("vert.x-eventloop-thread-", checker, false));
+    transport = transport(options);
+    eventLoopGroup = transport.eventLoopGroup(options.getEventLoopPoolSize(),
+                                              new VertxThreadFactory("vert.x-eventloop-thread-", checker, false));
     workerPool = Executors.newFixedThreadPool(options.getWorkerPoolSize(),
                                               new VertxThreadFactory("vert.x-worker-thread-", checker, true));
     internalBlockingPool = Executors.newFixedThreadPool(options.getInternalBlockingPoolSize(),
                                                         new VertxThreadFactory("vert.x-internal-blocking-", checker, true));
     workerOrderedFact = new OrderedExecutorFactory(workerPool);
     internalOrderedFact = new OrderedExecutorFactory(internalBlockingPool);
+    // A thread is started for each task until the pool is full, the idle threads are stopped
+    ThreadPoolExecutor elasticPool = new ThreadPoolExecutor(options.getElasticWorkerPoolSize(),
+      options.getElasticWorkerPoolSize(), ELASTIC_WORKER_KEEP_ALIVE, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+      new VertxThreadFactory("vert.x-elastic-worker-thread-", checker, true));
+    elasticPool.allowCoreThreadTimeOut(true);
+    elasticWorkerPool = new WorkerPool("elastic", elasticPool);
     this.fileResolver = new FileResolver(this);
     this.deploymentManager = new DeploymentManager(this);
     this.metrics = initialiseMetrics(options);
+    // The names have been checked by the options
+    for (WorkerPoolOptions poolOptions : options.getWorkerPools()) {
+      String name = poolOptions.getName();
+      workerPools.put(name, new WorkerPool(poolOptions,
+                                           new VertxThreadFactory("vert.x-worker-pool-" + name + "-thread-", checker, true),
+                                           metrics.createMetrics(poolOptions)));
+    }
     this.haEnabled = options.isClustered() && options.isHAEnabled();
     if (options.isClustered()) {
       this.clusterManager = getClusterManager(options);
@@ -167,8 +189,7 @@ public class VertxImpl implements VertxInternal {
                 ServerID serverID = new ServerID(serverPort, serverHost);
                 // Provide a memory barrier as we are setting from a different thread
                 synchronized (VertxImpl.this) {
-                  eventBus = new EventBusImpl(this, options.getClusterPingInterval(), options.getClusterPingReplyInterval(),
-                    clusterManager, subs, serverID, ebServer);
+                  eventBus = new EventBusImpl(this, options, clusterManager, subs, serverID, ebServer);
                 }
                 if (resultHandler != null) {
                   resultHandler.handle(Future.succeededFuture(this));
@@ -194,7 +215,7 @@ public class VertxImpl implements VertxInternal {
     } else {
       this.clusterManager = null;
       this.sharedData = new SharedDataImpl(this, null);
-      this.eventBus = new EventBusImpl(this);
+      this.eventBus = new EventBusImpl(this, options);
       if (resultHandler != null) {
         // TODO shouldn't this be run async?
         resultHandler.handle(Future.succeededFuture(this));
@@ -306,6 +327,27 @@ public class VertxImpl implements VertxInternal {
     return eventLoopGroup;
   }
 
+  @Override
+  public Transport transport() {
+    return transport;
+  }
+
+  @Override
+  public boolean isNativeTransportEnabled() {
+    return transport.isNative();
+  }
+
+  private static Transport transport(VertxOptions options) {
+    if (options.isPreferNativeTransport()) {
+      Transport nativeTransport = Transport.nativeTransport();
+      if (nativeTransport != null) {
+        return nativeTransport;
+      }
+      log.warn("The native transport is not available, falling back to NIO");
+    }
+    return Transport.NIO;
+  }
+
   public ContextImpl getOrCreateContext() {
     ContextImpl ctx = getContext();
     if (ctx == null) {
@@ -347,7 +389,30 @@ public class VertxImpl implements VertxInternal {
   }
 
   public EventLoopContext createEventLoopContext(String deploymentID, JsonObject config, ClassLoader tccl) {
-    return new EventLoopContext(this, workerOrderedFact.getExecutor(), deploymentID, config, tccl);
+    return createEventLoopContext(deploymentID, null, config, tccl);
+  }
+
+  public EventLoopContext createEventLoopContext(String deploymentID, WorkerPool pool, JsonObject config,
+                                                 ClassLoader tccl) {
+    if (pool != null) {
+      return new EventLoopContext(this, pool.createOrderedExecutor(), pool.executor(), deploymentID, config, tccl);
+    } else {
+      return new EventLoopContext(this, workerOrderedFact.getExecutor(), workerPool, deploymentID, config, tccl);
+    }
+  }
+
+  public WorkerPool resolveWorkerPool(DeploymentOptions options) {
+    if (options.getWorkerPoolName() != null) {
+      if (options.isElasticWorker()) {
+        throw new IllegalArgumentException("A deployment can't use both a named worker pool and the elastic worker pool");
+      }
+      WorkerPool pool = workerPools.get(options.getWorkerPoolName());
+      if (pool == null) {
+        throw new IllegalArgumentException("Unknown worker pool " + options.getWorkerPoolName());
+      }
+      return pool;
+    }
+    return options.isElasticWorker() ? elasticWorkerPool : null;
   }
 
   @Override
@@ -408,13 +473,23 @@ public class VertxImpl implements VertxInternal {
     return timerId;
   }
 
-  public ContextImpl createWorkerContext(boolean multiThreaded, String deploymentID, JsonObject config,
-                                         ClassLoader tccl) {
-    if (multiThreaded) {
-      return new MultiThreadedWorkerContext(this, internalOrderedFact.getExecutor(), workerPool, deploymentID, config, tccl);
+  public ContextImpl createWorkerContext(boolean multiThreaded, String deploymentID, WorkerPool pool,
+                                         JsonObject config, ClassLoader tccl) {
+    if (pool != null) {
+      // The tasks and the blocking code use distinct ordered executors so that they don't wait for each other
+      if (multiThreaded) {
+        return new MultiThreadedWorkerContext(this, pool.createOrderedExecutor(), pool.executor(),
+                                              pool.taskExecutor(), deploymentID, config, tccl);
+      } else {
+        return new WorkerContext(this, pool.createOrderedExecutor(), pool.executor(),
+                                 pool.createOrderedTaskExecutor(), deploymentID, config, tccl);
+      }
+    } else if (multiThreaded) {
+      return new MultiThreadedWorkerContext(this, internalOrderedFact.getExecutor(), internalBlockingPool, workerPool,
+                                            deploymentID, config, tccl);
     } else {
-      return new WorkerContext(this, internalOrderedFact.getExecutor(), workerOrderedFact.getExecutor(), deploymentID,
-                               config, tccl);
+      return new WorkerContext(this, internalOrderedFact.getExecutor(), internalBlockingPool,
+                               workerOrderedFact.getExecutor(), deploymentID, config, tccl);
     }
   }
 
@@ -465,6 +540,10 @@ public class VertxImpl implements VertxInternal {
 
           workerPool.shutdownNow();
           internalBlockingPool.shutdownNow();
+          elasticWorkerPool.close();
+          for (WorkerPool pool : workerPools.values()) {
+            pool.close();
+          }
           eventLoopGroup.shutdownNow();
 
           if (metrics != null) {
@@ -580,6 +659,13 @@ public class VertxImpl implements VertxInternal {
     context.executeBlocking(blockingCodeHandler, asyncResultHandler);
   }
 
+  @Override
+  public <T> void executeBlocking(Handler<Future<T>> blockingCodeHandler, boolean ordered,
+                                  Handler<AsyncResult<T>> asyncResultHandler) {
+    ContextImpl context = getOrCreateContext();
+    context.executeBlocking(blockingCodeHandler, ordered, asyncResultHandler);
+  }
+
   // For testing
   public void simulateKill() {
     if (haManager() != null) {
@@ -18,12 +18,14 @@ package io.vertx.core.impl;
 
 
 import io.netty.channel.EventLoopGroup;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Handler;
 import io.vertx.core.http.impl.HttpServerImpl;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.spi.metrics.VertxMetrics;
 import io.vertx.core.net.impl.NetServerImpl;
 import io.vertx.core.net.impl.ServerID;
+import io.vertx.core.net.impl.Transport;
 import io.vertx.core.spi.cluster.VertxSPI;
 
 import java.io.File;
@@ -44,6 +46,11 @@ public interface VertxInternal extends VertxSPI {
 
   EventLoopGroup getEventLoopGroup();
 
+  /**
+   * @return the transport of the event loops, the channels must be created with it
+   */
+  Transport transport();
+
   ExecutorService getWorkerPool();
 
   Map<ServerID, HttpServerImpl> sharedHttpServers();
@@ -64,9 +71,23 @@ public interface VertxInternal extends VertxSPI {
   EventLoopContext createEventLoopContext(String deploymentID, JsonObject config, ClassLoader tccl);
 
   /**
-   * @return worker loop context
+   * @return event loop context executing its blocking code on the worker pool, or on the Vert.x worker pool when
+   * {@code workerPool} is null
+   */
+  EventLoopContext createEventLoopContext(String deploymentID, WorkerPool workerPool, JsonObject config, ClassLoader tccl);
+
+  /**
+   * @return worker loop context running on the worker pool, or on the Vert.x worker pool when {@code workerPool} is
+   * null
+   */
+  ContextImpl createWorkerContext(boolean multiThreaded, String deploymentID, WorkerPool workerPool, JsonObject config,
+                                  ClassLoader tccl);
+
+  /**
+   * @return the worker pool selected by the deployment options, or null for the Vert.x worker pool
+   * @throws IllegalArgumentException when the worker pool does not exist
    */
-  ContextImpl createWorkerContext(boolean multiThreaded, String deploymentID, JsonObject config, ClassLoader tccl);
+  WorkerPool resolveWorkerPool(DeploymentOptions options);
 
   void simulateKill();
 
@@ -24,6 +24,7 @@ final class VertxThread extends Thread {
   private final boolean worker;
   private ContextImpl context;
   private long execStart;
+  private int inlineDepth;
 
   public VertxThread(Runnable target, String name, boolean worker) {
     super(target, name);
@@ -54,4 +55,12 @@ final class VertxThread extends Thread {
     return worker;
   }
 
+  int inlineDepth() {
+    return inlineDepth;
+  }
+
+  void setInlineDepth(int inlineDepth) {
+    this.inlineDepth = inlineDepth;
+  }
+
 }
@@ -30,9 +30,9 @@ public class WorkerContext extends ContextImpl {
 
   protected final Executor workerExec;
 
-  public WorkerContext(VertxInternal vertx, Executor orderedInternalPoolExec, Executor workerExec, String deploymentID,
-                       JsonObject config, ClassLoader tccl) {
-    super(vertx, orderedInternalPoolExec, deploymentID, config, tccl);
+  public WorkerContext(VertxInternal vertx, Executor orderedInternalPoolExec, Executor internalPoolExec,
+                       Executor workerExec, String deploymentID, JsonObject config, ClassLoader tccl) {
+    super(vertx, orderedInternalPoolExec, internalPoolExec, deploymentID, config, tccl);
     this.workerExec = workerExec;
   }
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.impl;
+
+import io.vertx.core.WorkerPoolOptions;
+import io.vertx.core.spi.metrics.WorkerPoolMetrics;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of worker threads used instead of the Vert.x worker pool by the contexts of some deployments, it provides
+ * both the executors of the blocking code and the executors of the tasks of the contexts.
+ * <p>
+ * The queue of a named pool only bounds the blocking code, per task: the blocking code waiting in an ordered executor
+ * counts like the blocking code waiting in the pool itself, until a thread starts running it. The tasks of the
+ * contexts, e.g. the messages delivered to a worker verticle, are never rejected because the pool is busy.
+ */
+public class WorkerPool {
+
+  private final String name;
+  private final ExecutorService pool;
+  private final OrderedExecutorFactory orderedFact;
+  private final WorkerPoolMetrics metrics;
+  private final int maxQueueSize;
+  private final AtomicInteger queued = new AtomicInteger();
+  private final Executor executor;
+
+  WorkerPool(String name, ExecutorService pool) {
+    this.name = name;
+    this.pool = pool;
+    this.orderedFact = new OrderedExecutorFactory(pool);
+    this.metrics = null;
+    this.maxQueueSize = Integer.MAX_VALUE;
+    this.executor = pool;
+  }
+
+  /**
+   * Create a named worker pool with a bounded queue, reporting its queue size to the metrics.
+   */
+  WorkerPool(WorkerPoolOptions options, ThreadFactory threadFactory, WorkerPoolMetrics metrics) {
+    this.name = options.getName();
+    // The tasks are bounded before they reach the pool
+    this.pool = new ThreadPoolExecutor(options.getPoolSize(), options.getPoolSize(), 0L, TimeUnit.MILLISECONDS,
+                                       new LinkedBlockingQueue<>(), threadFactory);
+    this.orderedFact = new OrderedExecutorFactory(pool);
+    this.metrics = metrics;
+    this.maxQueueSize = options.getMaxQueueSize();
+    this.executor = task -> execute(pool, task);
+  }
+
+  String name() {
+    return name;
+  }
+
+  /**
+   * @return the executor running blocking code in any order
+   */
+  Executor executor() {
+    return executor;
+  }
+
+  /**
+   * @return a new executor running blocking code in order
+   */
+  Executor createOrderedExecutor() {
+    Executor ordered = orderedFact.getExecutor();
+    return metrics == null ? ordered : task -> execute(ordered, task);
+  }
+
+  /**
+   * @return the executor running the tasks of multi-threaded worker contexts
+   */
+  Executor taskExecutor() {
+    return pool;
+  }
+
+  /**
+   * @return a new executor running the tasks of a worker context in order
+   */
+  Executor createOrderedTaskExecutor() {
+    return orderedFact.getExecutor();
+  }
+
+  void close() {
+    pool.shutdownNow();
+    if (metrics != null) {
+      metrics.close();
+    }
+  }
+
+  private void execute(Executor target, Runnable task) {
+    if (pool.isShutdown()) {
+      throw new RejectedExecutionException("Worker pool " + name + " is closed");
+    }
+    int size = queued.incrementAndGet();
+    if (size > maxQueueSize) {
+      queued.decrementAndGet();
+      metrics.taskRejected();
+      throw new RejectedExecutionException("Worker pool " + name + " queue is full");
+    }
+    metrics.queueChanged(size);
+    try {
+      target.execute(() -> {
+        metrics.queueChanged(queued.decrementAndGet());
+        task.run();
+      });
+    } catch (RejectedExecutionException e) {
+      metrics.queueChanged(queued.decrementAndGet());
+      throw e;
+    }
+  }
+}
@@ -41,6 +41,7 @@ import java.util.stream.Stream;
 public class JsonArray implements Iterable<Object>, ClusterSerializable {
 
   private List<Object> list;
+  private boolean readOnly;
 
   /**
    * Create an instance from a String of JSON
@@ -67,6 +68,11 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
     this.list = list;
   }
 
+  JsonArray(List list, boolean readOnly) {
+    this.list = list;
+    this.readOnly = readOnly;
+  }
+
   /**
    * Get the String at position {@code pos} in the array,
    *
@@ -170,11 +176,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @throws java.lang.ClassCastException if the value cannot be converted to JsonObject
    */
   public JsonObject getJsonObject(int pos) {
-    Object val = list.get(pos);
-    if (val instanceof Map) {
-      val = new JsonObject((Map)val);
-    }
-    return (JsonObject)val;
+    return (JsonObject)JsonObject.wrap(list.get(pos), readOnly);
   }
 
   /**
@@ -185,11 +187,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @throws java.lang.ClassCastException if the value cannot be converted to JsonArray
    */
   public JsonArray getJsonArray(int pos) {
-    Object val = list.get(pos);
-    if (val instanceof List) {
-      val = new JsonArray((List)val);
-    }
-    return (JsonArray)val;
+    return (JsonArray)JsonObject.wrap(list.get(pos), readOnly);
   }
 
   /**
@@ -220,13 +218,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  the Integer, or null if a null value present
    */
   public Object getValue(int pos) {
-    Object val = list.get(pos);
-    if (val instanceof Map) {
-      val = new JsonObject((Map)val);
-    } else if (val instanceof List) {
-      val = new JsonArray((List)val);
-    }
-    return val;
+    return JsonObject.wrap(list.get(pos), readOnly);
   }
 
   /**
@@ -249,6 +241,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray add(Enum value) {
+    checkWritable();
     Objects.requireNonNull(value);
     list.add(value.name());
     return this;
@@ -261,6 +254,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray add(CharSequence value) {
+    checkWritable();
     Objects.requireNonNull(value);
     list.add(value.toString());
     return this;
@@ -273,6 +267,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray add(String value) {
+    checkWritable();
     Objects.requireNonNull(value);
     list.add(value);
     return this;
@@ -285,6 +280,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray add(Integer value) {
+    checkWritable();
     Objects.requireNonNull(value);
     list.add(value);
     return this;
@@ -297,6 +293,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray add(Long value) {
+    checkWritable();
     Objects.requireNonNull(value);
     list.add(value);
     return this;
@@ -309,6 +306,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray add(Double value) {
+    checkWritable();
     Objects.requireNonNull(value);
     list.add(value);
     return this;
@@ -321,6 +319,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray add(Float value) {
+    checkWritable();
     Objects.requireNonNull(value);
     list.add(value);
     return this;
@@ -333,6 +332,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray add(Boolean value) {
+    checkWritable();
     Objects.requireNonNull(value);
     list.add(value);
     return this;
@@ -344,6 +344,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray addNull() {
+    checkWritable();
     list.add(null);
     return this;
   }
@@ -355,6 +356,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray add(JsonObject value) {
+    checkWritable();
     Objects.requireNonNull(value);
     list.add(value);
     return this;
@@ -367,6 +369,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray add(JsonArray value) {
+    checkWritable();
     Objects.requireNonNull(value);
     list.add(value);
     return this;
@@ -381,6 +384,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray add(byte[] value) {
+    checkWritable();
     Objects.requireNonNull(value);
     list.add(Base64.getEncoder().encodeToString(value));
     return this;
@@ -393,6 +397,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray add(Object value) {
+    checkWritable();
     Objects.requireNonNull(value);
     value = Json.checkAndCopy(value, false);
     list.add(value);
@@ -418,6 +423,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return true if it removed it, false if not found
    */
   public boolean remove(Object value) {
+    checkWritable();
     return list.remove(value);
   }
 
@@ -428,6 +434,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return the removed value if removed, null otherwise
    */
   public Object remove(int pos) {
+    checkWritable();
     return list.remove(pos);
   }
 
@@ -450,12 +457,34 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
   }
 
   /**
-   * Get the unerlying List
+   * Get a read-only view of this JSON array. The view shares the underlying data, so nothing is copied, but any
+   * attempt to modify the view, or a JSON object or array obtained from it, throws an {@link IllegalStateException}.
+   * The maps and lists obtained from the view, at any depth, are unmodifiable.
+   * <p>
+   * Changes made through this array remain visible through the view. The view gives no thread-safety: when it is
+   * handed to another thread, this array must not be modified anymore.
+   *
+   * @return a read-only view, or this array if it is already read-only
+   */
+  public JsonArray asReadOnly() {
+    return readOnly ? this : new JsonArray(list, true);
+  }
+
+  /**
+   * @return true if this array is a read-only view
+   */
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  /**
+   * Get the unerlying List. When this array is read-only the returned List is an unmodifiable view, the JSON
+   * objects and arrays, maps and lists reached through it are read-only too.
    *
    * @return  the underlying List
    */
   public List getList() {
-    return list;
+    return readOnly ? new JsonObject.ReadOnlyList(list) : list;
   }
 
   /**
@@ -464,6 +493,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonArray clear() {
+    checkWritable();
     list.clear();
     return this;
   }
@@ -516,6 +546,9 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
    * @return a Stream
    */
   public Stream<Object> stream() {
+    if (readOnly) {
+      return list.stream().map(val -> JsonObject.wrap(val, true));
+    }
     return list.stream();
   }
 
@@ -575,6 +608,7 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
 
   @Override
   public void readFromBuffer(Buffer buffer) {
+    checkWritable();
     int length = buffer.getInt(0);
     String encoded = buffer.getString(4, 4 + length);
     fromJson(encoded);
@@ -584,6 +618,12 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
     list = Json.decodeValue(json, List.class);
   }
 
+  private void checkWritable() {
+    if (readOnly) {
+      throw new IllegalStateException("JsonArray is read-only");
+    }
+  }
+
   private class Iter implements Iterator<Object> {
 
     final Iterator<Object> listIter;
@@ -599,17 +639,12 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable {
 
     @Override
     public Object next() {
-      Object val = listIter.next();
-      if (val instanceof Map) {
-        val = new JsonObject((Map)val);
-      } else if (val instanceof List) {
-        val = new JsonArray((List)val);
-      }
-      return val;
+      return JsonObject.wrap(listIter.next(), readOnly);
     }
 
     @Override
     public void remove() {
+      checkWritable();
       listIter.remove();
     }
   }
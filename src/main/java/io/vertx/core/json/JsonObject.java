@@ -21,7 +21,11 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.impl.Json;
 import io.vertx.core.shareddata.impl.ClusterSerializable;
 
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -44,6 +48,7 @@ import java.util.stream.Stream;
 public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterSerializable {
 
   private Map<String, Object> map;
+  private boolean readOnly;
 
   /**
    * Create an instance from a string of JSON
@@ -70,6 +75,11 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
     this.map = map;
   }
 
+  JsonObject(Map<String, Object> map, boolean readOnly) {
+    this.map = map;
+    this.readOnly = readOnly;
+  }
+
   /**
    * Get the string value with the specified key
    *
@@ -180,11 +190,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    */
   public JsonObject getJsonObject(String key) {
     Objects.requireNonNull(key);
-    Object val = map.get(key);
-    if (val instanceof Map) {
-      val = new JsonObject((Map)val);
-    }
-    return (JsonObject)val;
+    return (JsonObject)wrap(map.get(key), readOnly);
   }
 
   /**
@@ -196,11 +202,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    */
   public JsonArray getJsonArray(String key) {
     Objects.requireNonNull(key);
-    Object val = map.get(key);
-    if (val instanceof List) {
-      val = new JsonArray((List)val);
-    }
-    return (JsonArray)val;
+    return (JsonArray)wrap(map.get(key), readOnly);
   }
 
   /**
@@ -229,13 +231,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    */
   public Object getValue(String key) {
     Objects.requireNonNull(key);
-    Object val = map.get(key);
-    if (val instanceof Map) {
-      val = new JsonObject((Map)val);
-    } else if (val instanceof List) {
-      val = new JsonArray((List)val);
-    }
-    return val;
+    return wrap(map.get(key), readOnly);
   }
 
   /**
@@ -423,7 +419,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return the set of field names
    */
   public Set<String> fieldNames() {
-    return map.keySet();
+    return readOnly ? Collections.unmodifiableSet(map.keySet()) : map.keySet();
   }
 
   /**
@@ -437,6 +433,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonObject put(String key, Enum value) {
+    checkWritable();
     Objects.requireNonNull(key);
     map.put(key, value == null ? null : value.name());
     return this;
@@ -450,6 +447,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonObject put(String key, CharSequence value) {
+    checkWritable();
     Objects.requireNonNull(key);
     map.put(key, value == null ? null : value.toString());
     return this;
@@ -463,6 +461,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonObject put(String key, String value) {
+    checkWritable();
     Objects.requireNonNull(key);
     map.put(key, value);
     return this;
@@ -476,6 +475,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonObject put(String key, Integer value) {
+    checkWritable();
     Objects.requireNonNull(key);
     map.put(key, value);
     return this;
@@ -489,6 +489,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonObject put(String key, Long value) {
+    checkWritable();
     Objects.requireNonNull(key);
     map.put(key, value);
     return this;
@@ -502,6 +503,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonObject put(String key, Double value) {
+    checkWritable();
     Objects.requireNonNull(key);
     map.put(key, value);
     return this;
@@ -515,6 +517,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonObject put(String key, Float value) {
+    checkWritable();
     Objects.requireNonNull(key);
     map.put(key, value);
     return this;
@@ -528,6 +531,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonObject put(String key, Boolean value) {
+    checkWritable();
     Objects.requireNonNull(key);
     map.put(key, value);
     return this;
@@ -540,6 +544,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonObject putNull(String key) {
+    checkWritable();
     Objects.requireNonNull(key);
     map.put(key, null);
     return this;
@@ -553,6 +558,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonObject put(String key, JsonObject value) {
+    checkWritable();
     Objects.requireNonNull(key);
     map.put(key, value);
     return this;
@@ -566,6 +572,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonObject put(String key, JsonArray value) {
+    checkWritable();
     Objects.requireNonNull(key);
     map.put(key, value);
     return this;
@@ -581,6 +588,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonObject put(String key, byte[] value) {
+    checkWritable();
     Objects.requireNonNull(key);
     map.put(key, value == null ? null : Base64.getEncoder().encodeToString(value));
     return this;
@@ -594,6 +602,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return  a reference to this, so the API can be used fluently
    */
   public JsonObject put(String key, Object value) {
+    checkWritable();
     Objects.requireNonNull(key);
     value = Json.checkAndCopy(value, false);
     map.put(key, value);
@@ -607,6 +616,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return the value that was removed, or null if none
    */
   public Object remove(String key) {
+    checkWritable();
     return map.remove(key);
   }
 
@@ -618,6 +628,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return a reference to this, so the API can be used fluently
    */
   public JsonObject mergeIn(JsonObject other) {
+    checkWritable();
     map.putAll(other.map);
     return this;
   }
@@ -657,12 +668,34 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
   }
 
   /**
-   * Get the underlying Map.
+   * Get a read-only view of this JSON object. The view shares the underlying data, so nothing is copied, but any
+   * attempt to modify the view, or a JSON object or array obtained from it, throws an {@link IllegalStateException}.
+   * The maps and lists obtained from the view, at any depth, are unmodifiable.
+   * <p>
+   * Changes made through this object remain visible through the view. The view gives no thread-safety: when it is
+   * handed to another thread, this object must not be modified anymore.
+   *
+   * @return a read-only view, or this object if it is already read-only
+   */
+  public JsonObject asReadOnly() {
+    return readOnly ? this : new JsonObject(map, true);
+  }
+
+  /**
+   * @return true if this object is a read-only view
+   */
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  /**
+   * Get the underlying Map. When this object is read-only the returned Map is an unmodifiable view, the JSON
+   * objects and arrays, maps and lists reached through it are read-only too.
    *
    * @return the underlying Map.
    */
   public Map<String, Object> getMap() {
-    return map;
+    return readOnly ? new ReadOnlyMap(map) : map;
   }
 
   /**
@@ -671,6 +704,9 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return a stream of the entries.
    */
   public Stream<Map.Entry<String, Object>> stream() {
+    if (readOnly) {
+      return map.entrySet().stream().map(JsonObject::readOnlyEntry);
+    }
     return map.entrySet().stream();
   }
 
@@ -697,6 +733,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    */
   @Fluent
   public JsonObject clear() {
+    checkWritable();
     map.clear();
     return this;
   }
@@ -794,6 +831,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
 
   @Override
   public void readFromBuffer(Buffer buffer) {
+    checkWritable();
     int length = buffer.getInt(0);
     String encoded = buffer.getString(4, 4 + length);
     fromJson(encoded);
@@ -803,6 +841,121 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
     map = Json.decodeValue(json, Map.class);
   }
 
+  private void checkWritable() {
+    if (readOnly) {
+      throw new IllegalStateException("JsonObject is read-only");
+    }
+  }
+
+  private static Map.Entry<String, Object> readOnlyEntry(Map.Entry<String, Object> entry) {
+    return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), wrap(entry.getValue(), true));
+  }
+
+  static Object wrap(Object val, boolean readOnly) {
+    if (val instanceof Map) {
+      val = new JsonObject((Map)val, readOnly);
+    } else if (val instanceof List) {
+      val = new JsonArray((List)val, readOnly);
+    } else if (readOnly) {
+      if (val instanceof JsonObject) {
+        val = ((JsonObject) val).asReadOnly();
+      } else if (val instanceof JsonArray) {
+        val = ((JsonArray) val).asReadOnly();
+      }
+    }
+    return val;
+  }
+
+  /**
+   * @return the value as seen through a read-only map or list view
+   */
+  static Object readOnlyValue(Object val) {
+    if (val instanceof Map) {
+      return new ReadOnlyMap((Map) val);
+    } else if (val instanceof List) {
+      return new ReadOnlyList((List) val);
+    } else if (val instanceof JsonObject) {
+      return ((JsonObject) val).asReadOnly();
+    } else if (val instanceof JsonArray) {
+      return ((JsonArray) val).asReadOnly();
+    }
+    return val;
+  }
+
+  /**
+   * An unmodifiable view of a map returning read-only views of its values.
+   */
+  static class ReadOnlyMap extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> map;
+
+    ReadOnlyMap(Map<String, Object> map) {
+      this.map = map;
+    }
+
+    @Override
+    public Object get(Object key) {
+      return readOnlyValue(map.get(key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return map.size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return new AbstractSet<Entry<String, Object>>() {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+          Iterator<Entry<String, Object>> iter = map.entrySet().iterator();
+          return new Iterator<Entry<String, Object>>() {
+            @Override
+            public boolean hasNext() {
+              return iter.hasNext();
+            }
+            @Override
+            public Entry<String, Object> next() {
+              Entry<String, Object> entry = iter.next();
+              return new SimpleImmutableEntry<>(entry.getKey(), readOnlyValue(entry.getValue()));
+            }
+          };
+        }
+        @Override
+        public int size() {
+          return map.size();
+        }
+      };
+    }
+  }
+
+  /**
+   * An unmodifiable view of a list returning read-only views of its values.
+   */
+  static class ReadOnlyList extends AbstractList<Object> {
+
+    private final List<Object> list;
+
+    ReadOnlyList(List<Object> list) {
+      this.list = list;
+    }
+
+    @Override
+    public Object get(int index) {
+      return readOnlyValue(list.get(index));
+    }
+
+    @Override
+    public int size() {
+      return list.size();
+    }
+  }
+
   private class Iter implements Iterator<Map.Entry<String, Object>> {
 
     final Iterator<Map.Entry<String, Object>> mapIter;
@@ -819,6 +972,10 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
     @Override
     public Map.Entry<String, Object> next() {
       Map.Entry<String, Object> entry = mapIter.next();
+      if (readOnly) {
+        // Never write back to a shared map
+        return readOnlyEntry(entry);
+      }
       if (entry.getValue() instanceof Map) {
         entry.setValue(new JsonObject((Map)entry.getValue()));
       } else if (entry.getValue() instanceof List) {
@@ -829,6 +986,7 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
 
     @Override
     public void remove() {
+      checkWritable();
       mapIter.remove();
     }
   }
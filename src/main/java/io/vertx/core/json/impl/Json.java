@@ -23,12 +23,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.EncodeException;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.Base64;
 import java.util.List;
@@ -104,6 +108,18 @@ public class Json {
     }
   }
 
+  /**
+   * Encode the object as UTF-8 JSON appended directly to the end of the buffer, without creating an
+   * intermediate String or byte array.
+   */
+  public static void encode(Object obj, Buffer buffer) throws EncodeException {
+    try {
+      mapper.writeValue(new BufferOutputStream(buffer), obj);
+    } catch (Exception e) {
+      throw new EncodeException("Failed to encode as JSON: " + e.getMessage());
+    }
+  }
+
   public static String encodePrettily(Object obj) throws EncodeException {
     try {
       return prettyMapper.writeValueAsString(obj);
@@ -122,6 +138,44 @@ public class Json {
     }
   }
 
+  /**
+   * Decode UTF-8 JSON held in the buffer between {@code start} (inclusive) and {@code end} (exclusive)
+   * without creating an intermediate String.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T decodeValue(Buffer buffer, int start, int end, Class<?> clazz) throws DecodeException {
+    ByteBuf buf = buffer.getByteBuf();
+    try {
+      if (buf.hasArray()) {
+        return (T)mapper.readValue(buf.array(), buf.arrayOffset() + start, end - start, clazz);
+      } else {
+        return (T)mapper.readValue(new ByteBufInputStream(buf.slice(start, end - start)), clazz);
+      }
+    }
+    catch (Exception e) {
+      throw new DecodeException("Failed to decode:" + e.getMessage());
+    }
+  }
+
+  private static class BufferOutputStream extends OutputStream {
+
+    private final Buffer buffer;
+
+    private BufferOutputStream(Buffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int b) {
+      buffer.appendByte((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      buffer.appendBytes(b, off, len);
+    }
+  }
+
   private static class JsonObjectSerializer extends JsonSerializer<JsonObject> {
     @Override
     public void serialize(JsonObject value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
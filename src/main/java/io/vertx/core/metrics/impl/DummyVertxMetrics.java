@@ -17,6 +17,7 @@
 package io.vertx.core.metrics.impl;
 
 import io.vertx.core.Verticle;
+import io.vertx.core.WorkerPoolOptions;
 import io.vertx.core.datagram.DatagramSocket;
 import io.vertx.core.datagram.DatagramSocketOptions;
 import io.vertx.core.eventbus.EventBus;
@@ -36,6 +37,7 @@ import io.vertx.core.spi.metrics.HttpClientMetrics;
 import io.vertx.core.spi.metrics.HttpServerMetrics;
 import io.vertx.core.spi.metrics.NetMetrics;
 import io.vertx.core.spi.metrics.VertxMetrics;
+import io.vertx.core.spi.metrics.WorkerPoolMetrics;
 import io.vertx.core.net.NetClient;
 import io.vertx.core.net.NetClientOptions;
 import io.vertx.core.net.NetServer;
@@ -96,6 +98,11 @@ public class DummyVertxMetrics implements VertxMetrics {
     return new DummyDatagramMetrics();
   }
 
+  @Override
+  public WorkerPoolMetrics createMetrics(WorkerPoolOptions options) {
+    return new DummyWorkerPoolMetrics();
+  }
+
   @Override
   public void close() {
   }
@@ -142,6 +149,26 @@ public class DummyVertxMetrics implements VertxMetrics {
     public void replyFailure(String address, ReplyFailure failure) {
     }
 
+    @Override
+    public void batchWritten(int numMessages, int numBytes) {
+    }
+
+    @Override
+    public void pendingChanged(SocketAddress remoteAddress, int numMessages, int numBytes) {
+    }
+
+    @Override
+    public void pendingDropped(SocketAddress remoteAddress, String address) {
+    }
+
+    @Override
+    public void bufferedChanged(String address, int numMessages) {
+    }
+
+    @Override
+    public void bufferedDropped(String address) {
+    }
+
     @Override
     public String baseName() {
       return null;
@@ -332,4 +359,29 @@ public class DummyVertxMetrics implements VertxMetrics {
       return false;
     }
   }
+
+  class DummyWorkerPoolMetrics implements WorkerPoolMetrics {
+
+    @Override
+    public void queueChanged(int numTasks) {
+    }
+
+    @Override
+    public void taskRejected() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public String baseName() {
+      return null;
+    }
+
+    @Override
+    public boolean isEnabled() {
+      return false;
+    }
+  }
 }
@@ -50,10 +50,16 @@ public class NetServerOptions extends TCPSSLOptions {
    */
   public static final boolean DEFAULT_CLIENT_AUTH_REQUIRED = false;
 
+  /**
+   * Default value of whether each event loop listens with its own socket = false
+   */
+  public static final boolean DEFAULT_REUSE_PORT = false;
+
   private int port;
   private String host;
   private int acceptBacklog;
   private boolean clientAuthRequired;
+  private boolean reusePort;
 
   /**
    * Default constructor
@@ -64,6 +70,7 @@ public class NetServerOptions extends TCPSSLOptions {
     this.host = DEFAULT_HOST;
     this.acceptBacklog = DEFAULT_ACCEPT_BACKLOG;
     this.clientAuthRequired = DEFAULT_CLIENT_AUTH_REQUIRED;
+    this.reusePort = DEFAULT_REUSE_PORT;
   }
 
   /**
@@ -77,6 +84,7 @@ public class NetServerOptions extends TCPSSLOptions {
     this.host = other.getHost();
     this.acceptBacklog = other.getAcceptBacklog();
     this.clientAuthRequired = other.isClientAuthRequired();
+    this.reusePort = other.isReusePort();
   }
 
   /**
@@ -90,6 +98,7 @@ public class NetServerOptions extends TCPSSLOptions {
     this.host = json.getString("host", DEFAULT_HOST);
     this.acceptBacklog = json.getInteger("acceptBacklog", DEFAULT_ACCEPT_BACKLOG);
     this.clientAuthRequired = json.getBoolean("clientAuthRequired", DEFAULT_CLIENT_AUTH_REQUIRED);
+    this.reusePort = json.getBoolean("reusePort", DEFAULT_REUSE_PORT);
   }
 
   @Override
@@ -277,6 +286,31 @@ public class NetServerOptions extends TCPSSLOptions {
     return this;
   }
 
+  /**
+   * @return true if each event loop listens with its own socket
+   */
+  public boolean isReusePort() {
+    return reusePort;
+  }
+
+  /**
+   * Set whether each event loop handling the connections of the server listens with its own socket bound with
+   * {@code SO_REUSEPORT}, the kernel then spreads the connections between the sockets instead of a single socket
+   * accepting them all.
+   * <p>
+   * The connections accepted by the socket of an event loop go to the handlers registered on this event loop, the
+   * server must be shared by several verticle instances to use several event loops. This requires the native
+   * transport, see {@link io.vertx.core.VertxOptions#setPreferNativeTransport(boolean)}, and a port different from 0,
+   * otherwise a single socket is used.
+   *
+   * @param reusePort  true to listen with a socket per event loop
+   * @return a reference to this, so the API can be used fluently
+   */
+  public NetServerOptions setReusePort(boolean reusePort) {
+    this.reusePort = reusePort;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -287,6 +321,7 @@ public class NetServerOptions extends TCPSSLOptions {
 
     if (acceptBacklog != that.acceptBacklog) return false;
     if (clientAuthRequired != that.clientAuthRequired) return false;
+    if (reusePort != that.reusePort) return false;
     if (port != that.port) return false;
     if (host != null ? !host.equals(that.host) : that.host != null) return false;
 
@@ -300,6 +335,7 @@ public class NetServerOptions extends TCPSSLOptions {
     result = 31 * result + (host != null ? host.hashCode() : 0);
     result = 31 * result + acceptBacklog;
     result = 31 * result + (clientAuthRequired ? 1 : 0);
+    result = 31 * result + (reusePort ? 1 : 0);
     return result;
   }
 }
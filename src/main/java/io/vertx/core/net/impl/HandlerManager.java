@@ -50,6 +50,10 @@ public class HandlerManager<T> {
     return hasHandlers;
   }
 
+  public boolean hasHandlers(EventLoop worker) {
+    return handlerMap.containsKey(worker);
+  }
+
   public HandlerHolder<T> chooseHandler(EventLoop worker) {
     Handlers<T> handlers = handlerMap.get(worker);
     return handlers == null ? null : handlers.chooseHandler();
@@ -76,9 +80,8 @@ public class HandlerManager<T> {
     if (handlers.isEmpty()) {
       handlerMap.remove(worker);
     }
-    if (handlers.isEmpty()) {
-      hasHandlers = false;
-    }
+    // Other workers may still have handlers
+    hasHandlers = !handlerMap.isEmpty();
     //Available workers does it's own reference counting -since workers can be shared across different Handlers
     availableWorkers.removeWorker(worker);
   }
@@ -24,11 +24,11 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.FixedRecvByteBufAllocator;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.ChannelGroupFuture;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -51,6 +51,7 @@ import io.vertx.core.net.NetSocketStream;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
@@ -78,6 +79,10 @@ public class NetServerImpl implements NetServer, Closeable {
   private final Queue<Runnable> bindListeners = new LinkedList<>();
   private final NetSocketStreamImpl connectStream = new NetSocketStreamImpl();
   private ChannelGroup serverChannelGroup;
+  // With SO_REUSEPORT each event loop having handlers listens with its own channel, guarded by the shared servers
+  private final Map<EventLoop, Channel> acceptors = new HashMap<>();
+  private boolean reusePort;
+  private InetSocketAddress bindAddress;
   private volatile boolean listening;
   private volatile ServerID id;
   private NetServerImpl actualServer;
@@ -160,36 +165,11 @@ public class NetServerImpl implements NetServer, Closeable {
       NetServerImpl shared = vertx.sharedNetServers().get(id);
       if (shared == null || port == 0) { // Wildcard port will imply a new actual server each time
         serverChannelGroup = new DefaultChannelGroup("vertx-acceptor-channels", GlobalEventExecutor.INSTANCE);
-
-        ServerBootstrap bootstrap = new ServerBootstrap();
-        bootstrap.group(availableWorkers);
-        bootstrap.channel(NioServerSocketChannel.class);
+        // A wildcard port implies a new actual server each time, so there is nothing to share
+        reusePort = options.isReusePort() && port != 0 && vertx.transport().reusePortOption() != null;
         sslHelper.validate(vertx);
 
-        bootstrap.childHandler(new ChannelInitializer<Channel>() {
-          @Override
-          protected void initChannel(Channel ch) throws Exception {
-            if (connectStream.isPaused()) {
-              ch.close();
-              return;
-            }
-            ChannelPipeline pipeline = ch.pipeline();
-            if (sslHelper.isSSL()) {
-              SslHandler sslHandler = sslHelper.createSslHandler(vertx, false);
-              pipeline.addLast("ssl", sslHandler);
-            }
-            if (sslHelper.isSSL()) {
-              // only add ChunkedWriteHandler when SSL is enabled otherwise it is not needed as FileRegion is used.
-              pipeline.addLast("chunkedWriter", new ChunkedWriteHandler());       // For large file / sendfile support
-            }
-            if (options.getIdleTimeout() > 0) {
-              pipeline.addLast("idle", new IdleStateHandler(0, 0, options.getIdleTimeout()));
-            }
-            pipeline.addLast("handler", new ServerHandler());
-          }
-        });
-
-        applyConnectionOptions(bootstrap);
+        ServerBootstrap bootstrap = createBootstrap(reusePort ? listenContext.getEventLoop() : availableWorkers);
 
         if (connectStream.handler() != null) {
           handlerManager.addHandler(connectStream.handler(), listenContext);
@@ -197,7 +177,11 @@ public class NetServerImpl implements NetServer, Closeable {
 
         try {
           InetSocketAddress addr = new InetSocketAddress(InetAddress.getByName(host), port);
+          bindAddress = addr;
           bindFuture = bootstrap.bind(addr).addListener(future -> runListeners());
+          if (reusePort) {
+            acceptors.put(listenContext.getEventLoop(), bindFuture.channel());
+          }
           this.addListener(() -> {
             if (bindFuture.isSuccess()) {
               log.trace("Net server listening on " + host + ":" + bindFuture.channel().localAddress());
@@ -233,6 +217,9 @@ public class NetServerImpl implements NetServer, Closeable {
         metrics.listening(new SocketAddressImpl(id.port, id.host));
         if (connectStream.handler() != null) {
           actualServer.handlerManager.addHandler(connectStream.handler(), listenContext);
+          if (actualServer.reusePort) {
+            actualServer.addAcceptor(listenContext.getEventLoop());
+          }
         }
       }
 
@@ -298,6 +285,9 @@ public class NetServerImpl implements NetServer, Closeable {
 
         if (actualServer.handlerManager.hasHandlers()) {
           // The actual server still has handlers so we don't actually close it
+          if (actualServer.reusePort) {
+            actualServer.removeAcceptor(listenContext.getEventLoop());
+          }
           if (done != null) {
             executeCloseDone(context, done, null);
           }
@@ -332,6 +322,65 @@ public class NetServerImpl implements NetServer, Closeable {
       .collect(Collectors.toMap(e -> e.getKey().substring(name.length() + 1), Map.Entry::getValue));
   }
 
+  private ServerBootstrap createBootstrap(EventLoopGroup group) {
+    ServerBootstrap bootstrap = new ServerBootstrap();
+    bootstrap.group(group);
+    bootstrap.channel(vertx.transport().serverChannelType());
+
+    bootstrap.childHandler(new ChannelInitializer<Channel>() {
+      @Override
+      protected void initChannel(Channel ch) throws Exception {
+        if (connectStream.isPaused()) {
+          ch.close();
+          return;
+        }
+        ChannelPipeline pipeline = ch.pipeline();
+        if (sslHelper.isSSL()) {
+          SslHandler sslHandler = sslHelper.createSslHandler(vertx, false);
+          pipeline.addLast("ssl", sslHandler);
+        }
+        if (sslHelper.isSSL()) {
+          // only add ChunkedWriteHandler when SSL is enabled otherwise it is not needed as FileRegion is used.
+          pipeline.addLast("chunkedWriter", new ChunkedWriteHandler());       // For large file / sendfile support
+        }
+        if (options.getIdleTimeout() > 0) {
+          pipeline.addLast("idle", new IdleStateHandler(0, 0, options.getIdleTimeout()));
+        }
+        pipeline.addLast("handler", new ServerHandler());
+      }
+    });
+
+    applyConnectionOptions(bootstrap);
+    if (reusePort) {
+      bootstrap.option(vertx.transport().reusePortOption(), true);
+    }
+    return bootstrap;
+  }
+
+  // Called with the shared servers lock, the channels accepted by the acceptor of an event loop stay on it
+  private void addAcceptor(EventLoop eventLoop) {
+    if (!acceptors.containsKey(eventLoop) && !(bindFuture.isDone() && !bindFuture.isSuccess())) {
+      ChannelFuture future = createBootstrap(eventLoop).bind(bindAddress);
+      acceptors.put(eventLoop, future.channel());
+      serverChannelGroup.add(future.channel());
+      future.addListener(f -> {
+        if (!f.isSuccess()) {
+          log.error("Net server failed to listen on " + bindAddress + " from another event loop", f.cause());
+        }
+      });
+    }
+  }
+
+  // Called with the shared servers lock
+  private void removeAcceptor(EventLoop eventLoop) {
+    if (!handlerManager.hasHandlers(eventLoop)) {
+      Channel acceptor = acceptors.remove(eventLoop);
+      if (acceptor != null) {
+        acceptor.close();
+      }
+    }
+  }
+
   private void applyConnectionOptions(ServerBootstrap bootstrap) {
     bootstrap.childOption(ChannelOption.TCP_NODELAY, options.isTcpNoDelay());
     if (options.getSendBufferSize() != -1) {
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.net.impl;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.InternetProtocolFamily;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.impl.LoggerFactory;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The Netty transport used by a Vert.x instance: the event loop group and the channels registered on its event loops
+ * must come from the same transport.
+ * <p>
+ * {@link #NIO} works everywhere, the native epoll transport is only available on Linux when the
+ * {@code netty-transport-native-epoll} library can be loaded.
+ */
+public abstract class Transport {
+
+  private static final Logger log = LoggerFactory.getLogger(Transport.class);
+
+  /**
+   * The JDK NIO transport.
+   */
+  public static final Transport NIO = new Transport() {
+    @Override
+    public boolean isNative() {
+      return false;
+    }
+
+    @Override
+    public EventLoopGroup eventLoopGroup(int nThreads, ThreadFactory threadFactory) {
+      return new NioEventLoopGroup(nThreads, threadFactory);
+    }
+
+    @Override
+    public Class<? extends Channel> channelType() {
+      return NioSocketChannel.class;
+    }
+
+    @Override
+    public Class<? extends ServerChannel> serverChannelType() {
+      return NioServerSocketChannel.class;
+    }
+
+    @Override
+    public Class<? extends DatagramChannel> datagramChannelType() {
+      return NioDatagramChannel.class;
+    }
+
+    @Override
+    public DatagramChannel datagramChannel(InternetProtocolFamily family) {
+      return family != null ? new NioDatagramChannel(family) : new NioDatagramChannel();
+    }
+  };
+
+  private static volatile Transport nativeTransport;
+  private static volatile boolean nativeTransportChecked;
+
+  /**
+   * @return the native transport of this platform or {@code null} when it is not available
+   */
+  public static Transport nativeTransport() {
+    if (!nativeTransportChecked) {
+      synchronized (Transport.class) {
+        if (!nativeTransportChecked) {
+          nativeTransport = loadNativeTransport();
+          nativeTransportChecked = true;
+        }
+      }
+    }
+    return nativeTransport;
+  }
+
+  private static Transport loadNativeTransport() {
+    String os = System.getProperty("os.name", "").toLowerCase();
+    if (!os.startsWith("linux")) {
+      log.debug("The native transport is only available on Linux");
+      return null;
+    }
+    try {
+      // Loads the native library
+      Class.forName("io.netty.channel.epoll.Native", true, Transport.class.getClassLoader());
+      return new EpollTransport();
+    } catch (Throwable t) {
+      log.debug("The native transport is not available", t);
+      return null;
+    }
+  }
+
+  /**
+   * @return whether this transport is a native transport
+   */
+  public abstract boolean isNative();
+
+  /**
+   * Create the event loop group of this transport.
+   *
+   * @param nThreads the number of event loops
+   * @param threadFactory the factory of the event loop threads
+   * @return the event loop group
+   */
+  public abstract EventLoopGroup eventLoopGroup(int nThreads, ThreadFactory threadFactory);
+
+  /**
+   * @return the type of the socket channels of this transport
+   */
+  public abstract Class<? extends Channel> channelType();
+
+  /**
+   * @return the type of the server socket channels of this transport
+   */
+  public abstract Class<? extends ServerChannel> serverChannelType();
+
+  /**
+   * @return the type of the datagram channels of this transport
+   */
+  public abstract Class<? extends DatagramChannel> datagramChannelType();
+
+  /**
+   * Create a datagram channel.
+   *
+   * @param family the protocol family of the channel or {@code null} for the default one
+   * @return the datagram channel
+   */
+  public abstract DatagramChannel datagramChannel(InternetProtocolFamily family);
+
+  /**
+   * @return the {@code SO_REUSEPORT} option of the server socket channels or {@code null} when this transport does
+   * not support it
+   */
+  public ChannelOption<Boolean> reusePortOption() {
+    return null;
+  }
+
+  private static final class EpollTransport extends Transport {
+
+    @Override
+    public boolean isNative() {
+      return true;
+    }
+
+    @Override
+    public EventLoopGroup eventLoopGroup(int nThreads, ThreadFactory threadFactory) {
+      return new EpollEventLoopGroup(nThreads, threadFactory);
+    }
+
+    @Override
+    public Class<? extends Channel> channelType() {
+      return EpollSocketChannel.class;
+    }
+
+    @Override
+    public Class<? extends ServerChannel> serverChannelType() {
+      return EpollServerSocketChannel.class;
+    }
+
+    @Override
+    public Class<? extends DatagramChannel> datagramChannelType() {
+      return EpollDatagramChannel.class;
+    }
+
+    @Override
+    public DatagramChannel datagramChannel(InternetProtocolFamily family) {
+      // The native datagram channels are dual stack sockets, they can't be bound to a single protocol family
+      return new EpollDatagramChannel();
+    }
+
+    @Override
+    public ChannelOption<Boolean> reusePortOption() {
+      return EpollChannelOption.SO_REUSEPORT;
+    }
+  }
+}
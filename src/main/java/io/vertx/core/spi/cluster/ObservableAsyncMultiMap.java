@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.spi.cluster;
+
+import io.vertx.core.Handler;
+
+/**
+ *
+ * An asynchronous multi-map which notifies changes of its entries.
+ *
+ * When the multi-map of the event bus subscriptions implements this interface, the event bus caches the results of
+ * {@link #get} locally and drops them when they are notified to have changed.
+ *
+ * The cluster implementation should notify the changes made from any node of the cluster.
+ *
+ */
+public interface ObservableAsyncMultiMap<K, V> extends AsyncMultiMap<K, V> {
+
+  /**
+   * Add a handler which will be called each time the values of a key have changed. The handler can be called from
+   * any thread, it is called with the key or with null when the values of any key may have changed.
+   * @param handler The handler
+   */
+  void addChangeHandler(Handler<K> handler);
+
+  /**
+   * Remove a handler added with {@link #addChangeHandler}
+   * @param handler The handler
+   */
+  void removeChangeHandler(Handler<K> handler);
+}
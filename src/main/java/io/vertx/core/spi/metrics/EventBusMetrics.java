@@ -17,6 +17,7 @@
 package io.vertx.core.spi.metrics;
 
 import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.net.SocketAddress;
 
 /**
  * The event bus metrics SPI which Vert.x will use to call when each event occurs.
@@ -61,4 +62,49 @@ public interface EventBusMetrics extends BaseMetrics {
    * @param failure the {@link io.vertx.core.eventbus.ReplyFailure}
    */
   void replyFailure(String address, ReplyFailure failure);
+
+  /**
+   * Called when a batch of messages has been written to a cluster connection with a single write.
+   * <p>
+   * The average batch size can be obtained by dividing the total number of messages by the number of batches.
+   *
+   * @param numMessages the number of messages in the batch
+   * @param numBytes the size of the batch, in bytes
+   */
+  void batchWritten(int numMessages, int numBytes);
+
+  /**
+   * Called when the messages queued for a node of the cluster while connecting to it have changed. When there are
+   * several connections per node, each connection has its own queue.
+   *
+   * @param remoteAddress the address of the node
+   * @param numMessages the number of queued messages
+   * @param numBytes the estimated size of the queued messages, in bytes
+   */
+  void pendingChanged(SocketAddress remoteAddress, int numMessages, int numBytes);
+
+  /**
+   * Called when a message for a node of the cluster has been dropped because the queue of the node was full, or
+   * because the connection to the node closed before the message was written.
+   *
+   * @param remoteAddress the address of the node
+   * @param address the address of the message
+   */
+  void pendingDropped(SocketAddress remoteAddress, String address);
+
+  /**
+   * Called when the messages buffered by a paused consumer have changed. Each consumer of an address has its own
+   * buffer.
+   *
+   * @param address the address of the consumer
+   * @param numMessages the number of buffered messages
+   */
+  void bufferedChanged(String address, int numMessages);
+
+  /**
+   * Called when a message has been dropped because the buffer of a paused consumer was full.
+   *
+   * @param address the address of the consumer
+   */
+  void bufferedDropped(String address);
 }
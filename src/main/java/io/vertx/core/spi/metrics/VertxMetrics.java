@@ -17,6 +17,7 @@
 package io.vertx.core.spi.metrics;
 
 import io.vertx.core.Verticle;
+import io.vertx.core.WorkerPoolOptions;
 import io.vertx.core.datagram.DatagramSocket;
 import io.vertx.core.datagram.DatagramSocketOptions;
 import io.vertx.core.eventbus.EventBus;
@@ -120,4 +121,12 @@ public interface VertxMetrics extends BaseMetrics, Measured {
    * @return the datagram metrics SPI
    */
   DatagramSocketMetrics createMetrics(DatagramSocket socket, DatagramSocketOptions options);
+
+  /**
+   * Provides the worker pool metrics SPI when a named worker pool is created
+   *
+   * @param options the options of the {@link io.vertx.core.WorkerPoolOptions named worker pool}
+   * @return the worker pool metrics SPI
+   */
+  WorkerPoolMetrics createMetrics(WorkerPoolOptions options);
 }
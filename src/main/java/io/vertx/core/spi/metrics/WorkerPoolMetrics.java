@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2014 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.core.spi.metrics;
+
+/**
+ * An SPI used internally by Vert.x to gather metrics on a named worker pool.
+ */
+public interface WorkerPoolMetrics extends BaseMetrics {
+
+  /**
+   * Called when the number of tasks waiting for a thread of the pool has changed, that is when a task is queued
+   * and when a thread starts running a task.
+   *
+   * @param numTasks the number of tasks waiting in the pool, including the tasks waiting in the ordered executors of
+   *                 the contexts
+   */
+  void queueChanged(int numTasks);
+
+  /**
+   * Called when a task is rejected because the queue of the pool is full.
+   */
+  void taskRejected();
+}
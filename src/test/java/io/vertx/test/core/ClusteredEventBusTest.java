@@ -17,19 +17,33 @@
 package io.vertx.test.core;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageCodec;
 import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.MessageProducer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.eventbus.impl.EventBusImpl;
+import io.vertx.core.eventbus.impl.codecs.StringMessageCodec;
 import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.net.NetServer;
+import io.vertx.core.net.NetServerOptions;
+import io.vertx.core.net.impl.ServerID;
 import io.vertx.core.spi.cluster.ClusterManager;
 import io.vertx.test.fakecluster.FakeClusterManager;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -332,6 +346,379 @@ public class ClusteredEventBusTest extends EventBusTestBase {
     await();
   }
 
+  @Test
+  public void testBatchedWrites() throws Exception {
+    startNodes(2, new VertxOptions().setClusterWriteBatching(true).setClusterWriteBatchMaxMessages(10));
+    int numMessages = 1000;
+    AtomicInteger count = new AtomicInteger();
+    MessageConsumer<Integer> consumer = vertices[1].eventBus().<Integer>consumer(ADDRESS1).handler(msg -> {
+      // Batching must not change the order of the messages
+      assertEquals(count.getAndIncrement(), msg.body().intValue());
+      if (count.get() == numMessages) {
+        testComplete();
+      }
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      vertices[0].runOnContext(v -> {
+        for (int i = 0; i < numMessages; i++) {
+          vertices[0].eventBus().send(ADDRESS1, i);
+        }
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testSendMultipleConnectionsPerNode() {
+    startNodes(2, new VertxOptions().setClusterConnectionsPerNode(4));
+    int numAddresses = 10;
+    int numMessages = 100;
+    AtomicInteger received = new AtomicInteger();
+    AtomicInteger registered = new AtomicInteger();
+    for (int i = 0; i < numAddresses; i++) {
+      AtomicInteger count = new AtomicInteger();
+      MessageConsumer<Integer> consumer = vertices[1].eventBus().<Integer>consumer(ADDRESS1 + i).handler(msg -> {
+        // The messages of an address go through the same connection
+        assertEquals(count.getAndIncrement(), msg.body().intValue());
+        if (received.incrementAndGet() == numAddresses * numMessages) {
+          testComplete();
+        }
+      });
+      consumer.completionHandler(ar -> {
+        assertTrue(ar.succeeded());
+        if (registered.incrementAndGet() == numAddresses) {
+          vertices[0].runOnContext(v -> {
+            for (int j = 0; j < numMessages; j++) {
+              for (int k = 0; k < numAddresses; k++) {
+                vertices[0].eventBus().send(ADDRESS1 + k, j);
+              }
+            }
+          });
+        }
+      });
+    }
+    await();
+  }
+
+  @Test
+  public void testSendFragmented() {
+    startNodes(2, new VertxOptions().setClusterFragmentSize(1024));
+    int numMessages = 10;
+    List<Buffer> sent = new ArrayList<>();
+    for (int i = 0; i < numMessages; i++) {
+      // Some messages are fragmented, the others are not
+      sent.add(TestUtils.randomBuffer(i % 2 == 0 ? 100 * 1024 + i : 100));
+    }
+    AtomicInteger count = new AtomicInteger();
+    vertices[1].eventBus().<Buffer>consumer(ADDRESS1).handler(msg -> {
+      assertEquals(sent.get(count.getAndIncrement()), msg.body());
+      if (count.get() == numMessages) {
+        testComplete();
+      }
+    }).completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      vertices[0].runOnContext(v -> {
+        for (Buffer buffer : sent) {
+          vertices[0].eventBus().send(ADDRESS1, buffer);
+        }
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testFragmentedMessageLargerThanMaxMessageSize() {
+    startNodes(2, new VertxOptions().setClusterFragmentSize(1024).setClusterMaxMessageSize(64 * 1024));
+    vertices[1].eventBus().<Buffer>consumer(ADDRESS1).handler(msg -> msg.reply(msg.body().length()))
+      .completionHandler(ar -> {
+        assertTrue(ar.succeeded());
+        vertices[0].eventBus().send(ADDRESS1, TestUtils.randomBuffer(100 * 1024), new DeliveryOptions().setSendTimeout(1000), reply -> {
+          // The node closed the connection instead of gathering the message
+          assertTrue(reply.failed());
+          vertices[0].eventBus().<Integer>send(ADDRESS1, TestUtils.randomBuffer(100), reply2 -> {
+            assertTrue(reply2.succeeded());
+            assertEquals(100, reply2.result().body().intValue());
+            testComplete();
+          });
+        });
+      });
+    await();
+  }
+
+  @Test
+  public void testHighPriorityMessageOvertakesFragmentedMessage() throws Exception {
+    startNodes(2, new VertxOptions().setClusterFragmentSize(1024));
+    // Far larger than the 64 KB write high water mark of the socket, so the urgent message is sent while most of the
+    // fragments are still queued by the event bus
+    Buffer large = TestUtils.randomBuffer(8 * 1024 * 1024);
+    AtomicBoolean urgentReceived = new AtomicBoolean();
+    CountDownLatch latch = new CountDownLatch(2);
+    Context ctx = vertices[1].getOrCreateContext();
+    ctx.runOnContext(v1 -> {
+      // Both consumers are on the same context so they see the messages in the order they are received
+      vertices[1].eventBus().<Buffer>consumer(ADDRESS1).handler(msg -> {
+        assertEquals(large, msg.body());
+        assertTrue(urgentReceived.get());
+        testComplete();
+      }).completionHandler(ar -> latch.countDown());
+      vertices[1].eventBus().<String>consumer(ADDRESS2).handler(msg -> {
+        if (msg.replyAddress() != null) {
+          msg.reply("pong");
+        } else {
+          urgentReceived.set(true);
+        }
+      }).completionHandler(ar -> latch.countDown());
+    });
+    awaitLatch(latch);
+    // Connect first so that the messages are not queued while connecting
+    vertices[0].eventBus().send(ADDRESS2, "ping", reply -> {
+      assertTrue(reply.succeeded());
+      vertices[0].eventBus().send(ADDRESS1, large);
+      vertices[0].eventBus().send(ADDRESS2, "urgent", new DeliveryOptions().setHighPriority(true));
+    });
+    await();
+  }
+
+  @Test
+  public void testSendWithMultiValuedHeaders() {
+    startNodes(2);
+    DeliveryOptions options = new DeliveryOptions().addHeader("foo", "bar1").addHeader("foo", "bar2").addHeader("quux", "\u00e9\u20ac");
+    vertices[1].eventBus().<String>consumer(ADDRESS1).handler(msg -> {
+      assertEquals(Arrays.asList("bar1", "bar2"), msg.headers().getAll("foo"));
+      assertEquals("\u00e9\u20ac", msg.headers().get("quux"));
+      testComplete();
+    }).completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      vertices[0].eventBus().send(ADDRESS1, "whatever", options);
+    });
+    await();
+  }
+
+  @Test
+  public void testSendVaryingBodySizes() {
+    startNodes(2);
+    int[] sizes = { 10, 100000, 1, 5000, 0, 300 };
+    AtomicInteger count = new AtomicInteger();
+    vertices[1].eventBus().<String>consumer(ADDRESS1).handler(msg -> {
+      assertEquals(sizes[count.getAndIncrement()], msg.body().length());
+      if (count.get() == sizes.length) {
+        testComplete();
+      }
+    }).completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      vertices[0].runOnContext(v -> {
+        for (int size: sizes) {
+          vertices[0].eventBus().send(ADDRESS1, TestUtils.randomAlphaString(size));
+        }
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testSendLargeThenSmallBodies() {
+    startNodes(2);
+    // A large body must not oversize the buffers of the small bodies which follow it
+    int numSmall = 200;
+    AtomicInteger count = new AtomicInteger();
+    EventBusImpl eventBus = (EventBusImpl) vertices[0].eventBus();
+    StringMessageCodec codec = new StringMessageCodec();
+    vertices[1].eventBus().<String>consumer(ADDRESS1).handler(msg -> {
+      int index = count.getAndIncrement();
+      assertEquals(index == 0 ? 10 * 1024 * 1024 : 10, msg.body().length());
+      if (index == 0) {
+        // The large body has been encoded, the estimate used to size the next buffers is capped
+        assertTrue(eventBus.bodySizeEstimate(codec) <= 64 * 1024);
+      }
+      if (index == numSmall) {
+        // The estimate came back down to the size of the small bodies
+        assertTrue(eventBus.bodySizeEstimate(codec) < 32);
+        testComplete();
+      }
+    }).completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      vertices[0].runOnContext(v -> {
+        vertices[0].eventBus().send(ADDRESS1, TestUtils.randomAlphaString(10 * 1024 * 1024));
+        for (int i = 0; i < numSmall; i++) {
+          vertices[0].eventBus().send(ADDRESS1, TestUtils.randomAlphaString(10));
+        }
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testSendAndReplyManyAddresses() {
+    startNodes(2);
+    int numAddresses = 50;
+    int numRounds = 4;
+    AtomicInteger registered = new AtomicInteger();
+    AtomicInteger replies = new AtomicInteger();
+    for (int i = 0; i < numAddresses; i++) {
+      String address = "address-" + i;
+      vertices[1].eventBus().<String>consumer(address).handler(msg -> {
+        assertEquals(address, msg.address());
+        assertEquals(address, msg.headers().get("the-address"));
+        msg.reply(msg.body(), new DeliveryOptions().addHeader("the-address", address));
+      }).completionHandler(ar -> {
+        assertTrue(ar.succeeded());
+        if (registered.incrementAndGet() == numAddresses) {
+          // Each address is sent several times so that it is sent both as a definition and a reference
+          for (int round = 0; round < numRounds; round++) {
+            for (int j = 0; j < numAddresses; j++) {
+              String dest = "address-" + j;
+              String body = TestUtils.randomUnicodeString(20);
+              DeliveryOptions options = new DeliveryOptions().addHeader("the-address", dest);
+              vertices[0].eventBus().send(dest, body, options, onSuccess((Message<String> reply) -> {
+                assertEquals(body, reply.body());
+                assertEquals(dest, reply.headers().get("the-address"));
+                if (replies.incrementAndGet() == numAddresses * numRounds) {
+                  testComplete();
+                }
+              }));
+            }
+          }
+        }
+      });
+    }
+    await();
+  }
+
+  @Test
+  public void testSendCompressed() {
+    startNodes(2, new VertxOptions().setClusterCompression(true).setClusterCompressionThreshold(100));
+    testSendCompressed(null);
+  }
+
+  @Test
+  public void testSendCompressedPerMessage() {
+    startNodes(2, new VertxOptions().setClusterCompressionThreshold(100));
+    testSendCompressed(new DeliveryOptions().setCompressed(true));
+  }
+
+  private void testSendCompressed(DeliveryOptions options) {
+    // Compressible, incompressible and below threshold bodies
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sb.append("compressible-");
+    }
+    List<String> bodies = Arrays.asList(sb.toString(), TestUtils.randomUnicodeString(10000), "small");
+    AtomicInteger count = new AtomicInteger();
+    vertices[1].eventBus().<String>consumer(ADDRESS1).handler(msg -> {
+      assertEquals(bodies.get(count.getAndIncrement()), msg.body());
+      if (count.get() == bodies.size()) {
+        testComplete();
+      }
+    }).completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      vertices[0].runOnContext(v -> {
+        for (String body: bodies) {
+          if (options != null) {
+            vertices[0].eventBus().send(ADDRESS1, body, options);
+          } else {
+            vertices[0].eventBus().send(ADDRESS1, body);
+          }
+        }
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testSendSubscriptionChurn() {
+    startNodes(3);
+    // Each round moves the consumer to another node, the cached subscriptions of the sender must follow
+    sendAfterMove(0, 20);
+    await();
+  }
+
+  private void sendAfterMove(int round, int rounds) {
+    if (round == rounds) {
+      testComplete();
+      return;
+    }
+    int node = 1 + round % 2;
+    MessageConsumer<String> consumer = vertices[node].eventBus().<String>consumer(ADDRESS1).handler(msg -> msg.reply(node));
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      vertices[0].eventBus().<Integer>send(ADDRESS1, "ping", reply -> {
+        assertTrue(reply.succeeded());
+        assertEquals(node, reply.result().body().intValue());
+        consumer.unregister(ar2 -> {
+          assertTrue(ar2.succeeded());
+          sendAfterMove(round + 1, rounds);
+        });
+      });
+    });
+  }
+
+  @Test
+  public void testSenderFlowControl() {
+    startNodes(2);
+    int numMessages = 100;
+    MessageProducer<Integer> producer = vertices[0].eventBus().sender(ADDRESS1);
+    producer.setWriteQueueMaxSize(10);
+    AtomicInteger received = new AtomicInteger();
+    MessageConsumer<Integer> consumer = vertices[1].eventBus().<Integer>consumer(ADDRESS1).handler(msg -> {
+      assertEquals(received.getAndIncrement(), msg.body().intValue());
+      if (received.get() == numMessages) {
+        producer.close();
+        testComplete();
+      }
+    });
+    AtomicInteger sent = new AtomicInteger();
+    AtomicInteger drains = new AtomicInteger();
+    Handler<Void> writer = new Handler<Void>() {
+      @Override
+      public void handle(Void v) {
+        while (!producer.writeQueueFull() && sent.get() < numMessages) {
+          producer.write(sent.getAndIncrement());
+        }
+        if (sent.get() < numMessages) {
+          drains.incrementAndGet();
+          producer.drainHandler(this);
+        }
+      }
+    };
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      vertices[0].runOnContext(v -> writer.handle(null));
+    });
+    await();
+    // The credits of the remote consumer must have throttled the producer
+    assertTrue(drains.get() > 0);
+  }
+
+  @Test
+  public void testPendingOverflowFailsSender() {
+    startNodes(1, new VertxOptions().setClusterPendingMaxBytes(1000));
+    // A node which accepts connections but never answers the handshake, so the messages sent to it stay pending
+    NetServer silent = vertices[0].createNetServer(new NetServerOptions().setPort(0).setHost("localhost"));
+    silent.connectHandler(so -> {}).listen(ar -> {
+      assertTrue(ar.succeeded());
+      FakeClusterManager mgr = new FakeClusterManager();
+      mgr.setVertx((VertxInternal) vertices[0]);
+      mgr.<String, ServerID>getAsyncMultiMap("subs", ar2 -> {
+        ar2.result().add(ADDRESS1, new ServerID(silent.actualPort(), "localhost"), ar3 -> {
+          assertTrue(ar3.succeeded());
+          String body = TestUtils.randomAlphaString(100);
+          AtomicBoolean failed = new AtomicBoolean();
+          for (int i = 0; i < 100; i++) {
+            vertices[0].eventBus().send(ADDRESS1, body, new DeliveryOptions().setSendTimeout(30000), reply -> {
+              assertTrue(reply.failed());
+              assertEquals(ReplyFailure.RECIPIENT_FAILURE, ((ReplyException) reply.cause()).failureType());
+              if (failed.compareAndSet(false, true)) {
+                testComplete();
+              }
+            });
+          }
+        });
+      });
+    });
+    await();
+  }
+
   @Test
   public void testConsumerHandlesCompletionAsynchronously1() {
     startNodes(2);
@@ -362,4 +749,73 @@ public class ClusteredEventBusTest extends EventBusTestBase {
     });
     await();
   }
+
+  @Test
+  public void testPatternConsumer() {
+    startNodes(2);
+    MessageConsumer<String> consumer = vertices[1].eventBus().<String>patternConsumer("orders.*.created", msg -> {
+      assertEquals("orders.eu.created", msg.address());
+      msg.reply("bar");
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      vertices[0].eventBus().send("orders.eu.created", "foo", reply -> {
+        assertTrue(reply.succeeded());
+        assertEquals("bar", reply.result().body());
+        testComplete();
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testPatternRemovedFromClusterWithLastConsumer() throws Exception {
+    startNodes(2);
+    Map<String, String> clusterPatterns = ((VertxInternal) vertices[0]).getClusterManager().getSyncMap("__vertx.patterns");
+    MessageConsumer<String> consumer1 = vertices[0].eventBus().<String>patternConsumer("orders.#", msg -> {});
+    MessageConsumer<String> consumer2 = vertices[1].eventBus().<String>patternConsumer("orders.#", msg -> {});
+    CountDownLatch latch = new CountDownLatch(2);
+    consumer1.completionHandler(onSuccess(v -> latch.countDown()));
+    consumer2.completionHandler(onSuccess(v -> latch.countDown()));
+    awaitLatch(latch);
+    assertTrue(clusterPatterns.containsKey("orders.#"));
+    CountDownLatch unregistered = new CountDownLatch(1);
+    consumer1.unregister(onSuccess(v -> unregistered.countDown()));
+    awaitLatch(unregistered);
+    // The unregistration completes once the pattern has been checked, the other node still subscribes to it
+    assertTrue(clusterPatterns.containsKey("orders.#"));
+    consumer2.unregister();
+    waitUntil(() -> !clusterPatterns.containsKey("orders.#"));
+  }
+
+  @Test
+  public void testReplyAddressIsUnguessable() {
+    startNodes(2);
+    List<String> replyAddresses = new ArrayList<>();
+    MessageConsumer<String> consumer = vertices[1].eventBus().<String>consumer(ADDRESS1, msg -> {
+      replyAddresses.add(msg.replyAddress());
+      msg.reply("bar");
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      vertices[0].eventBus().send(ADDRESS1, "foo", reply1 -> {
+        assertTrue(reply1.succeeded());
+        vertices[0].eventBus().send(ADDRESS1, "foo", reply2 -> {
+          assertTrue(reply2.succeeded());
+          assertEquals(2, replyAddresses.size());
+          String address1 = replyAddresses.get(0);
+          String address2 = replyAddresses.get(1);
+          assertTrue(address1, address1.matches("__vertx\\.reply\\.\\d+\\.[0-9a-f]{32}"));
+          assertTrue(address2, address2.matches("__vertx\\.reply\\.\\d+\\.[0-9a-f]{32}"));
+          // The node part is the same, the part derived from the id is not
+          String suffix1 = address1.substring(address1.lastIndexOf('.') + 1);
+          String suffix2 = address2.substring(address2.lastIndexOf('.') + 1);
+          assertEquals(suffix1.substring(0, 16), suffix2.substring(0, 16));
+          assertFalse(suffix1.substring(16).equals(suffix2.substring(16)));
+          testComplete();
+        });
+      });
+    });
+    await();
+  }
 }
@@ -18,8 +18,14 @@ package io.vertx.test.core;
 
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
+import io.vertx.core.impl.OrderedExecutorFactory;
 import org.junit.Test;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
@@ -78,4 +84,52 @@ public class ContextTest extends VertxTestBase {
     });
     await();
   }
+
+  @Test
+  public void testOrderedExecutorRejectedWhileTaskAdded() {
+    AtomicInteger submissions = new AtomicInteger();
+    AtomicBoolean ran = new AtomicBoolean();
+    Executor[] ordered = new Executor[1];
+    Executor parent = runner -> {
+      if (submissions.getAndIncrement() == 0) {
+        // A task added concurrently with the first one only queues it as the runner is being scheduled
+        ordered[0].execute(() -> ran.set(true));
+        throw new RejectedExecutionException();
+      }
+      runner.run();
+    };
+    ordered[0] = new OrderedExecutorFactory(parent).getExecutor();
+    try {
+      ordered[0].execute(() -> fail("The rejected task should not run"));
+      fail("Should throw exception");
+    } catch (RejectedExecutionException e) {
+      // OK
+    }
+    assertTrue(ran.get());
+    assertEquals(2, submissions.get());
+  }
+
+  @Test
+  public void testOrderedExecutorUsableAfterRejection() {
+    AtomicBoolean reject = new AtomicBoolean(true);
+    AtomicBoolean ran = new AtomicBoolean();
+    Executor[] ordered = new Executor[1];
+    Executor parent = runner -> {
+      if (reject.get()) {
+        ordered[0].execute(() -> fail("The task should have been dropped"));
+        throw new RejectedExecutionException();
+      }
+      runner.run();
+    };
+    ordered[0] = new OrderedExecutorFactory(parent).getExecutor();
+    try {
+      ordered[0].execute(() -> fail("The rejected task should not run"));
+      fail("Should throw exception");
+    } catch (RejectedExecutionException e) {
+      // OK
+    }
+    reject.set(false);
+    ordered[0].execute(() -> ran.set(true));
+    assertTrue(ran.get());
+  }
 }
@@ -18,6 +18,9 @@ package io.vertx.test.core;
 
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.net.NetServer;
+import io.vertx.core.net.impl.Transport;
 import org.junit.Test;
 
 /**
@@ -72,4 +75,26 @@ public class CreateVertxTest extends AsyncTestBase {
     });
     await();
   }
+
+  @Test
+  public void testCreateVertxPreferringNativeTransport() {
+    VertxOptions options = new VertxOptions().setPreferNativeTransport(true);
+    VertxInternal vertx = (VertxInternal) Vertx.vertx(options);
+    // Falls back to NIO when the native transport is not available
+    Transport expected = Transport.nativeTransport() != null ? Transport.nativeTransport() : Transport.NIO;
+    assertSame(expected, vertx.transport());
+    NetServer server = vertx.createNetServer().connectHandler(so -> so.handler(so::write));
+    server.listen(1234, "localhost", ar -> {
+      assertTrue(ar.succeeded());
+      vertx.createNetClient().connect(1234, "localhost", ar2 -> {
+        assertTrue(ar2.succeeded());
+        ar2.result().handler(buff -> {
+          assertEquals("foo", buff.toString());
+          vertx.close(v -> testComplete());
+        });
+        ar2.result().write("foo");
+      });
+    });
+    await();
+  }
 }
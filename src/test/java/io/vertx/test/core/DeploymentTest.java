@@ -23,6 +23,8 @@ import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
 import io.vertx.core.Verticle;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.WorkerPoolOptions;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.impl.Closeable;
 import io.vertx.core.impl.ContextImpl;
@@ -43,6 +45,7 @@ import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -73,6 +76,12 @@ public class DeploymentTest extends VertxTestBase {
     assertFalse(options.isMultiThreaded());
     assertEquals(options, options.setMultiThreaded(true));
     assertTrue(options.isMultiThreaded());
+    assertFalse(options.isElasticWorker());
+    assertEquals(options, options.setElasticWorker(true));
+    assertTrue(options.isElasticWorker());
+    assertNull(options.getWorkerPoolName());
+    assertEquals(options, options.setWorkerPoolName("jdbc"));
+    assertEquals("jdbc", options.getWorkerPoolName());
     assertNull(options.getIsolationGroup());
     String rand = TestUtils.randomUnicodeString(1000);
     assertEquals(options, options.setIsolationGroup(rand));
@@ -127,6 +136,8 @@ public class DeploymentTest extends VertxTestBase {
     Random rand = new Random();
     boolean worker = rand.nextBoolean();
     boolean multiThreaded = rand.nextBoolean();
+    boolean elasticWorker = rand.nextBoolean();
+    String workerPoolName = TestUtils.randomAlphaString(10);
     String isolationGroup = TestUtils.randomAlphaString(100);
     boolean ha = rand.nextBoolean();
     long gracePeriod = 7236;
@@ -135,6 +146,8 @@ public class DeploymentTest extends VertxTestBase {
     options.setConfig(config);
     options.setWorker(worker);
     options.setMultiThreaded(multiThreaded);
+    options.setElasticWorker(elasticWorker);
+    options.setWorkerPoolName(workerPoolName);
     options.setIsolationGroup(isolationGroup);
     options.setHa(ha);
     options.setExtraClasspath(cp);
@@ -144,6 +157,8 @@ public class DeploymentTest extends VertxTestBase {
     DeploymentOptions copy = new DeploymentOptions(options);
     assertEquals(worker, copy.isWorker());
     assertEquals(multiThreaded, copy.isMultiThreaded());
+    assertEquals(elasticWorker, copy.isElasticWorker());
+    assertEquals(workerPoolName, copy.getWorkerPoolName());
     assertEquals(isolationGroup, copy.getIsolationGroup());
     assertNotSame(config, copy.getConfig());
     assertEquals("bar", copy.getConfig().getString("foo"));
@@ -162,6 +177,8 @@ public class DeploymentTest extends VertxTestBase {
     assertEquals(def.getConfig(), json.getConfig());
     assertEquals(def.isWorker(), json.isWorker());
     assertEquals(def.isMultiThreaded(), json.isMultiThreaded());
+    assertEquals(def.isElasticWorker(), json.isElasticWorker());
+    assertEquals(def.getWorkerPoolName(), json.getWorkerPoolName());
     assertEquals(def.getIsolationGroup(), json.getIsolationGroup());
     assertEquals(def.isHa(), json.isHa());
     assertEquals(def.getExtraClasspath(), json.getExtraClasspath());
@@ -174,6 +191,8 @@ public class DeploymentTest extends VertxTestBase {
     Random rand = new Random();
     boolean worker = rand.nextBoolean();
     boolean multiThreaded = rand.nextBoolean();
+    boolean elasticWorker = rand.nextBoolean();
+    String workerPoolName = TestUtils.randomAlphaString(10);
     String isolationGroup = TestUtils.randomAlphaString(100);
     boolean ha = rand.nextBoolean();
     List<String> cp = Arrays.asList("foo", "bar");
@@ -181,6 +200,8 @@ public class DeploymentTest extends VertxTestBase {
     json.put("config", config);
     json.put("worker", worker);
     json.put("multiThreaded", multiThreaded);
+    json.put("elasticWorker", elasticWorker);
+    json.put("workerPoolName", workerPoolName);
     json.put("isolationGroup", isolationGroup);
     json.put("ha", ha);
     json.put("extraClasspath", new JsonArray(cp));
@@ -190,6 +211,8 @@ public class DeploymentTest extends VertxTestBase {
     DeploymentOptions options = new DeploymentOptions(json);
     assertEquals(worker, options.isWorker());
     assertEquals(multiThreaded, options.isMultiThreaded());
+    assertEquals(elasticWorker, options.isElasticWorker());
+    assertEquals(workerPoolName, options.getWorkerPoolName());
     assertEquals(isolationGroup, options.getIsolationGroup());
     assertEquals("bar", options.getConfig().getString("foo"));
     assertEquals(ha, options.isHa());
@@ -206,6 +229,8 @@ public class DeploymentTest extends VertxTestBase {
     Random rand = new Random();
     boolean worker = rand.nextBoolean();
     boolean multiThreaded = rand.nextBoolean();
+    boolean elasticWorker = rand.nextBoolean();
+    String workerPoolName = TestUtils.randomAlphaString(10);
     String isolationGroup = TestUtils.randomAlphaString(100);
     boolean ha = rand.nextBoolean();
     long gracePeriod = 521445;
@@ -214,6 +239,8 @@ public class DeploymentTest extends VertxTestBase {
     options.setConfig(config);
     options.setWorker(worker);
     options.setMultiThreaded(multiThreaded);
+    options.setElasticWorker(elasticWorker);
+    options.setWorkerPoolName(workerPoolName);
     options.setIsolationGroup(isolationGroup);
     options.setHa(ha);
     options.setExtraClasspath(cp);
@@ -224,6 +251,8 @@ public class DeploymentTest extends VertxTestBase {
     DeploymentOptions copy = new DeploymentOptions(json);
     assertEquals(worker, copy.isWorker());
     assertEquals(multiThreaded, copy.isMultiThreaded());
+    assertEquals(elasticWorker, copy.isElasticWorker());
+    assertEquals(workerPoolName, copy.getWorkerPoolName());
     assertEquals(isolationGroup, copy.getIsolationGroup());
     assertEquals("bar", copy.getConfig().getString("foo"));
     assertEquals(ha, copy.isHa());
@@ -331,6 +360,200 @@ public class DeploymentTest extends VertxTestBase {
     await();
   }
 
+  @Test
+  public void testDeployElasticWorker() throws Exception {
+    // More blocking calls at the same time than the worker pool can run
+    int num = VertxOptions.DEFAULT_WORKER_POOL_SIZE * 2;
+    CountDownLatch latch = new CountDownLatch(num);
+    AtomicInteger count = new AtomicInteger();
+    vertx.deployVerticle(new AbstractVerticle() {
+      @Override
+      public void start() throws Exception {
+        assertTrue(context.isWorker());
+        assertTrue(Thread.currentThread().getName().startsWith("vert.x-elastic-worker-thread-"));
+        for (int i = 0; i < num; i++) {
+          vertx.<Boolean>executeBlocking(fut -> {
+            latch.countDown();
+            try {
+              fut.complete(latch.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+              fut.fail(e);
+            }
+          }, false, onSuccess(res -> {
+            assertTrue(res);
+            assertSame(context, Vertx.currentContext());
+            if (count.incrementAndGet() == num) {
+              testComplete();
+            }
+          }));
+        }
+      }
+    }, new DeploymentOptions().setWorker(true).setElasticWorker(true), onSuccess(id -> {}));
+    await();
+  }
+
+  @Test
+  public void testDeployElasticWorkerIsOrdered() throws Exception {
+    int num = 100;
+    AtomicInteger cnt = new AtomicInteger();
+    AtomicBoolean running = new AtomicBoolean();
+    vertx.deployVerticle(new AbstractVerticle() {
+      @Override
+      public void start() throws Exception {
+        for (int i = 0; i < num; i++) {
+          int expected = i;
+          context.runOnContext(v -> {
+            assertTrue(running.compareAndSet(false, true));
+            assertEquals(expected, cnt.getAndIncrement());
+            running.set(false);
+            if (expected == num - 1) {
+              testComplete();
+            }
+          });
+        }
+      }
+    }, new DeploymentOptions().setWorker(true).setElasticWorker(true));
+    await();
+  }
+
+  @Test
+  public void testDeployWithWorkerPool() throws Exception {
+    Vertx poolVertx = Vertx.vertx(new VertxOptions().addWorkerPool(new WorkerPoolOptions().setName("test-pool")));
+    String prefix = "vert.x-worker-pool-test-pool-thread-";
+    poolVertx.deployVerticle(new AbstractVerticle() {
+      @Override
+      public void start() throws Exception {
+        assertTrue(Thread.currentThread().getName().startsWith(prefix));
+        vertx.executeBlocking(fut -> {
+          assertTrue(Thread.currentThread().getName().startsWith(prefix));
+          fut.complete();
+        }, onSuccess(v -> poolVertx.close(ar -> testComplete())));
+      }
+    }, new DeploymentOptions().setWorker(true).setWorkerPoolName("test-pool"));
+    await();
+  }
+
+  @Test
+  public void testDeployWithUnknownWorkerPool() throws Exception {
+    MyVerticle verticle = new MyVerticle();
+    try {
+      vertx.deployVerticle(verticle, new DeploymentOptions().setWorkerPoolName("unknown"), ar -> {
+      });
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+  }
+
+  @Test
+  public void testWorkerPoolQueueFull() throws Exception {
+    testWorkerPoolQueueFull(false);
+  }
+
+  @Test
+  public void testWorkerPoolQueueFullOrdered() throws Exception {
+    // The tasks waiting behind the running task of the context count like the tasks waiting in the pool
+    testWorkerPoolQueueFull(true);
+  }
+
+  @Test
+  public void testWorkerPoolQueueFullFromWorker() throws Exception {
+    Vertx poolVertx = Vertx.vertx(new VertxOptions().addWorkerPool(
+        new WorkerPoolOptions().setName("test-pool").setPoolSize(1).setMaxQueueSize(1)));
+    poolVertx.deployVerticle(new AbstractVerticle() {
+      @Override
+      public void start() throws Exception {
+        Context ctx = context;
+        // This verticle holds the only thread, the first task fills the queue
+        vertx.executeBlocking(fut -> fut.complete(), true, ar -> {});
+        vertx.executeBlocking(fut -> fail(), true, onFailure(err -> {
+          assertTrue(err instanceof RejectedExecutionException);
+          // The failure is delivered on the context like any result
+          assertSame(ctx, Vertx.currentContext());
+          poolVertx.close(ar -> testComplete());
+        }));
+      }
+    }, new DeploymentOptions().setWorker(true).setWorkerPoolName("test-pool"));
+    await();
+  }
+
+  @Test
+  public void testWorkerPoolQueueFullDeliversMessages() throws Exception {
+    Vertx poolVertx = Vertx.vertx(new VertxOptions().addWorkerPool(
+        new WorkerPoolOptions().setName("test-pool").setPoolSize(1).setMaxQueueSize(1)));
+    int numMessages = 10;
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicBoolean rejected = new AtomicBoolean();
+    AtomicInteger received = new AtomicInteger();
+    poolVertx.deployVerticle(new AbstractVerticle() {
+      @Override
+      public void start() throws Exception {
+        vertx.eventBus().<Integer>consumer("test-address", msg -> {
+          assertTrue(rejected.get());
+          if (received.incrementAndGet() == numMessages) {
+            poolVertx.close(ar -> testComplete());
+          }
+        });
+        // The first task takes the thread once this verticle has started, until the messages have been sent
+        vertx.executeBlocking(fut -> {
+          try {
+            latch.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException ignore) {
+          }
+          fut.complete();
+        }, ar -> {});
+        vertx.executeBlocking(fut -> fail(), onFailure(err -> {
+          assertTrue(err instanceof RejectedExecutionException);
+          rejected.set(true);
+        }));
+      }
+    }, new DeploymentOptions().setWorker(true).setWorkerPoolName("test-pool"), onSuccess(id -> {
+      // The tasks of the context are not bounded by the queue of the pool, the messages are not lost
+      for (int i = 0; i < numMessages; i++) {
+        poolVertx.eventBus().send("test-address", i);
+      }
+      latch.countDown();
+    }));
+    await();
+  }
+
+  private void testWorkerPoolQueueFull(boolean ordered) throws Exception {
+    Vertx poolVertx = Vertx.vertx(new VertxOptions().addWorkerPool(
+        new WorkerPoolOptions().setName("test-pool").setPoolSize(1).setMaxQueueSize(1)));
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicInteger count = new AtomicInteger();
+    poolVertx.deployVerticle(new AbstractVerticle() {
+      @Override
+      public void start() throws Exception {
+        // The first task takes the thread, the second one fills the queue and the third one is rejected
+        for (int i = 0; i < 2; i++) {
+          vertx.executeBlocking(fut -> {
+            started.countDown();
+            try {
+              latch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ignore) {
+            }
+            fut.complete();
+          }, ordered, onSuccess(v -> {
+            if (count.incrementAndGet() == 2) {
+              poolVertx.close(ar -> testComplete());
+            }
+          }));
+          if (i == 0) {
+            // Only the tasks waiting for a thread count
+            awaitLatch(started);
+          }
+        }
+        vertx.executeBlocking(fut -> fail(), ordered, onFailure(err -> {
+          assertTrue(err instanceof RejectedExecutionException);
+          latch.countDown();
+        }));
+      }
+    }, new DeploymentOptions().setWorkerPoolName("test-pool"));
+    await();
+  }
+
   @Test
   public void testDeployMultithreadedNotWorker() throws Exception {
     MyVerticle verticle = new MyVerticle();
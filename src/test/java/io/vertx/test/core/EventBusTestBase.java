@@ -316,6 +316,18 @@ public abstract class EventBusTestBase extends VertxTestBase {
     });
   }
 
+  @Test
+  public void testSendNestedJsonObject() {
+    JsonObject obj = new JsonObject();
+    obj.put("str", TestUtils.randomUnicodeString(1000)).put("long", TestUtils.randomLong()).put("double", 1.5d)
+      .put("nested", new JsonObject().put("arr", new JsonArray().add("foo").add(new JsonObject().put("bool", true))));
+    testSend(obj, (received) -> {
+      assertEquals(obj, received);
+      assertEquals("foo", received.getJsonObject("nested").getJsonArray("arr").getString(0));
+      assertTrue(received.getJsonObject("nested").getJsonArray("arr").getJsonObject(1).getBoolean("bool"));
+    });
+  }
+
   @Test
   public void testSendWithHeaders() {
     testSend("foo", "foo", null, new DeliveryOptions().addHeader("uhqwduh", "qijwdqiuwd").addHeader("iojdijef", "iqjwddh"));
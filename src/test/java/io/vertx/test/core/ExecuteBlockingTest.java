@@ -19,6 +19,10 @@ package io.vertx.test.core;
 import io.vertx.core.Context;
 import org.junit.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
@@ -95,4 +99,60 @@ public class ExecuteBlockingTest extends VertxTestBase {
 
     await();
   }
+
+  @Test
+  public void testExecuteBlockingOrdered() {
+    int numTasks = 10;
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger done = new AtomicInteger();
+    vertx.runOnContext(v -> {
+      for (int i = 0; i < numTasks; i++) {
+        int expected = i;
+        vertx.<Void>executeBlocking(future -> {
+          assertEquals(1, running.incrementAndGet());
+          assertEquals(expected, done.get());
+          try {
+            Thread.sleep(10);
+          } catch (Exception ignore) {
+          }
+          done.incrementAndGet();
+          running.decrementAndGet();
+          future.complete();
+        }, onSuccess(res -> {
+          if (expected == numTasks - 1) {
+            testComplete();
+          }
+        }));
+      }
+    });
+    await();
+  }
+
+  @Test
+  public void testExecuteBlockingUnordered() {
+    int numTasks = 5;
+    CountDownLatch latch = new CountDownLatch(numTasks);
+    AtomicInteger completed = new AtomicInteger();
+    vertx.runOnContext(v -> {
+      Context ctx = vertx.getOrCreateContext();
+      for (int i = 0; i < numTasks; i++) {
+        vertx.<Boolean>executeBlocking(future -> {
+          // Each task waits for all the others, so they must run in parallel
+          latch.countDown();
+          try {
+            future.complete(latch.await(10, TimeUnit.SECONDS));
+          } catch (InterruptedException e) {
+            future.fail(e);
+          }
+        }, false, onSuccess(res -> {
+          assertTrue(res);
+          assertSame(ctx, vertx.getOrCreateContext());
+          if (completed.incrementAndGet() == numTasks) {
+            testComplete();
+          }
+        }));
+      }
+    });
+    await();
+  }
 }
@@ -295,6 +295,10 @@ public class HttpTest extends HttpTestBase {
     assertEquals(options, options.setAcceptBacklog(rand));
     assertEquals(rand, options.getAcceptBacklog());
 
+    assertFalse(options.isReusePort());
+    assertEquals(options, options.setReusePort(true));
+    assertTrue(options.isReusePort());
+
     assertFalse(options.isCompressionSupported());
     assertEquals(options, options.setCompressionSupported(true));
     assertTrue(options.isCompressionSupported());
@@ -558,6 +562,7 @@ public class HttpTest extends HttpTestBase {
     int port = 1234;
     String host = TestUtils.randomAlphaString(100);
     int acceptBacklog = TestUtils.randomPortInt();
+    boolean reusePort = rand.nextBoolean();
     boolean compressionSupported = rand.nextBoolean();
     int maxWebsocketFrameSize = TestUtils.randomPositiveInt();
     String wsSubProtocol = TestUtils.randomAlphaString(10);
@@ -579,6 +584,7 @@ public class HttpTest extends HttpTestBase {
     options.setPort(port);
     options.setHost(host);
     options.setAcceptBacklog(acceptBacklog);
+    options.setReusePort(reusePort);
     options.setCompressionSupported(compressionSupported);
     options.setMaxWebsocketFrameSize(maxWebsocketFrameSize);
     options.setWebsocketSubProtocol(wsSubProtocol);
@@ -606,6 +612,7 @@ public class HttpTest extends HttpTestBase {
     assertEquals(port, copy.getPort());
     assertEquals(host, copy.getHost());
     assertEquals(acceptBacklog, copy.getAcceptBacklog());
+    assertEquals(reusePort, copy.isReusePort());
     assertEquals(compressionSupported, copy.isCompressionSupported());
     assertEquals(maxWebsocketFrameSize, options.getMaxWebsocketFrameSize());
     assertEquals(wsSubProtocol, options.getWebsocketSubProtocols());
@@ -622,6 +629,7 @@ public class HttpTest extends HttpTestBase {
     assertEquals(def.getCrlPaths(), json.getCrlPaths());
     assertEquals(def.getCrlValues(), json.getCrlValues());
     assertEquals(def.getAcceptBacklog(), json.getAcceptBacklog());
+    assertEquals(def.isReusePort(), json.isReusePort());
     assertEquals(def.getPort(), json.getPort());
     assertEquals(def.getHost(), json.getHost());
     assertEquals(def.isTcpNoDelay(), json.isTcpNoDelay());
@@ -659,6 +667,7 @@ public class HttpTest extends HttpTestBase {
     int port = 1234;
     String host = TestUtils.randomAlphaString(100);
     int acceptBacklog = TestUtils.randomPortInt();
+    boolean reusePort = rand.nextBoolean();
     boolean compressionSupported = rand.nextBoolean();
     int maxWebsocketFrameSize = TestUtils.randomPositiveInt();
     String wsSubProtocol = TestUtils.randomAlphaString(10);
@@ -681,6 +690,7 @@ public class HttpTest extends HttpTestBase {
       .put("port", port)
       .put("host", host)
       .put("acceptBacklog", acceptBacklog)
+      .put("reusePort", reusePort)
       .put("compressionSupported", compressionSupported)
       .put("maxWebsocketFrameSize", maxWebsocketFrameSize)
       .put("websocketSubProtocols", wsSubProtocol);
@@ -709,6 +719,7 @@ public class HttpTest extends HttpTestBase {
     assertEquals(port, options.getPort());
     assertEquals(host, options.getHost());
     assertEquals(acceptBacklog, options.getAcceptBacklog());
+    assertEquals(reusePort, options.isReusePort());
     assertEquals(compressionSupported, options.isCompressionSupported());
     assertEquals(maxWebsocketFrameSize, options.getMaxWebsocketFrameSize());
     assertEquals(wsSubProtocol, options.getWebsocketSubProtocols());
@@ -16,6 +16,7 @@
 
 package io.vertx.test.core;
 
+import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.json.JsonArray;
@@ -27,6 +28,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static io.vertx.test.core.TestUtils.*;
+
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
@@ -118,4 +121,49 @@ public class JSONEventBusTest extends VertxTestBase {
     list.add("uhwqdiuh");
     await();
   }
+
+  @Test
+  public void testReadOnlyObjectShared() {
+    JsonObject obj = new JsonObject().put("a", "foo").put("nested", new JsonObject().put("b", "bar"));
+    int numHandlers = 4;
+    List<JsonObject> received = new ArrayList<>();
+    for (int i = 0; i < numHandlers; i++) {
+      eb.<JsonObject>consumer("foo").handler((Message<JsonObject> msg) -> {
+        JsonObject body = msg.body();
+        assertTrue(body.isReadOnly());
+        assertEquals(obj, body);
+        assertIllegalStateException(() -> body.put("b", "blurrgg"));
+        assertIllegalStateException(() -> body.getJsonObject("nested").put("c", "blurrgg"));
+        JsonObject copy = body.copy();
+        copy.put("b", "blurrgg");
+        synchronized (received) {
+          received.add(body);
+          if (received.size() == numHandlers) {
+            // All the consumers share the sent instance
+            received.forEach(o -> assertEquals(obj, o));
+            assertFalse(obj.containsKey("b"));
+            testComplete();
+          }
+        }
+      });
+    }
+    eb.publish("foo", obj, new DeliveryOptions().setReadOnlyJson(true));
+    await();
+  }
+
+  @Test
+  public void testReadOnlyArrayShared() {
+    JsonArray arr = new JsonArray().add("foo").add(new JsonArray().add("bar"));
+    eb.<JsonArray>consumer("foo").handler((Message<JsonArray> msg) -> {
+      JsonArray body = msg.body();
+      assertTrue(body.isReadOnly());
+      assertEquals(arr, body);
+      assertIllegalStateException(() -> body.add("blah"));
+      assertIllegalStateException(() -> body.getJsonArray(1).add("blah"));
+      assertEquals(2, arr.size());
+      testComplete();
+    });
+    eb.send("foo", arr, new DeliveryOptions().setReadOnlyJson(true));
+    await();
+  }
 }
@@ -958,6 +958,42 @@ public class JsonArrayTest {
     assertSame(list2, arr2.getList());
   }
 
+  @Test
+  public void testReadOnly() {
+    jsonArray.add("foo").add(new JsonObject().put("a", 1)).add(new ArrayList<>());
+    JsonArray readOnly = jsonArray.asReadOnly();
+    assertTrue(readOnly.isReadOnly());
+    assertFalse(jsonArray.isReadOnly());
+    assertEquals(jsonArray, readOnly);
+    TestUtils.assertIllegalStateException(() -> readOnly.add("blah"));
+    TestUtils.assertIllegalStateException(() -> readOnly.addNull());
+    TestUtils.assertIllegalStateException(() -> readOnly.remove(0));
+    TestUtils.assertIllegalStateException(() -> readOnly.remove("foo"));
+    TestUtils.assertIllegalStateException(() -> readOnly.clear());
+    TestUtils.assertIllegalStateException(() -> readOnly.getJsonObject(1).put("b", 2));
+    TestUtils.assertIllegalStateException(() -> readOnly.getJsonArray(2).add("blah"));
+    readOnly.forEach(val -> {
+      if (val instanceof JsonObject) {
+        assertTrue(((JsonObject) val).isReadOnly());
+      }
+    });
+    try {
+      readOnly.getList().add("blah");
+      fail();
+    } catch (UnsupportedOperationException ignore) {
+    }
+    // Values reached through the list are read-only at any depth
+    TestUtils.assertIllegalStateException(() -> ((JsonObject) readOnly.getList().get(1)).put("b", 2));
+    try {
+      ((List<Object>) readOnly.getList().get(2)).add("blah");
+      fail();
+    } catch (UnsupportedOperationException ignore) {
+    }
+    JsonArray copy = readOnly.copy();
+    copy.add("blah");
+    assertEquals(3, jsonArray.size());
+  }
+
   @Test
   public void testClusterSerializable() {
     jsonArray.add("foo").add(123);
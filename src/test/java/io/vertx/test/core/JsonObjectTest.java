@@ -1405,6 +1405,65 @@ public class JsonObjectTest {
     assertEquals("foo", nestedRetrieved.getString(0));
   }
 
+  @Test
+  public void testReadOnly() {
+    jsonObject.put("foo", "bar").put("nested", new JsonObject().put("a", 1)).put("arr", new JsonArray().add(new HashMap<>()));
+    JsonObject readOnly = jsonObject.asReadOnly();
+    assertTrue(readOnly.isReadOnly());
+    assertFalse(jsonObject.isReadOnly());
+    assertSame(readOnly, readOnly.asReadOnly());
+    assertEquals(jsonObject, readOnly);
+    TestUtils.assertIllegalStateException(() -> readOnly.put("foo", "blah"));
+    TestUtils.assertIllegalStateException(() -> readOnly.putNull("foo"));
+    TestUtils.assertIllegalStateException(() -> readOnly.remove("foo"));
+    TestUtils.assertIllegalStateException(() -> readOnly.mergeIn(new JsonObject()));
+    TestUtils.assertIllegalStateException(() -> readOnly.clear());
+    TestUtils.assertIllegalStateException(() -> readOnly.getJsonObject("nested").put("b", 2));
+    TestUtils.assertIllegalStateException(() -> readOnly.getJsonArray("arr").getJsonObject(0).put("b", 2));
+    TestUtils.assertIllegalStateException(() -> ((JsonObject) readOnly.getValue("nested")).put("b", 2));
+    TestUtils.assertIllegalStateException(() -> {
+      Iterator<Map.Entry<String, Object>> iter = readOnly.iterator();
+      iter.next();
+      iter.remove();
+    });
+    for (Map.Entry<String, Object> entry : readOnly) {
+      if (entry.getValue() instanceof JsonObject) {
+        assertTrue(((JsonObject) entry.getValue()).isReadOnly());
+      }
+    }
+    try {
+      readOnly.getMap().put("foo", "blah");
+      fail();
+    } catch (UnsupportedOperationException ignore) {
+    }
+    // Values reached through the map are read-only at any depth
+    TestUtils.assertIllegalStateException(() -> ((JsonObject) readOnly.getMap().get("nested")).put("b", 2));
+    TestUtils.assertIllegalStateException(() -> ((JsonArray) readOnly.getMap().get("arr")).add("b"));
+    TestUtils.assertIllegalStateException(() -> ((JsonArray) readOnly.getMap().get("arr")).getJsonObject(0).put("b", 2));
+    for (Map.Entry<String, Object> entry : readOnly.getMap().entrySet()) {
+      if (entry.getValue() instanceof JsonObject) {
+        assertTrue(((JsonObject) entry.getValue()).isReadOnly());
+      }
+    }
+    try {
+      ((JsonArray) readOnly.getMap().get("arr")).getList().add("blah");
+      fail();
+    } catch (UnsupportedOperationException ignore) {
+    }
+    try {
+      ((Map<String, Object>) ((JsonArray) readOnly.getMap().get("arr")).getList().get(0)).put("b", 2);
+      fail();
+    } catch (UnsupportedOperationException ignore) {
+    }
+    // Changes made to the original are visible through the view
+    jsonObject.put("quux", "wibble");
+    assertEquals("wibble", readOnly.getString("quux"));
+    JsonObject copy = readOnly.copy();
+    assertFalse(copy.isReadOnly());
+    copy.put("foo", "blah");
+    assertEquals("bar", jsonObject.getString("foo"));
+  }
+
   @Test
   public void testClusterSerializable() {
     jsonObject.put("foo", "bar").put("blah", 123);
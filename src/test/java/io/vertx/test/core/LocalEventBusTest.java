@@ -23,12 +23,14 @@ import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageCodec;
 import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.eventbus.MessageProducer;
+import io.vertx.core.eventbus.OverflowPolicy;
 import io.vertx.core.eventbus.ReplyException;
 import io.vertx.core.eventbus.ReplyFailure;
 import io.vertx.core.eventbus.impl.EventBusImpl;
@@ -39,13 +41,16 @@ import io.vertx.core.impl.EventLoopContext;
 import io.vertx.core.impl.MultiThreadedWorkerContext;
 import io.vertx.core.impl.VertxInternal;
 import io.vertx.core.impl.WorkerContext;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.streams.Pump;
 import io.vertx.core.streams.ReadStream;
 import io.vertx.core.streams.WriteStream;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -53,6 +58,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
@@ -243,6 +249,37 @@ public class LocalEventBusTest extends EventBusTestBase {
     await();
   }
 
+  @Test
+  public void testSendRegisterUnregisterChurn() {
+    int numHandlers = 16;
+    int numMessages = 160;
+    AtomicInteger totalCount = new AtomicInteger();
+    Map<Integer, Integer> countMap = new ConcurrentHashMap<>();
+    List<MessageConsumer<String>> consumers = new ArrayList<>();
+    for (int i = 0; i < numHandlers; i++) {
+      int index = i;
+      consumers.add(eb.<String>consumer(ADDRESS1).handler(msg -> {
+        assertEquals(0, index % 3);
+        countMap.merge(index, 1, (a, b) -> a + b);
+        if (totalCount.incrementAndGet() == numMessages) {
+          assertEquals((numHandlers + 2) / 3, countMap.size());
+          testComplete();
+        }
+      }));
+    }
+    // Remove and re-add handlers so that the handlers get both tombstoned and compacted
+    for (int i = 0; i < numHandlers; i++) {
+      if (i % 3 != 0) {
+        consumers.get(i).unregister();
+        eb.<String>consumer(ADDRESS1).handler(msg -> fail("Should not receive message")).unregister();
+      }
+    }
+    for (int i = 0; i < numMessages; i++) {
+      eb.send(ADDRESS1, "foo");
+    }
+    await();
+  }
+
   @Test
   public void testSendRegisterSameHandlerMultipleTimes() {
     String str = TestUtils.randomUnicodeString(100);
@@ -421,6 +458,38 @@ public class LocalEventBusTest extends EventBusTestBase {
     await();
   }
 
+  @Test
+  public void testSendManyWithReplyOrTimeout() {
+    int num = 1000;
+    eb.<Integer>consumer(ADDRESS1).handler((Message<Integer> msg) -> {
+      if (msg.body() % 2 == 0) {
+        msg.reply(msg.body());
+      }
+    });
+    AtomicInteger replies = new AtomicInteger();
+    AtomicInteger timeouts = new AtomicInteger();
+    AtomicInteger count = new AtomicInteger();
+    for (int i = 0; i < num; i++) {
+      int val = i;
+      eb.send(ADDRESS1, i, new DeliveryOptions().setSendTimeout(100 + i % 50), (AsyncResult<Message<Integer>> ar) -> {
+        if (ar.succeeded()) {
+          assertEquals(val, (int) ar.result().body());
+          replies.incrementAndGet();
+        } else {
+          assertEquals(1, val % 2);
+          assertEquals(ReplyFailure.TIMEOUT, ((ReplyException) ar.cause()).failureType());
+          timeouts.incrementAndGet();
+        }
+        if (count.incrementAndGet() == num) {
+          assertEquals(num / 2, replies.get());
+          assertEquals(num / 2, timeouts.get());
+          testComplete();
+        }
+      });
+    }
+    await();
+  }
+
   @Test
   public void testSendWithTimeoutNoHandlers() {
     String str = TestUtils.randomUnicodeString(1000);
@@ -729,6 +798,33 @@ public class LocalEventBusTest extends EventBusTestBase {
     awaitLatch(latch);
     assertEquals(2, contexts.size());
   }
+
+  @Test
+  public void testReplyHandlerDroppedOnUndeploy() throws Exception {
+    AtomicReference<Message<Object>> received = new AtomicReference<>();
+    vertx.eventBus().consumer(ADDRESS1).handler(received::set);
+    CountDownLatch deployed = new CountDownLatch(1);
+    AtomicReference<String> deploymentID = new AtomicReference<>();
+    vertx.deployVerticle(new AbstractVerticle() {
+      @Override
+      public void start() {
+        vertx.eventBus().send(ADDRESS1, "foo", new DeliveryOptions().setSendTimeout(200), ar -> {
+          fail("The reply handler of an undeployed verticle should not be called");
+        });
+      }
+    }, onSuccess(id -> {
+      deploymentID.set(id);
+      deployed.countDown();
+    }));
+    awaitLatch(deployed);
+    waitUntil(() -> received.get() != null);
+    vertx.undeploy(deploymentID.get(), onSuccess(v -> {
+      received.get().reply("bar");
+      // Longer than the send timeout
+      vertx.setTimer(500, id -> testComplete());
+    }));
+    await();
+  }
   
   @Test
   public void testContextsPublish() throws Exception {
@@ -1281,6 +1377,407 @@ public class LocalEventBusTest extends EventBusTestBase {
     producer.write(str);
   }
 
+  @Test
+  public void testSenderFlowControl() {
+    int numMessages = 100;
+    MessageProducer<Integer> producer = eb.sender(ADDRESS1);
+    producer.setWriteQueueMaxSize(10);
+    AtomicInteger received = new AtomicInteger();
+    MessageConsumer<Integer> consumer = eb.<Integer>consumer(ADDRESS1).handler(msg -> {
+      assertEquals(received.getAndIncrement(), msg.body().intValue());
+      if (received.get() == numMessages) {
+        producer.close();
+        testComplete();
+      }
+    });
+    AtomicInteger sent = new AtomicInteger();
+    Handler<Void> writer = new Handler<Void>() {
+      @Override
+      public void handle(Void v) {
+        while (!producer.writeQueueFull() && sent.get() < numMessages) {
+          producer.write(sent.getAndIncrement());
+        }
+        if (sent.get() < numMessages) {
+          producer.drainHandler(this);
+        }
+      }
+    };
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      writer.handle(null);
+    });
+    await();
+  }
+
+  @Test
+  public void testSenderWriteQueueFullWhileConsumerPaused() {
+    MessageProducer<Integer> producer = eb.sender(ADDRESS1);
+    producer.setWriteQueueMaxSize(10);
+    MessageConsumer<Integer> consumer = eb.<Integer>consumer(ADDRESS1).handler(msg -> {});
+    consumer.setMaxBufferedMessages(100);
+    consumer.pause();
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      for (int i = 0; i < 10; i++) {
+        assertFalse(producer.writeQueueFull());
+        producer.write(i);
+      }
+      assertTrue(producer.writeQueueFull());
+      AtomicBoolean resumed = new AtomicBoolean();
+      producer.drainHandler(v -> {
+        assertTrue(resumed.get());
+        assertFalse(producer.writeQueueFull());
+        testComplete();
+      });
+      vertx.setTimer(100, id -> {
+        // The paused consumer did not grant any credit
+        assertTrue(producer.writeQueueFull());
+        resumed.set(true);
+        consumer.resume();
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testSenderToAddressWithoutConsumer() {
+    MessageProducer<Integer> producer = eb.sender(ADDRESS1);
+    producer.setWriteQueueMaxSize(10);
+    for (int i = 0; i < 10; i++) {
+      producer.write(i);
+    }
+    // The discarded messages give their credits back
+    producer.drainHandler(v -> {
+      assertFalse(producer.writeQueueFull());
+      testComplete();
+    });
+    await();
+  }
+
+  @Test
+  public void testSenderCreditsOnUnregisterWithBufferedMessages() {
+    MessageProducer<Integer> producer = eb.sender(ADDRESS1);
+    producer.setWriteQueueMaxSize(10);
+    MessageConsumer<Integer> consumer = eb.<Integer>consumer(ADDRESS1).handler(msg -> {
+      fail("The paused consumer should not get any message");
+    });
+    consumer.pause();
+    consumer.completionHandler(onSuccess(v -> {
+      for (int i = 0; i < 10; i++) {
+        producer.write(i);
+      }
+      assertTrue(producer.writeQueueFull());
+      producer.drainHandler(v2 -> {
+        assertFalse(producer.writeQueueFull());
+        testComplete();
+      });
+      vertx.setTimer(100, id -> {
+        // The paused consumer did not grant any credit
+        assertTrue(producer.writeQueueFull());
+        consumer.unregister();
+      });
+    }));
+    await();
+  }
+
+  @Test
+  public void testPublisherIsNotFlowControlled() {
+    MessageProducer<Integer> producer = eb.publisher(ADDRESS1);
+    producer.setWriteQueueMaxSize(1);
+    producer.write(0);
+    producer.write(1);
+    assertFalse(producer.writeQueueFull());
+  }
+
+  @Test
+  public void testBatchHandler() {
+    int numMessages = 10;
+    List<Integer> received = new ArrayList<>();
+    MessageConsumer<Integer> consumer = eb.consumer(ADDRESS1);
+    consumer.batchHandler(4, 0, batch -> {
+      assertTrue(batch.size() <= 4);
+      for (Message<Integer> msg : batch) {
+        received.add(msg.body());
+      }
+      if (received.size() == numMessages) {
+        for (int i = 0; i < numMessages; i++) {
+          assertEquals(i, received.get(i).intValue());
+        }
+        testComplete();
+      }
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      for (int i = 0; i < numMessages; i++) {
+        eb.send(ADDRESS1, i);
+      }
+    });
+    await();
+  }
+
+  @Test
+  public void testBatchHandlerMaxDelay() {
+    int numMessages = 10;
+    MessageConsumer<Integer> consumer = eb.consumer(ADDRESS1);
+    consumer.batchHandler(100, 50, batch -> {
+      // The messages are all sent before the delay elapsed
+      assertEquals(numMessages, batch.size());
+      testComplete();
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      for (int i = 0; i < numMessages; i++) {
+        eb.send(ADDRESS1, i);
+      }
+    });
+    await();
+  }
+
+  @Test
+  public void testBatchHandlerPaused() {
+    int numMessages = 10;
+    List<Integer> received = new ArrayList<>();
+    MessageConsumer<Integer> consumer = eb.consumer(ADDRESS1);
+    consumer.setMaxBufferedMessages(numMessages);
+    consumer.pause();
+    consumer.batchHandler(3, 0, batch -> {
+      assertTrue(batch.size() <= 3);
+      for (Message<Integer> msg : batch) {
+        received.add(msg.body());
+      }
+      if (received.size() == numMessages) {
+        for (int i = 0; i < numMessages; i++) {
+          assertEquals(i, received.get(i).intValue());
+        }
+        testComplete();
+      }
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      for (int i = 0; i < numMessages; i++) {
+        eb.send(ADDRESS1, i);
+      }
+      vertx.setTimer(20, id -> consumer.resume());
+    });
+    await();
+  }
+
+  @Test
+  public void testBatchBodyStream() {
+    int numMessages = 10;
+    AtomicInteger count = new AtomicInteger();
+    MessageConsumer<Integer> consumer = eb.consumer(ADDRESS1);
+    consumer.bodyStream(4, 0).handler(body -> {
+      assertEquals(count.getAndIncrement(), body.intValue());
+      if (count.get() == numMessages) {
+        testComplete();
+      }
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      for (int i = 0; i < numMessages; i++) {
+        eb.send(ADDRESS1, i);
+      }
+    });
+    await();
+  }
+
+  @Test
+  public void testBatchHandlerAfterRegistration() {
+    MessageConsumer<String> consumer = eb.<String>consumer(ADDRESS1).handler(msg -> {});
+    assertIllegalStateException(() -> consumer.batchHandler(4, 0, batch -> {}));
+    assertIllegalArgumentException(() -> eb.<String>consumer(ADDRESS1).batchHandler(0, 0, batch -> {}));
+    assertIllegalArgumentException(() -> eb.<String>consumer(ADDRESS1).batchHandler(4, -1, batch -> {}));
+  }
+
+  @Test
+  public void testPausedConsumerDropsOldest() {
+    List<Integer> received = new ArrayList<>();
+    MessageConsumer<Integer> consumer = eb.consumer(ADDRESS1);
+    consumer.setMaxBufferedMessages(3).setOverflowPolicy(OverflowPolicy.DROP_OLDEST);
+    consumer.pause();
+    consumer.handler(msg -> {
+      received.add(msg.body());
+      if (received.size() == 3) {
+        assertEquals(Arrays.asList(2, 3, 4), received);
+        testComplete();
+      }
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      for (int i = 0; i < 5; i++) {
+        eb.send(ADDRESS1, i);
+      }
+      vertx.setTimer(20, id -> consumer.resume());
+    });
+    await();
+  }
+
+  @Test
+  public void testPausedConsumerFailsSender() {
+    MessageConsumer<Integer> consumer = eb.consumer(ADDRESS1);
+    consumer.setMaxBufferedMessages(1).setOverflowPolicy(OverflowPolicy.FAIL);
+    consumer.pause();
+    consumer.handler(msg -> msg.reply("ok"));
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      eb.send(ADDRESS1, 0, reply -> {
+        assertTrue(reply.succeeded());
+        testComplete();
+      });
+      eb.send(ADDRESS1, 1, reply -> {
+        assertTrue(reply.failed());
+        ReplyException err = (ReplyException) reply.cause();
+        assertEquals(ReplyFailure.RECIPIENT_FAILURE, err.failureType());
+        consumer.resume();
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testPausedConsumerDropsNewest() {
+    List<Integer> received = new ArrayList<>();
+    MessageConsumer<Integer> consumer = eb.consumer(ADDRESS1);
+    consumer.setMaxBufferedMessages(3).setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+    consumer.pause();
+    consumer.handler(msg -> {
+      received.add(msg.body());
+      if (received.size() == 3) {
+        assertEquals(Arrays.asList(0, 1, 2), received);
+        testComplete();
+      }
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      for (int i = 0; i < 3; i++) {
+        eb.send(ADDRESS1, i);
+      }
+      // The sender of the dropped message is not told, it waits for the reply until its timeout
+      eb.send(ADDRESS1, 3, new DeliveryOptions().setSendTimeout(100), reply -> {
+        assertTrue(reply.failed());
+        ReplyException err = (ReplyException) reply.cause();
+        assertEquals(ReplyFailure.TIMEOUT, err.failureType());
+        consumer.resume();
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testPausedConsumerBlocks() {
+    int numMessages = 100;
+    int writeQueueMaxSize = 10;
+    AtomicInteger count = new AtomicInteger();
+    MessageConsumer<Integer> consumer = eb.consumer(ADDRESS1);
+    consumer.setMaxBufferedMessages(5).setOverflowPolicy(OverflowPolicy.BLOCK);
+    consumer.pause();
+    consumer.handler(msg -> {
+      assertEquals(count.getAndIncrement(), msg.body().intValue());
+      if (count.get() == numMessages) {
+        testComplete();
+      }
+    });
+    MessageProducer<Integer> producer = eb.<Integer>sender(ADDRESS1).setWriteQueueMaxSize(writeQueueMaxSize);
+    AtomicInteger sent = new AtomicInteger();
+    Handler<Void> writer = new Handler<Void>() {
+      @Override
+      public void handle(Void v) {
+        while (!producer.writeQueueFull() && sent.get() < numMessages) {
+          producer.write(sent.getAndIncrement());
+        }
+        if (sent.get() < numMessages) {
+          producer.drainHandler(this);
+        }
+      }
+    };
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      // The producer is throttled instead, no more than its write queue is buffered
+      writer.handle(null);
+      assertEquals(writeQueueMaxSize, sent.get());
+      // The other senders are failed once the buffer is full
+      eb.send(ADDRESS1, -1, reply -> {
+        assertTrue(reply.failed());
+        ReplyException err = (ReplyException) reply.cause();
+        assertEquals(ReplyFailure.RECIPIENT_FAILURE, err.failureType());
+        consumer.resume();
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testInlineDelivery() {
+    Vertx inlineVertx = Vertx.vertx(new VertxOptions().setEventBusInlineDelivery(true));
+    Context ctx = inlineVertx.getOrCreateContext();
+    AtomicBoolean received = new AtomicBoolean();
+    MessageConsumer<String> consumer = inlineVertx.eventBus().<String>consumer(ADDRESS1).setContext(ctx);
+    consumer.handler(msg -> {
+      assertSame(ctx, Vertx.currentContext());
+      received.set(true);
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      ctx.runOnContext(v -> {
+        inlineVertx.eventBus().send(ADDRESS1, "foo");
+        // The consumer is on the context of the sender
+        assertTrue(received.get());
+        inlineVertx.close(ar2 -> testComplete());
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testInlineDeliveryNested() {
+    Vertx inlineVertx = Vertx.vertx(new VertxOptions().setEventBusInlineDelivery(true));
+    int numMessages = 10000;
+    AtomicInteger count = new AtomicInteger();
+    inlineVertx.runOnContext(v -> {
+      EventBus bus = inlineVertx.eventBus();
+      bus.<Integer>consumer(ADDRESS1, msg -> {
+        // Sending from the handler must neither overflow the stack nor reorder the deliveries
+        assertEquals(count.getAndIncrement(), msg.body().intValue());
+        if (msg.body() < numMessages - 1) {
+          bus.send(ADDRESS1, msg.body() + 1);
+        } else {
+          inlineVertx.close(ar -> testComplete());
+        }
+      }).completionHandler(ar -> bus.send(ADDRESS1, 0));
+    });
+    await();
+  }
+
+  @Test
+  public void testInlineDeliveryNotReentrant() {
+    Vertx inlineVertx = Vertx.vertx(new VertxOptions().setEventBusInlineDelivery(true));
+    int numMessages = 10;
+    AtomicBoolean handling = new AtomicBoolean();
+    inlineVertx.runOnContext(v -> {
+      EventBus bus = inlineVertx.eventBus();
+      bus.<Integer>consumer(ADDRESS1, msg -> {
+        assertFalse(handling.getAndSet(true));
+        if (msg.body() < numMessages - 1) {
+          // Delivered once this handler returns
+          bus.send(ADDRESS1, msg.body() + 1);
+          handling.set(false);
+        } else {
+          handling.set(false);
+          inlineVertx.close(ar -> testComplete());
+        }
+      }).completionHandler(ar -> bus.send(ADDRESS1, 0));
+    });
+    await();
+  }
+
+  @Test
+  public void testSetContextAfterRegistration() {
+    MessageConsumer<String> consumer = eb.<String>consumer(ADDRESS1).handler(msg -> {});
+    assertIllegalStateException(() -> consumer.setContext(vertx.getOrCreateContext()));
+    assertNullPointerException(() -> eb.consumer(ADDRESS1).setContext(null));
+  }
+
   @Test
   public void testConsumerHandlesCompletionAsynchronously() {
     MessageConsumer<Object> consumer = eb.consumer(ADDRESS1);
@@ -1383,5 +1880,248 @@ public class LocalEventBusTest extends EventBusTestBase {
     });
     await();
   }
-}
 
+  @Test
+  public void testPatternConsumerSend() {
+    List<String> received = new ArrayList<>();
+    MessageConsumer<String> consumer = eb.<String>patternConsumer("orders.*.created", msg -> {
+      received.add(msg.address());
+      if (received.size() == 2) {
+        assertEquals(Arrays.asList("orders.eu.created", "orders.us.created"), received);
+        testComplete();
+      }
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      eb.send("orders.eu.created", "foo");
+      eb.send("orders.eu.deleted", "foo");
+      eb.send("orders.eu.fr.created", "foo");
+      eb.send("orders.us.created", "foo");
+    });
+    await();
+  }
+
+  @Test
+  public void testPatternConsumerAnySegments() {
+    Set<String> received = new ConcurrentHashSet<>();
+    MessageConsumer<String> consumer = eb.<String>patternConsumer("orders.#", msg -> {
+      received.add(msg.address());
+      if (received.size() == 3) {
+        assertEquals(new HashSet<>(Arrays.asList("orders", "orders.eu", "orders.eu.created")), received);
+        testComplete();
+      }
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      eb.send("invoices.eu", "foo");
+      eb.send("orders", "foo");
+      eb.send("orders.eu", "foo");
+      eb.send("orders.eu.created", "foo");
+    });
+    await();
+  }
+
+  @Test
+  public void testPatternConsumerPublish() {
+    AtomicInteger count = new AtomicInteger();
+    Handler<Message<String>> handler = msg -> {
+      assertEquals("orders.eu.created", msg.address());
+      if (count.incrementAndGet() == 3) {
+        testComplete();
+      }
+    };
+    eb.<String>consumer("orders.eu.created", handler);
+    eb.<String>patternConsumer("orders.*.created", handler);
+    MessageConsumer<String> consumer = eb.<String>patternConsumer("orders.#", handler);
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      eb.publish("orders.eu.created", "foo");
+    });
+    await();
+  }
+
+  @Test
+  public void testPatternConsumerLiteralAnySegments() {
+    AtomicInteger count = new AtomicInteger();
+    MessageConsumer<String> consumer = eb.<String>patternConsumer("orders.#", msg -> {
+      if (msg.address().equals("orders.#")) {
+        count.incrementAndGet();
+      } else {
+        // The address which is also the pattern is delivered once
+        assertEquals(1, count.get());
+        testComplete();
+      }
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      eb.publish("orders.#", "foo");
+      eb.publish("orders.done", "foo");
+    });
+    await();
+  }
+
+  @Test
+  public void testSendPrefersAddressConsumer() {
+    eb.<String>patternConsumer("orders.#", msg -> fail("Should not be received by the pattern consumer"));
+    MessageConsumer<String> consumer = eb.<String>consumer("orders.eu", msg -> msg.reply("bar"));
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      eb.send("orders.eu", "foo", reply -> {
+        assertTrue(reply.succeeded());
+        assertEquals("bar", reply.result().body());
+        testComplete();
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testUnregisterPatternConsumer() {
+    MessageConsumer<String> consumer = eb.<String>patternConsumer("orders.*", msg -> fail("Should not be received"));
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      consumer.unregister(ar2 -> {
+        assertTrue(ar2.succeeded());
+        eb.send("orders.eu", "foo", reply -> {
+          assertTrue(reply.failed());
+          assertEquals(ReplyFailure.NO_HANDLERS, ((ReplyException) reply.cause()).failureType());
+          testComplete();
+        });
+      });
+    });
+    await();
+  }
+
+  @Test
+  public void testInvalidPattern() {
+    assertIllegalArgumentException(() -> eb.patternConsumer("orders..created"));
+    assertIllegalArgumentException(() -> eb.patternConsumer("orders.eu*"));
+    assertIllegalArgumentException(() -> eb.patternConsumer("orders.#.created"));
+    assertNullPointerException(() -> eb.patternConsumer(null));
+  }
+
+  @Test
+  public void testCoalesceRequests() {
+    AtomicInteger received = new AtomicInteger();
+    MessageConsumer<JsonObject> consumer = eb.<JsonObject>consumer(ADDRESS1, msg -> {
+      received.incrementAndGet();
+      msg.reply(new JsonObject().put("value", msg.body().getString("key")));
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      DeliveryOptions options = new DeliveryOptions().setCoalesce(true);
+      AtomicInteger replies = new AtomicInteger();
+      Handler<AsyncResult<Message<JsonObject>>> replyHandler = reply -> {
+        assertTrue(reply.succeeded());
+        if (replies.incrementAndGet() == 4) {
+          // The identical requests have been sent once
+          assertEquals(2, received.get());
+          testComplete();
+        }
+      };
+      for (int i = 0; i < 3; i++) {
+        eb.send(ADDRESS1, new JsonObject().put("key", "foo"), options, replyHandler);
+      }
+      eb.send(ADDRESS1, new JsonObject().put("key", "bar"), options, replyHandler);
+    });
+    await();
+  }
+
+  @Test
+  public void testCoalescedRequestsGetCopies() {
+    MessageConsumer<JsonObject> consumer = eb.<JsonObject>consumer(ADDRESS1, msg -> {
+      msg.reply(new JsonObject().put("value", "foo"));
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      DeliveryOptions options = new DeliveryOptions().setCoalesce(true);
+      Set<JsonObject> bodies = new ConcurrentHashSet<>();
+      AtomicInteger replies = new AtomicInteger();
+      for (int i = 0; i < 2; i++) {
+        eb.<JsonObject>send(ADDRESS1, "foo", options, reply -> {
+          assertTrue(reply.succeeded());
+          JsonObject body = reply.result().body();
+          assertEquals("foo", body.getString("value"));
+          for (JsonObject other : bodies) {
+            assertNotSame(other, body);
+          }
+          bodies.add(body);
+          if (replies.incrementAndGet() == 2) {
+            testComplete();
+          }
+        });
+      }
+    });
+    await();
+  }
+
+  @Test
+  public void testCoalesceRequestsWithSameTimeoutOnly() {
+    AtomicInteger received = new AtomicInteger();
+    MessageConsumer<String> consumer = eb.<String>consumer(ADDRESS1, msg -> {
+      received.incrementAndGet();
+      msg.reply("bar");
+    });
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      AtomicInteger replies = new AtomicInteger();
+      Handler<AsyncResult<Message<String>>> replyHandler = reply -> {
+        assertTrue(reply.succeeded());
+        if (replies.incrementAndGet() == 2) {
+          assertEquals(2, received.get());
+          testComplete();
+        }
+      };
+      eb.send(ADDRESS1, "foo", new DeliveryOptions().setCoalesce(true).setSendTimeout(10000), replyHandler);
+      eb.send(ADDRESS1, "foo", new DeliveryOptions().setCoalesce(true).setSendTimeout(100), replyHandler);
+    });
+    await();
+  }
+
+  @Test
+  public void testCoalescedRequestNotSent() {
+    AtomicBoolean failTransform = new AtomicBoolean(true);
+    eb.registerCodec(new MyPOJOEncoder1() {
+      @Override
+      public String transform(MyPOJO myPOJO) {
+        if (failTransform.getAndSet(false)) {
+          throw new IllegalStateException("boom");
+        }
+        return super.transform(myPOJO);
+      }
+    });
+    MessageConsumer<String> consumer = eb.<String>consumer(ADDRESS1, msg -> msg.reply(msg.body()));
+    consumer.completionHandler(ar -> {
+      assertTrue(ar.succeeded());
+      DeliveryOptions options = new DeliveryOptions().setCoalesce(true).setCodecName("mypojoencoder1");
+      try {
+        eb.send(ADDRESS1, new MyPOJO("foo"), options, reply -> {});
+        fail("Should throw exception");
+      } catch (IllegalStateException e) {
+        // OK
+      }
+      // The request which failed to be sent is not in flight, an identical request is sent on its own
+      eb.<String>send(ADDRESS1, new MyPOJO("foo"), options, onSuccess(reply -> {
+        assertEquals("foo", reply.body());
+        testComplete();
+      }));
+    });
+    await();
+  }
+
+  @Test
+  public void testCoalescedRequestsFail() {
+    DeliveryOptions options = new DeliveryOptions().setCoalesce(true);
+    AtomicInteger failures = new AtomicInteger();
+    for (int i = 0; i < 2; i++) {
+      eb.send(ADDRESS1, "foo", options, reply -> {
+        assertTrue(reply.failed());
+        assertEquals(ReplyFailure.NO_HANDLERS, ((ReplyException) reply.cause()).failureType());
+        if (failures.incrementAndGet() == 2) {
+          testComplete();
+        }
+      });
+    }
+    await();
+  }
+}
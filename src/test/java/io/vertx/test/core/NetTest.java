@@ -23,6 +23,7 @@ import io.vertx.core.Context;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageConsumer;
@@ -47,6 +48,7 @@ import io.vertx.core.net.PfxOptions;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.core.net.impl.SocketAddressImpl;
 import io.vertx.core.net.impl.SocketDefaults;
+import org.junit.Assume;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -273,6 +275,10 @@ public class NetTest extends VertxTestBase {
     assertEquals(options, options.setAcceptBacklog(rand));
     assertEquals(rand, options.getAcceptBacklog());
 
+    assertFalse(options.isReusePort());
+    assertEquals(options, options.setReusePort(true));
+    assertTrue(options.isReusePort());
+
     assertEquals(0, options.getPort());
     assertEquals(options, options.setPort(1234));
     assertEquals(1234, options.getPort());
@@ -504,6 +510,7 @@ public class NetTest extends VertxTestBase {
     int port = 1234;
     String host = TestUtils.randomAlphaString(100);
     int acceptBacklog = TestUtils.randomPortInt();
+    boolean reusePort = TestUtils.randomBoolean();
     options.setSendBufferSize(sendBufferSize);
     options.setReceiveBufferSize(receiverBufferSize);
     options.setReuseAddress(reuseAddress);
@@ -522,6 +529,7 @@ public class NetTest extends VertxTestBase {
     options.setPort(port);
     options.setHost(host);
     options.setAcceptBacklog(acceptBacklog);
+    options.setReusePort(reusePort);
     NetServerOptions copy = new NetServerOptions(options);
     assertEquals(sendBufferSize, copy.getSendBufferSize());
     assertEquals(receiverBufferSize, copy.getReceiveBufferSize());
@@ -546,6 +554,7 @@ public class NetTest extends VertxTestBase {
     assertEquals(port, copy.getPort());
     assertEquals(host, copy.getHost());
     assertEquals(acceptBacklog, copy.getAcceptBacklog());
+    assertEquals(reusePort, copy.isReusePort());
   }
 
   @Test
@@ -556,12 +565,14 @@ public class NetTest extends VertxTestBase {
     assertEquals(def.getCrlPaths(), json.getCrlPaths());
     assertEquals(def.getCrlValues(), json.getCrlValues());
     assertEquals(def.getAcceptBacklog(), json.getAcceptBacklog());
+    assertEquals(def.isReusePort(), json.isReusePort());
     assertEquals(def.getPort(), json.getPort());
     assertEquals(def.getHost(), json.getHost());
     assertEquals(def.isClientAuthRequired(), json.isClientAuthRequired());
     assertEquals(def.getCrlPaths(), json.getCrlPaths());
     assertEquals(def.getCrlValues(), json.getCrlValues());
     assertEquals(def.getAcceptBacklog(), json.getAcceptBacklog());
+    assertEquals(def.isReusePort(), json.isReusePort());
     assertEquals(def.getPort(), json.getPort());
     assertEquals(def.getHost(), json.getHost());
     assertEquals(def.isTcpNoDelay(), json.isTcpNoDelay());
@@ -599,6 +610,7 @@ public class NetTest extends VertxTestBase {
     int port = 1234;
     String host = TestUtils.randomAlphaString(100);
     int acceptBacklog = TestUtils.randomPortInt();
+    boolean reusePort = TestUtils.randomBoolean();
 
     JsonObject json = new JsonObject();
     json.put("sendBufferSize", sendBufferSize)
@@ -617,7 +629,8 @@ public class NetTest extends VertxTestBase {
       .put("trustStoreOptions", new JsonObject().put("password", tsPassword).put("path", tsPath))
       .put("port", port)
       .put("host", host)
-      .put("acceptBacklog", acceptBacklog);
+      .put("acceptBacklog", acceptBacklog)
+      .put("reusePort", reusePort);
 
     NetServerOptions options = new NetServerOptions(json);
     assertEquals(sendBufferSize, options.getSendBufferSize());
@@ -643,6 +656,7 @@ public class NetTest extends VertxTestBase {
     assertEquals(port, options.getPort());
     assertEquals(host, options.getHost());
     assertEquals(acceptBacklog, options.getAcceptBacklog());
+    assertEquals(reusePort, options.isReusePort());
 
     // Test other keystore/truststore types
     json.remove("keyStoreOptions");
@@ -1277,6 +1291,71 @@ public class NetTest extends VertxTestBase {
     testComplete();
   }
 
+  @Test
+  public void testSharedServersReusePort() throws Exception {
+    Vertx nativeVertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+    try {
+      Assume.assumeTrue(nativeVertx.isNativeTransportEnabled());
+      int numServers = 4;
+      int numConnections = 100;
+      List<NetServer> servers = new ArrayList<>();
+      Map<NetServer, AtomicInteger> connections = new ConcurrentHashMap<>();
+      Set<NetServer> closed = new ConcurrentHashSet<>();
+      AtomicInteger total = new AtomicInteger();
+      CountDownLatch latchListen = new CountDownLatch(numServers);
+      for (int i = 0; i < numServers; i++) {
+        // Each server listens from a new context on the next event loop, which gets its own acceptor
+        NetServer theServer = nativeVertx.createNetServer(new NetServerOptions().setHost("localhost").setPort(1234).setReusePort(true));
+        servers.add(theServer);
+        connections.put(theServer, new AtomicInteger());
+        theServer.connectHandler(sock -> {
+          // The acceptor of a closed server is closed too
+          assertFalse(closed.contains(theServer));
+          connections.get(theServer).incrementAndGet();
+          total.incrementAndGet();
+          sock.close();
+        }).listen(onSuccess(s -> latchListen.countDown()));
+      }
+      awaitLatch(latchListen);
+      NetClient nativeClient = nativeVertx.createNetClient(new NetClientOptions());
+      connectClients(nativeClient, numConnections);
+      waitUntil(() -> total.get() == numConnections);
+      // The kernel spreads the connections across the acceptors
+      for (NetServer server : servers) {
+        assertTrue(connections.get(server).get() > 0);
+      }
+
+      CountDownLatch closeLatch = new CountDownLatch(numServers / 2);
+      for (NetServer server : servers.subList(0, numServers / 2)) {
+        closed.add(server);
+        server.close(onSuccess(v -> closeLatch.countDown()));
+      }
+      awaitLatch(closeLatch);
+      connections.values().forEach(count -> count.set(0));
+      connectClients(nativeClient, numConnections);
+      waitUntil(() -> total.get() == 2 * numConnections);
+      // The acceptors of the other servers keep serving
+      for (NetServer server : servers.subList(numServers / 2, numServers)) {
+        assertTrue(connections.get(server).get() > 0);
+      }
+      testComplete();
+      await();
+    } finally {
+      nativeVertx.close();
+    }
+  }
+
+  private void connectClients(NetClient client, int numConnections) throws InterruptedException {
+    CountDownLatch latchClient = new CountDownLatch(numConnections);
+    for (int i = 0; i < numConnections; i++) {
+      client.connect(1234, "localhost", res -> {
+        assertTrue(res.succeeded());
+        latchClient.countDown();
+      });
+    }
+    awaitLatch(latchClient);
+  }
+
   @Test
   public void testSharedServersRoundRobinWithOtherServerRunningOnDifferentPort() throws Exception {
     CountDownLatch latch = new CountDownLatch(1);
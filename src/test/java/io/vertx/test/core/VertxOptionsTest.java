@@ -17,12 +17,16 @@
 package io.vertx.test.core;
 
 import io.vertx.core.VertxOptions;
+import io.vertx.core.WorkerPoolOptions;
+import io.vertx.core.eventbus.OverflowPolicy;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.metrics.MetricsOptions;
 import io.vertx.core.spi.cluster.ClusterManager;
 import io.vertx.test.fakecluster.FakeClusterManager;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Random;
 
 /**
@@ -164,6 +168,208 @@ public class VertxOptionsTest extends VertxTestBase {
     assertEquals(randString, options.getHAGroup());
 
     assertNull(options.getMetricsOptions());
+
+    assertFalse(options.isClusterWriteBatching());
+    assertEquals(options, options.setClusterWriteBatching(true));
+    assertTrue(options.isClusterWriteBatching());
+    assertEquals(128, options.getClusterWriteBatchMaxMessages());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setClusterWriteBatchMaxMessages(rand));
+    assertEquals(rand, options.getClusterWriteBatchMaxMessages());
+    try {
+      options.setClusterWriteBatchMaxMessages(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertEquals(64 * 1024, options.getClusterWriteBatchMaxBytes());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setClusterWriteBatchMaxBytes(rand));
+    assertEquals(rand, options.getClusterWriteBatchMaxBytes());
+    try {
+      options.setClusterWriteBatchMaxBytes(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertFalse(options.isClusterCompression());
+    assertEquals(options, options.setClusterCompression(true));
+    assertTrue(options.isClusterCompression());
+    assertEquals(1024, options.getClusterCompressionThreshold());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setClusterCompressionThreshold(rand));
+    assertEquals(rand, options.getClusterCompressionThreshold());
+    assertEquals(options, options.setClusterCompressionThreshold(0));
+    assertEquals(0, options.getClusterCompressionThreshold());
+    try {
+      options.setClusterCompressionThreshold(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertEquals(5000, options.getClusterSubscriptionCacheMaxAge());
+    randomLong = TestUtils.randomPositiveLong();
+    assertEquals(options, options.setClusterSubscriptionCacheMaxAge(randomLong));
+    assertEquals(randomLong, options.getClusterSubscriptionCacheMaxAge());
+    assertEquals(options, options.setClusterSubscriptionCacheMaxAge(0));
+    assertEquals(0, options.getClusterSubscriptionCacheMaxAge());
+    try {
+      options.setClusterSubscriptionCacheMaxAge(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertEquals(60000, options.getClusterConnectTimeout());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setClusterConnectTimeout(rand));
+    assertEquals(rand, options.getClusterConnectTimeout());
+    try {
+      options.setClusterConnectTimeout(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertEquals(64 * 1024 * 1024, options.getClusterPendingMaxBytes());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setClusterPendingMaxBytes(rand));
+    assertEquals(rand, options.getClusterPendingMaxBytes());
+    try {
+      options.setClusterPendingMaxBytes(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertEquals(OverflowPolicy.FAIL, options.getClusterPendingOverflowPolicy());
+    assertEquals(options, options.setClusterPendingOverflowPolicy(OverflowPolicy.DROP_OLDEST));
+    assertEquals(OverflowPolicy.DROP_OLDEST, options.getClusterPendingOverflowPolicy());
+    try {
+      options.setClusterPendingOverflowPolicy(null);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertEquals(1, options.getClusterConnectionsPerNode());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setClusterConnectionsPerNode(rand));
+    assertEquals(rand, options.getClusterConnectionsPerNode());
+    try {
+      options.setClusterConnectionsPerNode(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertFalse(options.isEventBusInlineDelivery());
+    assertEquals(options, options.setEventBusInlineDelivery(true));
+    assertTrue(options.isEventBusInlineDelivery());
+    assertEquals(0, options.getClusterFragmentSize());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setClusterFragmentSize(rand));
+    assertEquals(rand, options.getClusterFragmentSize());
+    try {
+      options.setClusterFragmentSize(-1);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertEquals(64 * 1024 * 1024, options.getClusterMaxMessageSize());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setClusterMaxMessageSize(rand));
+    assertEquals(rand, options.getClusterMaxMessageSize());
+    try {
+      options.setClusterMaxMessageSize(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertFalse(options.isPreferNativeTransport());
+    assertEquals(options, options.setPreferNativeTransport(true));
+    assertTrue(options.isPreferNativeTransport());
+    assertEquals(1000, options.getElasticWorkerPoolSize());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setElasticWorkerPoolSize(rand));
+    assertEquals(rand, options.getElasticWorkerPoolSize());
+    try {
+      options.setElasticWorkerPoolSize(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertTrue(options.getWorkerPools().isEmpty());
+    WorkerPoolOptions workerPool = new WorkerPoolOptions().setName("jdbc");
+    assertEquals(options, options.addWorkerPool(workerPool));
+    assertEquals(1, options.getWorkerPools().size());
+    assertSame(workerPool, options.getWorkerPools().get(0));
+    try {
+      options.addWorkerPool(new WorkerPoolOptions());
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    try {
+      options.addWorkerPool(new WorkerPoolOptions().setName("jdbc"));
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertEquals(1, options.getWorkerPools().size());
+    try {
+      options.setWorkerPools(Arrays.asList(new WorkerPoolOptions().setName("a"), new WorkerPoolOptions().setName("a")));
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    try {
+      new VertxOptions(new JsonObject().put("workerPools", new JsonArray()
+        .add(new JsonObject().put("name", "a"))
+        .add(new JsonObject().put("name", "a"))));
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+  }
+
+  @Test
+  public void testWorkerPoolOptions() {
+    WorkerPoolOptions options = new WorkerPoolOptions();
+    assertNull(options.getName());
+    assertEquals(options, options.setName("jdbc"));
+    assertEquals("jdbc", options.getName());
+    try {
+      options.setName("");
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    try {
+      options.setName(null);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertEquals(20, options.getPoolSize());
+    int rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setPoolSize(rand));
+    assertEquals(rand, options.getPoolSize());
+    try {
+      options.setPoolSize(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    assertEquals(Integer.MAX_VALUE, options.getMaxQueueSize());
+    rand = TestUtils.randomPositiveInt();
+    assertEquals(options, options.setMaxQueueSize(rand));
+    assertEquals(rand, options.getMaxQueueSize());
+    try {
+      options.setMaxQueueSize(0);
+      fail("Should throw exception");
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+    WorkerPoolOptions copy = new WorkerPoolOptions(options);
+    assertEquals(options, copy);
+    copy = new WorkerPoolOptions(options.toJson());
+    assertEquals(options, copy);
   }
 
   @Test
@@ -188,6 +394,21 @@ public class VertxOptionsTest extends VertxTestBase {
     int quorumSize = 51214;
     String haGroup = TestUtils.randomAlphaString(100);
     String jmxDomain = TestUtils.randomAlphaString(100);
+    boolean clusterWriteBatching = rand.nextBoolean();
+    int clusterWriteBatchMaxMessages = TestUtils.randomPositiveInt();
+    int clusterWriteBatchMaxBytes = TestUtils.randomPositiveInt();
+    boolean clusterCompression = rand.nextBoolean();
+    int clusterCompressionThreshold = TestUtils.randomPositiveInt();
+    long clusterSubscriptionCacheMaxAge = TestUtils.randomPositiveLong();
+    int clusterConnectTimeout = TestUtils.randomPositiveInt();
+    int clusterPendingMaxBytes = TestUtils.randomPositiveInt();
+    OverflowPolicy clusterPendingOverflowPolicy = OverflowPolicy.values()[rand.nextInt(OverflowPolicy.values().length)];
+    int clusterConnectionsPerNode = TestUtils.randomPositiveInt();
+    boolean eventBusInlineDelivery = rand.nextBoolean();
+    int clusterFragmentSize = TestUtils.randomPositiveInt();
+    int clusterMaxMessageSize = TestUtils.randomPositiveInt();
+    boolean preferNativeTransport = rand.nextBoolean();
+    int elasticWorkerPoolSize = TestUtils.randomPositiveInt();
     options.setClusterPort(clusterPort);
     options.setEventLoopPoolSize(eventLoopPoolSize);
     options.setInternalBlockingPoolSize(internalBlockingPoolSize);
@@ -201,6 +422,24 @@ public class VertxOptionsTest extends VertxTestBase {
     options.setHAEnabled(haEnabled);
     options.setQuorumSize(quorumSize);
     options.setHAGroup(haGroup);
+    options.setClusterWriteBatching(clusterWriteBatching);
+    options.setClusterWriteBatchMaxMessages(clusterWriteBatchMaxMessages);
+    options.setClusterWriteBatchMaxBytes(clusterWriteBatchMaxBytes);
+    options.setClusterCompression(clusterCompression);
+    options.setClusterCompressionThreshold(clusterCompressionThreshold);
+    options.setClusterSubscriptionCacheMaxAge(clusterSubscriptionCacheMaxAge);
+    options.setClusterConnectTimeout(clusterConnectTimeout);
+    options.setClusterPendingMaxBytes(clusterPendingMaxBytes);
+    options.setClusterPendingOverflowPolicy(clusterPendingOverflowPolicy);
+    options.setClusterConnectionsPerNode(clusterConnectionsPerNode);
+    options.setEventBusInlineDelivery(eventBusInlineDelivery);
+    options.setClusterFragmentSize(clusterFragmentSize);
+    options.setClusterMaxMessageSize(clusterMaxMessageSize);
+    options.setPreferNativeTransport(preferNativeTransport);
+    options.setElasticWorkerPoolSize(elasticWorkerPoolSize);
+    WorkerPoolOptions workerPool = new WorkerPoolOptions().setName(TestUtils.randomAlphaString(10)).
+        setPoolSize(TestUtils.randomPositiveInt()).setMaxQueueSize(TestUtils.randomPositiveInt());
+    options.addWorkerPool(workerPool);
     options.setMetricsOptions(
         new MetricsOptions().
             setEnabled(metricsEnabled).
@@ -220,6 +459,24 @@ public class VertxOptionsTest extends VertxTestBase {
     assertEquals(haEnabled, options.isHAEnabled());
     assertEquals(quorumSize, options.getQuorumSize());
     assertEquals(haGroup, options.getHAGroup());
+    assertEquals(clusterWriteBatching, options.isClusterWriteBatching());
+    assertEquals(clusterWriteBatchMaxMessages, options.getClusterWriteBatchMaxMessages());
+    assertEquals(clusterWriteBatchMaxBytes, options.getClusterWriteBatchMaxBytes());
+    assertEquals(clusterCompression, options.isClusterCompression());
+    assertEquals(clusterCompressionThreshold, options.getClusterCompressionThreshold());
+    assertEquals(clusterSubscriptionCacheMaxAge, options.getClusterSubscriptionCacheMaxAge());
+    assertEquals(clusterConnectTimeout, options.getClusterConnectTimeout());
+    assertEquals(clusterPendingMaxBytes, options.getClusterPendingMaxBytes());
+    assertEquals(clusterPendingOverflowPolicy, options.getClusterPendingOverflowPolicy());
+    assertEquals(clusterConnectionsPerNode, options.getClusterConnectionsPerNode());
+    assertEquals(eventBusInlineDelivery, options.isEventBusInlineDelivery());
+    assertEquals(clusterFragmentSize, options.getClusterFragmentSize());
+    assertEquals(clusterMaxMessageSize, options.getClusterMaxMessageSize());
+    assertEquals(preferNativeTransport, options.isPreferNativeTransport());
+    assertEquals(elasticWorkerPoolSize, options.getElasticWorkerPoolSize());
+    assertEquals(1, options.getWorkerPools().size());
+    assertNotSame(workerPool, options.getWorkerPools().get(0));
+    assertEquals(workerPool, options.getWorkerPools().get(0));
     MetricsOptions metricsOptions = options.getMetricsOptions();
     assertNotNull(metricsOptions);
     assertEquals(metricsEnabled || jmxEnabled, metricsOptions.isEnabled());
@@ -244,6 +501,22 @@ public class VertxOptionsTest extends VertxTestBase {
     assertEquals(def.isHAEnabled(), json.isHAEnabled());
     assertEquals(def.getQuorumSize(), json.getQuorumSize());
     assertEquals(def.getHAGroup(), json.getHAGroup());
+    assertEquals(def.isClusterWriteBatching(), json.isClusterWriteBatching());
+    assertEquals(def.getClusterWriteBatchMaxMessages(), json.getClusterWriteBatchMaxMessages());
+    assertEquals(def.getClusterWriteBatchMaxBytes(), json.getClusterWriteBatchMaxBytes());
+    assertEquals(def.isClusterCompression(), json.isClusterCompression());
+    assertEquals(def.getClusterCompressionThreshold(), json.getClusterCompressionThreshold());
+    assertEquals(def.getClusterSubscriptionCacheMaxAge(), json.getClusterSubscriptionCacheMaxAge());
+    assertEquals(def.getClusterConnectTimeout(), json.getClusterConnectTimeout());
+    assertEquals(def.getClusterPendingMaxBytes(), json.getClusterPendingMaxBytes());
+    assertEquals(def.getClusterPendingOverflowPolicy(), json.getClusterPendingOverflowPolicy());
+    assertEquals(def.getClusterConnectionsPerNode(), json.getClusterConnectionsPerNode());
+    assertEquals(def.isEventBusInlineDelivery(), json.isEventBusInlineDelivery());
+    assertEquals(def.getClusterFragmentSize(), json.getClusterFragmentSize());
+    assertEquals(def.getClusterMaxMessageSize(), json.getClusterMaxMessageSize());
+    assertEquals(def.isPreferNativeTransport(), json.isPreferNativeTransport());
+    assertEquals(def.getElasticWorkerPoolSize(), json.getElasticWorkerPoolSize());
+    assertEquals(def.getWorkerPools(), json.getWorkerPools());
   }
 
   @Test
@@ -283,6 +556,21 @@ public class VertxOptionsTest extends VertxTestBase {
     boolean metricsEnabled = rand.nextBoolean();
     boolean jmxEnabled = rand.nextBoolean();
     String jmxDomain = TestUtils.randomAlphaString(100);
+    boolean clusterWriteBatching = rand.nextBoolean();
+    int clusterWriteBatchMaxMessages = TestUtils.randomPositiveInt();
+    int clusterWriteBatchMaxBytes = TestUtils.randomPositiveInt();
+    boolean clusterCompression = rand.nextBoolean();
+    int clusterCompressionThreshold = TestUtils.randomPositiveInt();
+    long clusterSubscriptionCacheMaxAge = TestUtils.randomPositiveLong();
+    int clusterConnectTimeout = TestUtils.randomPositiveInt();
+    int clusterPendingMaxBytes = TestUtils.randomPositiveInt();
+    OverflowPolicy clusterPendingOverflowPolicy = OverflowPolicy.values()[rand.nextInt(OverflowPolicy.values().length)];
+    int clusterConnectionsPerNode = TestUtils.randomPositiveInt();
+    boolean eventBusInlineDelivery = rand.nextBoolean();
+    int clusterFragmentSize = TestUtils.randomPositiveInt();
+    int clusterMaxMessageSize = TestUtils.randomPositiveInt();
+    boolean preferNativeTransport = rand.nextBoolean();
+    int elasticWorkerPoolSize = TestUtils.randomPositiveInt();
     options = new VertxOptions(new JsonObject().
         put("clusterPort", clusterPort).
         put("eventLoopPoolSize", eventLoopPoolSize).
@@ -298,6 +586,25 @@ public class VertxOptionsTest extends VertxTestBase {
         put("haEnabled", haEnabled).
         put("quorumSize", quorumSize).
         put("haGroup", haGroup).
+        put("clusterWriteBatching", clusterWriteBatching).
+        put("clusterWriteBatchMaxMessages", clusterWriteBatchMaxMessages).
+        put("clusterWriteBatchMaxBytes", clusterWriteBatchMaxBytes).
+        put("clusterCompression", clusterCompression).
+        put("clusterCompressionThreshold", clusterCompressionThreshold).
+        put("clusterSubscriptionCacheMaxAge", clusterSubscriptionCacheMaxAge).
+        put("clusterConnectTimeout", clusterConnectTimeout).
+        put("clusterPendingMaxBytes", clusterPendingMaxBytes).
+        put("clusterPendingOverflowPolicy", clusterPendingOverflowPolicy.name()).
+        put("clusterConnectionsPerNode", clusterConnectionsPerNode).
+        put("eventBusInlineDelivery", eventBusInlineDelivery).
+        put("clusterFragmentSize", clusterFragmentSize).
+        put("clusterMaxMessageSize", clusterMaxMessageSize).
+        put("preferNativeTransport", preferNativeTransport).
+        put("elasticWorkerPoolSize", elasticWorkerPoolSize).
+        put("workerPools", new JsonArray().add(new JsonObject().
+            put("name", "jdbc").
+            put("poolSize", 5).
+            put("maxQueueSize", 100))).
         put("metricsOptions", new JsonObject().
             put("enabled", metricsEnabled).
             put("jmxEnabled", jmxEnabled).
@@ -317,6 +624,23 @@ public class VertxOptionsTest extends VertxTestBase {
     assertEquals(haEnabled, options.isHAEnabled());
     assertEquals(quorumSize, options.getQuorumSize());
     assertEquals(haGroup, options.getHAGroup());
+    assertEquals(clusterWriteBatching, options.isClusterWriteBatching());
+    assertEquals(clusterWriteBatchMaxMessages, options.getClusterWriteBatchMaxMessages());
+    assertEquals(clusterWriteBatchMaxBytes, options.getClusterWriteBatchMaxBytes());
+    assertEquals(clusterCompression, options.isClusterCompression());
+    assertEquals(clusterCompressionThreshold, options.getClusterCompressionThreshold());
+    assertEquals(clusterSubscriptionCacheMaxAge, options.getClusterSubscriptionCacheMaxAge());
+    assertEquals(clusterConnectTimeout, options.getClusterConnectTimeout());
+    assertEquals(clusterPendingMaxBytes, options.getClusterPendingMaxBytes());
+    assertEquals(clusterPendingOverflowPolicy, options.getClusterPendingOverflowPolicy());
+    assertEquals(clusterConnectionsPerNode, options.getClusterConnectionsPerNode());
+    assertEquals(eventBusInlineDelivery, options.isEventBusInlineDelivery());
+    assertEquals(clusterFragmentSize, options.getClusterFragmentSize());
+    assertEquals(clusterMaxMessageSize, options.getClusterMaxMessageSize());
+    assertEquals(preferNativeTransport, options.isPreferNativeTransport());
+    assertEquals(elasticWorkerPoolSize, options.getElasticWorkerPoolSize());
+    assertEquals(1, options.getWorkerPools().size());
+    assertEquals(new WorkerPoolOptions().setName("jdbc").setPoolSize(5).setMaxQueueSize(100), options.getWorkerPools().get(0));
     MetricsOptions metricsOptions = options.getMetricsOptions();
     assertEquals(metricsEnabled, metricsOptions.isEnabled());
     assertEquals(jmxEnabled, metricsOptions.isJmxEnabled());
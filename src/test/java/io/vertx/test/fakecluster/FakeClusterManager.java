@@ -30,6 +30,7 @@ import io.vertx.core.spi.cluster.AsyncMultiMap;
 import io.vertx.core.spi.cluster.ChoosableIterable;
 import io.vertx.core.spi.cluster.ClusterManager;
 import io.vertx.core.spi.cluster.NodeListener;
+import io.vertx.core.spi.cluster.ObservableAsyncMultiMap;
 import io.vertx.core.spi.cluster.VertxSPI;
 
 import java.util.ArrayList;
@@ -326,9 +327,26 @@ public class FakeClusterManager implements ClusterManager {
 
   }
 
-  private class FakeAsyncMultiMap<K, V> implements AsyncMultiMap<K, V> {
+  private class FakeAsyncMultiMap<K, V> implements ObservableAsyncMultiMap<K, V> {
 
     private ConcurrentMap<K, ChoosableSet<V>> map = new ConcurrentHashMap<>();
+    private List<Handler<K>> changeHandlers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void addChangeHandler(Handler<K> handler) {
+      changeHandlers.add(handler);
+    }
+
+    @Override
+    public void removeChangeHandler(Handler<K> handler) {
+      changeHandlers.remove(handler);
+    }
+
+    private void changed(K k) {
+      for (Handler<K> handler : changeHandlers) {
+        handler.handle(k);
+      }
+    }
 
     @Override
     public void add(final K k, final V v, Handler<AsyncResult<Void>> completionHandler) {
@@ -342,6 +360,7 @@ public class FakeClusterManager implements ClusterManager {
           }
         }
         vals.add(v);
+        changed(k);
         return null;
       }, completionHandler);
     }
@@ -360,6 +379,7 @@ public class FakeClusterManager implements ClusterManager {
             if (vals.isEmpty()) {
               map.remove(k);
             }
+            changed(k);
           }
           return null;
         }, completionHandler);
@@ -383,6 +403,7 @@ public class FakeClusterManager implements ClusterManager {
             mapIter.remove();
           }
         }
+        changed(null);
         return null;
       }, completionHandler);
     }